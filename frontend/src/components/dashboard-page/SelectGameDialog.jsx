@@ -7,72 +7,71 @@ import { Command, CommandEmpty, CommandGroup, CommandInput, CommandItem, Command
 import { Popover, PopoverContent, PopoverTrigger } from "@/components/ui/popover";
 import { Check, ChevronsUpDown, Loader2 } from "lucide-react";
 import { cn } from "@/lib/utils";
-import { searchGames } from "@/service/game-api.js";
+import { searchGamesPage } from "@/service/game-api.js";
 import { useAuth } from "@/context/AuthContext";
 import AddGameInstanceDialog from "./AddGameInstanceDialog";
 
+// Games fetched per request; more are loaded on demand
+const PAGE_SIZE = 20;
+// Delay before searching after the user stops typing
+const SEARCH_DEBOUNCE_MS = 300;
+
 export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdded, maxVisibleGames = 4 }) {
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState("");
   const [games, setGames] = useState([]);
   const [selectedGame, setSelectedGame] = useState(null);
   const [searchQuery, setSearchQuery] = useState("");
-  const [filteredGames, setFilteredGames] = useState([]);
+  const [page, setPage] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [openCombobox, setOpenCombobox] = useState(false);
   const [showInstanceDialog, setShowInstanceDialog] = useState(false);
   const { user } = useAuth();
 
-  // Fetch games when the dialog opens
-  useEffect(() => {
-    if (open) {
-      fetchGames();
-    }
-  }, [open]);
-
-  // Filter games based on search query
+  // Search the global library on the server when the dialog opens and as the user types
   useEffect(() => {
-    if (!searchQuery.trim()) {
-      setFilteredGames(games);
+    if (!open) {
       return;
     }
+    const timer = setTimeout(() => fetchGames(searchQuery.trim(), 0), SEARCH_DEBOUNCE_MS);
+    return () => clearTimeout(timer);
+  }, [open, searchQuery]);
 
-    const lowercaseQuery = searchQuery.toLowerCase();
-    const filtered = games.filter(
-      game => game.name.toLowerCase().includes(lowercaseQuery)
-    );
-    setFilteredGames(filtered);
-  }, [games, searchQuery]);
-
-  // Fetch all games for the global library
-  const fetchGames = async () => {
-    setIsLoading(true);
+  // Fetch one page of games matching the query; page 0 replaces the list, later pages extend it
+  const fetchGames = async (query, pageIndex) => {
+    const append = pageIndex > 0;
+    if (append) {
+      setIsLoadingMore(true);
+    } else {
+      setIsLoading(true);
+    }
     setError("");
 
     try {
-      // Get all games from the global library
-      const fetchedGames = await searchGames({ includeAllGames: true });
-      
-      // Log the results for debugging
-      console.log("Fetched games for the global library:", fetchedGames);
-      
-      if (Array.isArray(fetchedGames) && fetchedGames.length > 0) {
-        setGames(fetchedGames);
-        setFilteredGames(fetchedGames);
-      } else {
-        setGames([]);
-        setFilteredGames([]);
-        setError("No games found in the global library.");
-      }
+      const result = await searchGamesPage({ name: query, page: pageIndex, size: PAGE_SIZE });
+      const fetchedGames = Array.isArray(result?.content) ? result.content : [];
+      setGames(previous => append ? [...previous, ...fetchedGames] : fetchedGames);
+      setPage(pageIndex);
+      setHasMore(result ? !result.last : false);
     } catch (err) {
       console.error("Failed to fetch games:", err);
       setError("Could not load games from the library.");
-      setGames([]);
-      setFilteredGames([]);
+      if (!append) {
+        setGames([]);
+        setHasMore(false);
+      }
     } finally {
       setIsLoading(false);
+      setIsLoadingMore(false);
     }
   };
 
+  // Load the next page of the current search
+  const handleLoadMore = () => {
+    fetchGames(searchQuery.trim(), page + 1);
+  };
+
   // Handle selecting a game
   const handleSelectGame = (game) => {
     setSelectedGame(game);
@@ -105,6 +104,7 @@ export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdd
   const handleCancel = () => {
     setSelectedGame(null);
     setError("");
+    setSearchQuery("");
     setOpenCombobox(false);
     onOpenChange(false);
   };
@@ -112,7 +112,7 @@ export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdd
   // Calculate the height based on the number of visible games
   const getDropdownHeight = () => {
     const itemHeight = 50; // Approximate height of each game item in pixels
-    return `${Math.min(filteredGames.length, maxVisibleGames) * itemHeight}px`;
+    return `${Math.min(games.length, maxVisibleGames) * itemHeight}px`;
   };
 
   return (
@@ -132,7 +132,7 @@ export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdd
           <div className="space-y-4 py-4">
             <div className="space-y-2">
               <Label htmlFor="gameSelect">Select Game</Label>
-              {games.length === 0 && !isLoading && (
+              {games.length === 0 && !isLoading && !searchQuery.trim() && (
                 <div className="p-4 border border-amber-200 bg-amber-50 rounded-md mb-3">
                   <p className="text-sm text-amber-800">
                     No games are available in the library. You can still add a new game to create one.
@@ -148,7 +148,7 @@ export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdd
                     aria-expanded={openCombobox}
                     className="w-full justify-between"
                     onClick={() => setOpenCombobox(true)}
-                    disabled={games.length === 0}
+                    disabled={games.length === 0 && !searchQuery.trim()}
                   >
                     {selectedGame ? selectedGame.name : "Choose a game..."}
                     {isLoading ? (
@@ -167,18 +167,18 @@ export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdd
                       autoFocus
                     />
                     {isLoading && <CommandLoading />}
-                    {!isLoading && filteredGames.length === 0 && (
+                    {!isLoading && games.length === 0 && (
                       <CommandEmpty>
                         {searchQuery.length > 0 ? "No games found." : "No games in the global library."}
                       </CommandEmpty>
                     )}
-                    {filteredGames.length > 0 && (
+                    {games.length > 0 && (
                       <CommandGroup>
                         <CommandList 
                           className="overflow-y-auto" 
                           style={{ maxHeight: getDropdownHeight() }}
                         >
-                          {filteredGames.map((game) => (
+                          {games.map((game) => (
                             <div 
                               key={game.id}
                               className="px-2 py-1.5 text-sm rounded-sm cursor-pointer hover:bg-accent hover:text-accent-foreground flex items-start py-2"
@@ -213,6 +213,17 @@ export default function SelectGameDialog({ open, onOpenChange, onGameInstanceAdd
                               </div>
                             </div>
                           ))}
+                          {hasMore && (
+                            <Button
+                              type="button"
+                              variant="ghost"
+                              className="w-full text-sm"
+                              onClick={handleLoadMore}
+                              disabled={isLoadingMore}
+                            >
+                              {isLoadingMore ? <Loader2 className="h-4 w-4 animate-spin" /> : "Load more games"}
+                            </Button>
+                          )}
                         </CommandList>
                       </CommandGroup>
                     )}
@@ -11,7 +11,10 @@ import { GameCard } from "../components/game-search-page/GameCard";
 import AuthRestrictedGameCard from "../components/game-search-page/AuthRestrictedGameCard";
 import { GameDetailsDialog } from "../components/game-search-page/GameDetailsDialog";
 import { RequestGameDialog } from "../components/game-search-page/RequestGameDialog";
-import { searchGames, getGameInstances } from "../service/game-api";
+import { searchGamesPage, getGameInstances } from "../service/game-api";
+
+// Games fetched per page; further pages are loaded on demand
+const PAGE_SIZE = 20;
 
 export default function GameSearchPage() {
   const [searchParams, setSearchParams] = useSearchParams();
@@ -32,7 +35,10 @@ export default function GameSearchPage() {
   
   const [games, setGames] = useState([]);
   const [isLoading, setIsLoading] = useState(false);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [error, setError] = useState(null);
+  const [page, setPage] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   
   // Select the appropriate GameCard component based on authentication status
   const GameCardComponent = isAuthenticated ? GameCard : AuthRestrictedGameCard;
@@ -136,49 +142,70 @@ export default function GameSearchPage() {
     }
   }, [searchTerm, searchParams, setSearchParams]);
 
-  // Effect to fetch games when search term or filters change
-  useEffect(() => {
-    const fetchGames = async () => {
+  // Fetch one page of games matching the search and filters; page 0 replaces the list, later pages extend it
+  const fetchGames = useCallback(async (pageIndex) => {
+    const append = pageIndex > 0;
+    if (append) {
+      setIsLoadingMore(true);
+    } else {
       setIsLoading(true);
-      setError(null);
-      const criteria = {
-        name: searchTerm || undefined,
-        category: filters.category || undefined,
-        minPlayers: filters.minPlayers || undefined,
-        maxPlayers: filters.maxPlayers || undefined,
-        minRating: filters.minRating || undefined,
-        // Remove owner filter to show all games from all users
-        includeAllGames: true // Add this flag to include all games in the global library
-      };
-      // Remove empty/undefined criteria before sending
-      Object.keys(criteria).forEach(key => (criteria[key] === undefined || criteria[key] === '') && delete criteria[key]);
+    }
+    setError(null);
+    const criteria = {
+      name: searchTerm || undefined,
+      category: filters.category || undefined,
+      minPlayers: filters.minPlayers || undefined,
+      maxPlayers: filters.maxPlayers || undefined,
+      minRating: filters.minRating || undefined,
+      page: pageIndex,
+      size: PAGE_SIZE
+    };
+    // Remove empty/undefined criteria before sending
+    Object.keys(criteria).forEach(key => (criteria[key] === undefined || criteria[key] === '') && delete criteria[key]);
 
-      try {
-        // Fetch games from API
-        const fetchedGames = await searchGames(criteria);
-        console.log("Fetched games:", fetchedGames);
-        
-        // Deduplicate and add instance data
-        const gamesWithCounts = await fetchGameInstanceCounts(fetchedGames);
-        console.log("Games with instance counts:", gamesWithCounts);
-        
-        setGames(gamesWithCounts);
-      } catch (err) {
-        console.error("Error fetching games:", err);
-        setError(err.message || "Failed to fetch games. Please try again later.");
+    try {
+      // Fetch one page of games from the API
+      const result = await searchGamesPage(criteria);
+      const fetchedGames = Array.isArray(result?.content) ? result.content : [];
+
+      // Deduplicate and add instance data
+      const gamesWithCounts = await fetchGameInstanceCounts(fetchedGames);
+
+      setGames(previous => {
+        if (!append) return gamesWithCounts;
+        // Rows can shift between pages while games are added; keep one card per game
+        const seen = new Set(previous.map(game => game.id));
+        return [...previous, ...gamesWithCounts.filter(game => !seen.has(game.id))];
+      });
+      setPage(pageIndex);
+      setHasMore(result ? !result.last : false);
+    } catch (err) {
+      console.error("Error fetching games:", err);
+      setError(err.message || "Failed to fetch games. Please try again later.");
+      if (!append) {
         setGames([]);
-      } finally {
-        setIsLoading(false);
+        setHasMore(false);
       }
-    };
+    } finally {
+      setIsLoading(false);
+      setIsLoadingMore(false);
+    }
+  }, [searchTerm, filters, fetchGameInstanceCounts]);
 
+  // Effect to fetch the first page when search term or filters change
+  useEffect(() => {
     // Debounce the fetch call
     const debounceTimer = setTimeout(() => {
-      fetchGames();
+      fetchGames(0);
     }, 300);
 
     return () => clearTimeout(debounceTimer);
-  }, [searchTerm, filters, fetchGameInstanceCounts]);
+  }, [fetchGames]);
+
+  // Load the next page of the current search
+  const handleLoadMore = () => {
+    fetchGames(page + 1);
+  };
 
   // Function to navigate back to the user search page
   const handleBackToUsers = () => {
@@ -336,6 +363,13 @@ export default function GameSearchPage() {
                 ))}
               </div>
             )}
+            {hasMore && (
+              <div className="flex justify-center mt-6">
+                <Button variant="outline" onClick={handleLoadMore} disabled={isLoadingMore}>
+                  {isLoadingMore ? <Loader2 className="h-4 w-4 animate-spin" /> : "Load more games"}
+                </Button>
+              </div>
+            )}
           </>
         )}
         
@@ -1,17 +1,19 @@
 import apiClient from './apiClient'; // Import the centralized API client
 
 /**
- * Searches for games based on the provided criteria.
+ * Searches for games based on the provided criteria and returns the whole page.
  * Authentication may or may not be required depending on backend implementation.
  * @param {object} criteria - The search criteria.
  * @param {string} [criteria.name] - Part of the game name to search for.
  * @param {string} [criteria.category] - The category to filter by.
  * @param {string|number} [criteria.minPlayers] - Minimum number of players.
  * @param {string|number} [criteria.maxPlayers] - Maximum number of players.
- * @returns {Promise<Array>} A promise that resolves to an array of game objects.
+ * @param {number} [criteria.page] - Zero-based page index (backend default 0).
+ * @param {number} [criteria.size] - Page size (backend default 20, max 100).
+ * @returns {Promise<object>} A promise that resolves to the Spring Data page ({ content, last, number, totalElements, ... }).
  * @throws {ApiError} For API-related errors.
  */
-export const searchGames = async (criteria) => {
+export const searchGamesPage = async (criteria) => {
   const queryParams = new URLSearchParams();
 
   // Map frontend criteria names to backend parameter names
@@ -19,17 +21,19 @@ export const searchGames = async (criteria) => {
   if (criteria.category) queryParams.append('category', criteria.category);
   if (criteria.minPlayers) queryParams.append('minPlayers', criteria.minPlayers);
   if (criteria.maxPlayers) queryParams.append('maxPlayers', criteria.maxPlayers);
+  if (criteria.minRating) queryParams.append('minRating', criteria.minRating);
+  if (criteria.page !== undefined) queryParams.append('page', criteria.page);
+  if (criteria.size !== undefined) queryParams.append('size', criteria.size);
   // Add other potential criteria here if needed
 
   const endpoint = `/games/search?${queryParams.toString()}`;
 
   try {
     // Use apiClient - it handles credentials automatically if needed
-    const games = await apiClient(endpoint, { 
+    return await apiClient(endpoint, {
       method: "GET",
       skipPrefix: false // Should now use the /api prefix
     });
-    return games;
   } catch (error) {
     console.error("Failed to fetch games:", error);
     // Re-throw the error (could be ApiError, UnauthorizedError, etc.)
@@ -37,6 +41,19 @@ export const searchGames = async (criteria) => {
   }
 };
 
+/**
+ * Searches for games based on the provided criteria.
+ * Takes the same criteria as searchGamesPage.
+ * @param {object} criteria - The search criteria.
+ * @returns {Promise<Array>} A promise that resolves to the array of game objects on the requested page.
+ * @throws {ApiError} For API-related errors.
+ */
+export const searchGames = async (criteria) => {
+  const page = await searchGamesPage(criteria);
+  // The backend returns a Spring Data page; callers only need the games on it
+  return page?.content ?? [];
+};
+
 /**
  * Creates a new game. Requires authentication (via HttpOnly cookie).
  * The backend identifies the owner based on the authenticated user session and the provided ownerId.
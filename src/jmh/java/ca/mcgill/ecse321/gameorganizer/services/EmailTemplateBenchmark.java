@@ -0,0 +1,68 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Compares rendering the password reset email through the precompiled template with the
+ * string concatenation EmailService used before. Run with {@code ./gradlew jmh}; add
+ * {@code -Pjmh.profilers=gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailTemplateBenchmark {
+
+    private static final String FRONTEND_URL = "http://localhost:5173";
+
+    private EmailTemplates templates;
+    private String token;
+    private String username;
+
+    @Setup
+    public void setUp() {
+        templates = new EmailTemplates(new DefaultResourceLoader());
+        token = "3f2b9c1e-8a4d-4c6f-9e7a-1b2c3d4e5f60";
+        username = "Alice";
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return templates.render(EmailTemplates.PASSWORD_RESET, Map.of(
+                "username", username,
+                "resetUrl", FRONTEND_URL + "/reset-password?token=" + token));
+    }
+
+    @Benchmark
+    public String stringConcatenation() {
+        String resetUrl = FRONTEND_URL + "/reset-password?token=" + token;
+        return
+            "<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px; border: 1px solid #e0e0e0; border-radius: 5px;'>" +
+            "   <div style='text-align: center; margin-bottom: 20px;'>" +
+            "       <h1 style='color: #333;'>Password Reset Request</h1>" +
+            "   </div>" +
+            "   <div style='color: #555; line-height: 1.5;'>" +
+            "       <p>Hello " + (username != null ? username : "there") + ",</p>" +
+            "       <p>We received a request to reset your password for your BoardGameConnect account. Click the button below to set a new password:</p>" +
+            "       <div style='text-align: center; margin: 30px 0;'>" +
+            "           <a href='" + resetUrl + "' style='background-color: #4a56e2; color: white; padding: 12px 25px; text-decoration: none; border-radius: 4px; font-weight: bold;'>Reset Password</a>" +
+            "       </div>" +
+            "       <p>If the button doesn't work, copy and paste this link into your browser:</p>" +
+            "       <p style='word-break: break-all;'><a href='" + resetUrl + "'>" + resetUrl + "</a></p>" +
+            "       <p>If you did not request a password reset, please ignore this email or contact support if you have concerns.</p>" +
+            "       <p>This link will expire in 30 minutes for security reasons.</p>" +
+            "       <p><strong>Note:</strong> This email might be delivered to your spam folder. Please check there if you don't see it in your inbox.</p>" +
+            "       <p>Regards,<br>The BoardGameConnect Team</p>" +
+            "   </div>" +
+            "</div>";
+    }
+}
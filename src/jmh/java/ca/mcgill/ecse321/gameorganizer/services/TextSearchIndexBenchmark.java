@@ -0,0 +1,96 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the "contains" game name search over 1M rows with and without the trigram index
+ * that TextSearchIndexes creates. Needs a PostgreSQL database with the pg_trgm extension
+ * available; set BENCH_DB_URL, BENCH_DB_USERNAME and BENCH_DB_PASSWORD to point at it (the
+ * defaults match application.properties). The rows go into a scratch table that is dropped
+ * afterwards. Run with {@code ./gradlew jmh -Pjmh.includes=TextSearchIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TextSearchIndexBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    /** Same shape as GameRepository.findByNameContaining */
+    private static final String SEARCH = "SELECT id, name FROM bench_game WHERE lower(name) LIKE lower('%' || ? || '%') "
+            + "ORDER BY position(lower(?) in lower(name)), length(name), name";
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param({"beef", "Game 4242"})
+    public String text;
+
+    private Connection connection;
+    private PreparedStatement search;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCH_DB_URL", "jdbc:postgresql://localhost:5433/game_organizer"),
+                env("BENCH_DB_USERNAME", "postgres"),
+                env("BENCH_DB_PASSWORD", "skibidi"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_game");
+            statement.execute("CREATE TABLE bench_game AS SELECT g AS id, 'Game ' || g || ' ' || md5(g::text) AS name "
+                    + "FROM generate_series(1, " + ROWS + ") AS g");
+            if (indexed) {
+                statement.execute(TextSearchIndexes.STATEMENTS.get(0));
+                statement.execute("CREATE INDEX idx_bench_game_name_trgm ON bench_game USING gin (lower(name) gin_trgm_ops)");
+            }
+            statement.execute("ANALYZE bench_game");
+        }
+        search = connection.prepareStatement(SEARCH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        search.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_game");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<String> containsSearch() throws SQLException {
+        search.setString(1, text);
+        search.setString(2, text);
+        List<String> names = new ArrayList<>();
+        try (ResultSet rows = search.executeQuery()) {
+            while (rows.next()) {
+                names.add(rows.getString(2));
+            }
+        }
+        return names;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null ? value : fallback;
+    }
+}
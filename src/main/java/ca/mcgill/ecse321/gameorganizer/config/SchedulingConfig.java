@@ -0,0 +1,15 @@
+package ca.mcgill.ecse321.gameorganizer.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs declared with {@code @Scheduled}, such as the email outbox.
+ * Disabled with app.scheduling.enabled=false, e.g. in tests that drive the jobs directly.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -53,14 +53,18 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
-            // Apply rules only to paths starting with /api or /auth or /users/me or /dev
-            .securityMatcher("/api/**", "/auth/**", "/users/**", "/dev/**")
+            // Apply rules only to paths starting with /api or /auth or /users/me or /dev, and to the actuator endpoints
+            .securityMatcher("/api/**", "/auth/**", "/users/**", "/dev/**", "/actuator/**")
             .authorizeHttpRequests(authz -> authz
                 // --- Authentication & Account Creation ---
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/account").permitAll() // Account creation via API
                 .requestMatchers("/dev/**").permitAll() // Allow dev endpoints
 
+                // --- Actuator: health is public, metrics reveal usage and are for admins only ---
+                .requestMatchers("/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                 // --- Public Read Operations (using /api prefix) ---
                 .requestMatchers(HttpMethod.GET, "/api/games/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/events/**").permitAll()
@@ -1,10 +1,16 @@
 package ca.mcgill.ecse321.gameorganizer.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,9 +25,16 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
 import ca.mcgill.ecse321.gameorganizer.dto.request.BorrowRequestDto;
+import ca.mcgill.ecse321.gameorganizer.dto.request.BulkStatusUpdateDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateBorrowRequestDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.BulkStatusUpdateResultDto;
 import ca.mcgill.ecse321.gameorganizer.services.BorrowRequestService;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException; // Import
@@ -37,19 +50,29 @@ import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException; // Import
 @RequestMapping("/api/borrowrequests")
 public class BorrowRequestController {
 
+    /** Upper bound on the page size accepted by the paged listings */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** Upper bound on the number of requests accepted by the bulk status endpoint */
+    private static final int MAX_BULK_SIZE = 500;
+
     private final BorrowRequestService borrowRequestService;
     private final BorrowRequestRepository borrowRequestRepository;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor to inject the BorrowRequestService and BorrowRequestRepository.
      *
      * @param borrowRequestService Service handling borrow request logic.
      * @param borrowRequestRepository Repository handling borrow request data.
+     * @param objectMapper Mapper used to write the streamed borrow request listing.
      */
     @Autowired
-    public BorrowRequestController(BorrowRequestService borrowRequestService, BorrowRequestRepository borrowRequestRepository) {
+    public BorrowRequestController(BorrowRequestService borrowRequestService, BorrowRequestRepository borrowRequestRepository,
+                                   ObjectMapper objectMapper) {
         this.borrowRequestService = borrowRequestService;
         this.borrowRequestRepository = borrowRequestRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -84,13 +107,47 @@ public class BorrowRequestController {
     }
 
     /**
-     * Retrieves all borrow requests.
+     * Retrieves all borrow requests visible to the current user.
+     * The JSON array is written to the response as the requests are read, so an admin
+     * listing every request never holds them all in memory.
      *
-     * @return A list of all borrow requests.
+     * @param response The response the JSON array of borrow requests is written to.
+     * @throws IOException if writing the response fails
      */
     @GetMapping
-    public ResponseEntity<List<BorrowRequestDto>> getAllBorrowRequests() {
-        return ResponseEntity.ok(borrowRequestService.getAllBorrowRequests());
+    public void getAllBorrowRequests(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Not closed on failure, so an error before the first flush can still be rendered by GlobalExceptionHandler
+        JsonGenerator json = objectMapper.createGenerator(response.getOutputStream());
+        json.writeStartArray();
+        borrowRequestService.forEachVisibleBorrowRequest(request -> {
+            try {
+                json.writeObject(request);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        json.writeEndArray();
+        json.close();
+    }
+
+    /**
+     * Retrieves one page of the borrow requests visible to the current user.
+     * Admins page through every request; other users only see requests they made or received.
+     *
+     * @param page The page number (0-based).
+     * @param size The page size.
+     * @return A page of borrow requests ordered by ID.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Page<BorrowRequestDto>> getBorrowRequestsPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page or size");
+        }
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), Sort.by("id"));
+        return ResponseEntity.ok(borrowRequestService.getBorrowRequestsPage(pageable));
     }
 
     /**
@@ -117,6 +174,31 @@ public class BorrowRequestController {
         }
     }
 
+    /**
+     * Approves or declines several borrow requests in one transaction.
+     * Requests the caller does not own are reported as forbidden instead of failing the whole call.
+     *
+     * @param bulkDto The IDs of the borrow requests and the new status.
+     * @return One result per distinct request ID.
+     */
+    @PutMapping("/bulk-status")
+    public ResponseEntity<List<BulkStatusUpdateResultDto>> updateBorrowRequestStatuses(@RequestBody BulkStatusUpdateDto bulkDto) {
+        if (bulkDto.getIds() == null || bulkDto.getIds().isEmpty() || bulkDto.getIds().size() > MAX_BULK_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Between 1 and " + MAX_BULK_SIZE + " request IDs are required");
+        }
+        BorrowRequestStatus status;
+        try {
+            status = BorrowRequestStatus.valueOf(String.valueOf(bulkDto.getStatus()).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status value: " + bulkDto.getStatus());
+        }
+        try {
+            return ResponseEntity.ok(borrowRequestService.updateBorrowRequestStatuses(bulkDto.getIds(), status));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Deletes a borrow request by its ID.
      *
@@ -154,10 +236,14 @@ public class BorrowRequestController {
      */
     @GetMapping("/status/{status}")
     public ResponseEntity<List<BorrowRequestDto>> getBorrowRequestsByStatus(@PathVariable String status) {
-        List<BorrowRequestDto> filteredRequests = borrowRequestService.getAllBorrowRequests().stream()
-                .filter(request -> request.getStatus().equalsIgnoreCase(status))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(filteredRequests);
+        BorrowRequestStatus requestedStatus;
+        try {
+            requestedStatus = BorrowRequestStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // No request can have an unknown status
+            return ResponseEntity.ok(List.of());
+        }
+        return ResponseEntity.ok(borrowRequestService.getVisibleBorrowRequestsByStatus(requestedStatus));
     }
 
     /**
@@ -189,18 +275,13 @@ public class BorrowRequestController {
         System.out.println("Fetching borrow requests visible to current user, filtered for requesterId: " + requesterId);
 
         try {
-            // 1. Get all requests visible to the current user (service handles auth)
-            List<BorrowRequestDto> visibleRequests = borrowRequestService.getAllBorrowRequests();
-
-            // 2. Filter those requests by the specific requesterId from the path
-            List<BorrowRequestDto> filteredRequests = visibleRequests.stream()
-                    .filter(request -> request.getRequesterId() == requesterId) // Compare primitive int directly
-                    .collect(Collectors.toList());
+            // Requests visible to the current user (service handles auth) made by the requesterId from the path
+            List<BorrowRequestDto> filteredRequests = borrowRequestService.getVisibleBorrowRequestsByRequester(requesterId);
 
             System.out.println("Found " + filteredRequests.size() + " requests for requester " + requesterId + " visible to current user.");
             return ResponseEntity.ok(filteredRequests);
         } catch (UnauthedException | ForbiddenException e) {
-             // Let GlobalExceptionHandler handle auth errors from getAllBorrowRequests
+             // Let GlobalExceptionHandler handle auth errors from the service
              throw e;
         } catch (Exception e) {
             System.err.println("Error retrieving borrow requests for requester: " + e.getMessage());
@@ -232,6 +313,37 @@ public class BorrowRequestController {
         }
     }
 
+    /**
+     * Retrieve one page of the borrow requests received by a game owner, newest first.
+     *
+     * @param ownerId The ID of the game owner.
+     * @param status Optional status to filter by (e.g., "PENDING").
+     * @param page The page number (0-based).
+     * @param size The page size.
+     * @return A page of borrow requests for the owner's game instances.
+     */
+    @GetMapping("/by-owner/{ownerId}/inbox")
+    public ResponseEntity<Page<BorrowRequestDto>> getOwnerInbox(
+            @PathVariable int ownerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        BorrowRequestStatus requestedStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                requestedStatus = BorrowRequestStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status value: " + status);
+            }
+        }
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page or size");
+        }
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "requestDate").and(Sort.by(Sort.Direction.DESC, "id")));
+        return ResponseEntity.ok(borrowRequestService.getOwnerInbox(ownerId, requestedStatus, pageable));
+    }
+
     /**
      * Updates a user's own borrow request with new details.
      * Only allows the requester who created the request to update it.
@@ -15,6 +15,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateEventRequest;
+import ca.mcgill.ecse321.gameorganizer.dto.request.UpcomingEventSearchCriteria;
+import ca.mcgill.ecse321.gameorganizer.dto.response.EventPageResponse;
 import ca.mcgill.ecse321.gameorganizer.dto.response.EventResponse;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -41,6 +43,22 @@ public class EventController {
         return ResponseEntity.ok(eventResponses);
     }
 
+    /**
+     * Lists upcoming events in a time window, earliest first, with keyset pagination.
+     * Supports the optional from, to, location, gameId, players, minSeats and size parameters;
+     * pass afterTime and afterId from the previous response to get the next page.
+     *
+     * @param criteria the window, filters and cursor bound from the query string
+     * @return a page of upcoming events and the cursor for the next one
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<EventPageResponse> getUpcomingEvents(UpcomingEventSearchCriteria criteria) {
+        log.info("Received request to get upcoming events");
+        EventPageResponse page = eventService.findUpcomingEvents(criteria);
+        log.info("Returning {} upcoming events", page.getEvents().size());
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{eventId}")
     public ResponseEntity<EventResponse> getEventById(@PathVariable UUID eventId) {
         log.info("Received request to get event by ID: {}", eventId);
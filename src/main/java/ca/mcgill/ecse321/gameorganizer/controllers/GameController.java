@@ -1,11 +1,16 @@
 package ca.mcgill.ecse321.gameorganizer.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,8 +27,10 @@ import org.springframework.web.server.ResponseStatusException;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameSearchCriteria;
 import ca.mcgill.ecse321.gameorganizer.dto.request.ReviewSubmissionDto; // Import
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameImportResultDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameInstanceResponseDto; // Import
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto; // Import
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameSummaryDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.ReviewResponseDto; // Import
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
@@ -31,7 +39,9 @@ import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.services.AccountService;
+import ca.mcgill.ecse321.gameorganizer.services.GameImportService;
 import ca.mcgill.ecse321.gameorganizer.services.GameService;
+import ca.mcgill.ecse321.gameorganizer.services.GameSuggestionIndex;
 
 /**
  * Controller that handles API endpoints for game operations.
@@ -51,6 +61,12 @@ public class GameController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private GameImportService gameImportService;
+
+    @Autowired
+    private GameSuggestionIndex gameSuggestionIndex;
+
     /**
      * Retrieves all games in the system, with optional filtering.
      *
@@ -65,34 +81,48 @@ public class GameController {
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String namePart) {
 
-        List<Game> games;
+        List<GameResponseDto> gameResponseDtos;
 
         if (ownerId != null && !ownerId.isEmpty()) {
             // If owner email is provided, get games by owner
             Account account = accountService.getAccountByEmail(ownerId);
             if (account instanceof GameOwner) {
-                games = service.getGamesByOwner((GameOwner) account);
+                gameResponseDtos = service.getGameResponsesByOwner((GameOwner) account);
             } else {
                 throw new IllegalArgumentException("Account is not a game owner");
             }
         } else if (category != null && !category.isEmpty()) {
             // If category is provided, filter by category
-            games = service.getGamesByCategory(category);
+            gameResponseDtos = service.getGameResponsesByCategory(category);
         } else if (namePart != null && !namePart.isEmpty()) {
             // If name part is provided, search by name containing
-            games = service.getGamesByNameContaining(namePart);
+            gameResponseDtos = service.getGameResponsesByNameContaining(namePart);
         } else {
             // Otherwise, get all games
-            games = service.getAllGames();
+            gameResponseDtos = service.getAllGameResponses();
         }
 
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
-
         return ResponseEntity.ok(gameResponseDtos);
     }
 
+    /**
+     * Suggests games for the search box as the user types, from the in-memory index.
+     * Each word of the query matches the start of a word in a game's name, category or description.
+     *
+     * @param q the text typed so far
+     * @param limit optional maximum number of suggestions (default 10, at most 50)
+     * @return the best matching games, best first
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<GameSummaryDto>> suggestGames(@RequestParam String q,
+                                                             @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(gameSuggestionIndex.suggest(q, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Retrieves a specific game by ID.
      *
@@ -129,6 +159,32 @@ public class GameController {
         }
     }
 
+    /**
+     * Imports a game catalog for the authenticated owner from a CSV (text/csv) or NDJSON
+     * (application/x-ndjson) body. The body is streamed, not buffered, and rows are written
+     * in batches; games whose name the owner already uses are skipped.
+     *
+     * @param contentType Content type of the body, which selects the format
+     * @param body The raw request body
+     * @return Summary with counts and the first row errors
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<GameImportResultDto> importGames(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) {
+        GameImportService.Format format = MediaType.parseMediaType(contentType).getSubtype().equalsIgnoreCase("csv")
+            ? GameImportService.Format.CSV
+            : GameImportService.Format.NDJSON;
+        try {
+            return ResponseEntity.ok(gameImportService.importGames(body, format));
+        } catch (UnauthedException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (ForbiddenException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import file: " + e.getMessage());
+        }
+    }
+
     /**
      * Updates an existing game.
      *
@@ -183,15 +239,19 @@ public class GameController {
     }
 
     /**
-     * Advanced search endpoint for games with multiple criteria
+     * Advanced search endpoint for games with multiple criteria.
+     * Supports the optional page (0-based) and size parameters for pagination.
+     *
+     * @param criteria the search criteria bound from the query string
+     * @return a page of games matching the criteria
      */
     @GetMapping("/search")
-    public ResponseEntity<List<GameResponseDto>> searchGames(GameSearchCriteria criteria) {
-        List<Game> games = service.searchGames(criteria);
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(gameResponseDtos);
+    public ResponseEntity<Page<GameResponseDto>> searchGames(GameSearchCriteria criteria) {
+        try {
+            return ResponseEntity.ok(service.searchGames(criteria));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     /**
@@ -203,11 +263,7 @@ public class GameController {
         if (!(account instanceof GameOwner)) {
             throw new IllegalArgumentException("Account is not a game owner");
         }
-        List<Game> games = service.getGamesByOwner((GameOwner) account);
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(gameResponseDtos);
+        return ResponseEntity.ok(service.getGameResponsesByOwner((GameOwner) account));
     }
 
     /**
@@ -333,6 +389,35 @@ public class GameController {
         }
     }
 
+    /**
+     * Checks the availability of several games with a single query.
+     * Without dates, availability is checked at the current instant; with both dates,
+     * it is checked over the given borrowing period.
+     *
+     * @param ids The IDs of the games to check
+     * @param startDate Optional start of the borrowing period (in milliseconds since epoch)
+     * @param endDate Optional end of the borrowing period (in milliseconds since epoch)
+     * @return Map from each game ID to whether the game is available
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<Map<Integer, Boolean>> checkGamesAvailability(
+            @RequestParam List<Integer> ids,
+            @RequestParam(required = false) Long startDate,
+            @RequestParam(required = false) Long endDate) {
+        try {
+            if (startDate == null && endDate == null) {
+                return ResponseEntity.ok(service.getGameAvailability(ids, new java.util.Date()));
+            }
+            if (startDate == null || endDate == null) {
+                throw new IllegalArgumentException("Both startDate and endDate are required for a period check");
+            }
+            return ResponseEntity.ok(service.getGameAvailabilityForPeriod(
+                    ids, new java.util.Date(startDate), new java.util.Date(endDate)));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Creates a new game instance (copy)
      * 
@@ -4,9 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 
 import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
@@ -15,8 +17,10 @@ import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
 import ca.mcgill.ecse321.gameorganizer.services.AccountService;
+import ca.mcgill.ecse321.gameorganizer.dto.request.BulkStatusUpdateDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.LendingHistoryFilterDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.UpdateLendingRecordStatusDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.BulkStatusUpdateResultDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException; // Import
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
@@ -29,7 +33,6 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Collections;
 
 /**
  * REST controller for managing lending records.
@@ -41,6 +44,12 @@ import java.util.Collections;
 @RequestMapping("/api/lending-records")
 public class LendingRecordController {
 
+    /** Upper bound on the page size accepted by the paginated listing endpoints */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** Upper bound on the number of records accepted by the bulk status endpoint */
+    private static final int MAX_BULK_SIZE = 500;
+
     @Autowired
     private LendingRecordService lendingRecordService;
 
@@ -63,11 +72,16 @@ public class LendingRecordController {
 
     /**
      * Get all lending records with pagination support.
+     * Paging and sorting are done by the database. With keyset=true, records are instead
+     * returned in ID order after the given cursor, which keeps deep pages cheap on large
+     * histories; the response then carries nextCursor instead of page counts.
      * 
-     * @param page The page number (0-based)
+     * @param page The page number (0-based), ignored in keyset mode
      * @param size The page size
-     * @param sort The field to sort by
+     * @param sort The field to sort by; keyset mode only supports id
      * @param direction The sort direction (asc or desc)
+     * @param keyset Whether to use keyset pagination
+     * @param cursor The nextCursor of the previous keyset page, absent for the first page
      * @return Paginated list of lending records
      */
     @GetMapping
@@ -75,42 +89,21 @@ public class LendingRecordController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sort,
-            @RequestParam(defaultValue = "asc") String direction) {
-        
-        // Create pageable object
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
-        
-        // Get paginated records
-        List<LendingRecord> allRecords = lendingRecordService.getAllLendingRecords();
-        
-        // Manual pagination (since service doesn't support pageable yet)
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allRecords.size());
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) Integer cursor) {
         
-        // Check if start is valid
-        int adjustedPage = page;
-        if (start > allRecords.size()) {
-            start = 0;
-            end = Math.min(pageable.getPageSize(), allRecords.size());
-            adjustedPage = 0;
+        Sort.Direction sortDirection = parseDirection(direction);
+        if (keyset) {
+            return ResponseEntity.ok(getKeysetPage(new LendingHistoryFilterDto(), sort, sortDirection, size, cursor));
+        }
+
+        Pageable pageable = createPageable(page, size, sort, sortDirection);
+        try {
+            return ResponseEntity.ok(toPageResponse(lendingRecordService.getAllLendingRecords(pageable)));
+        } catch (PropertyReferenceException e) {
+            throw new IllegalArgumentException("Cannot sort lending records by '" + sort + "'");
         }
-        
-        List<LendingRecord> paginatedRecords = allRecords.subList(start, end);
-        
-        // Convert to DTOs
-        List<LendingRecordResponseDto> recordDtos = paginatedRecords.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
-        
-        // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("records", recordDtos);
-        response.put("currentPage", adjustedPage);
-        response.put("totalItems", allRecords.size());
-        response.put("totalPages", (int) Math.ceil((double) allRecords.size() / size));
-        
-        return ResponseEntity.ok(response);
     }
 
     /**
@@ -202,28 +195,26 @@ public class LendingRecordController {
      *
      * @param ownerId The ID of the game owner
      * @param status The status to filter by (ACTIVE, OVERDUE, CLOSED)
-     * @return ResponseEntity containing filtered list of lending records
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @param sort The field to sort by
+     * @param direction The sort direction (asc or desc)
+     * @return ResponseEntity containing a page of filtered lending records
      */
     @GetMapping("/owner/{ownerId}/status/{status}")
-    public ResponseEntity<List<LendingRecordResponseDto>> getLendingHistoryByOwnerAndStatus(
+    public ResponseEntity<Map<String, Object>> getLendingHistoryByOwnerAndStatus(
             @PathVariable int ownerId,
-            @PathVariable String status) {
+            @PathVariable String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
         try {
-            GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
-            List<LendingRecord> allRecords = lendingRecordService.getLendingRecordsByOwner(owner);
-            
-            // Filter by status
             LendingStatus requestedStatus = LendingStatus.valueOf(status.toUpperCase());
-            List<LendingRecord> filteredRecords = allRecords.stream()
-                    .filter(record -> record.getStatus() == requestedStatus)
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = filteredRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(recordDtos);
-        } catch (IllegalArgumentException e) {
+            Pageable pageable = createPageable(page, size, sort, parseDirection(direction));
+            return ResponseEntity.ok(toPageResponse(
+                    lendingRecordService.getLendingRecordsByOwnerAndStatus(ownerId, requestedStatus, pageable)));
+        } catch (IllegalArgumentException | PropertyReferenceException | ResourceNotFoundException e) {
             return ResponseEntity.badRequest().build();
         }
     }
@@ -235,36 +226,27 @@ public class LendingRecordController {
      * @param ownerId The ID of the game owner
      * @param startDate The start date of the range
      * @param endDate The end date of the range
-     * @return ResponseEntity containing filtered list of lending records
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @param sort The field to sort by
+     * @param direction The sort direction (asc or desc)
+     * @return ResponseEntity containing a page of filtered lending records
      */
     @GetMapping("/owner/{ownerId}/date-range")
-    public ResponseEntity<List<LendingRecordResponseDto>> getLendingHistoryByOwnerAndDateRange(
+    public ResponseEntity<Map<String, Object>> getLendingHistoryByOwnerAndDateRange(
             @PathVariable int ownerId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
         try {
-            // Validate that the start date is before the end date
-            if (startDate.after(endDate)) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Collections.emptyList());
-            }
-
-            // Validate owner existence
-            GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
-
-            List<LendingRecord> records = lendingRecordService.getLendingRecordsByDateRange(startDate, endDate);
-            
-            // Further filter by owner
-            List<LendingRecord> filteredRecords = records.stream()
-                    .filter(record -> record.getRecordOwner().getId() == owner.getId())
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = filteredRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(recordDtos);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Collections.emptyList());
+            Pageable pageable = createPageable(page, size, sort, parseDirection(direction));
+            return ResponseEntity.ok(toPageResponse(lendingRecordService.getLendingRecordsByOwnerAndDateRange(
+                    ownerId, startDate, endDate, pageable)));
+        } catch (IllegalArgumentException | PropertyReferenceException | ResourceNotFoundException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -434,49 +416,37 @@ public class LendingRecordController {
 
     /**
      * Filters lending records based on various criteria.
-     * Used for the lending history view.
+     * Used for the lending history view. Supports the same offset and keyset
+     * pagination modes as the unfiltered listing.
      *
      * @param filterDto The filter criteria
-     * @param page The page number (0-based)
+     * @param page The page number (0-based), ignored in keyset mode
      * @param size The page size
+     * @param sort The field to sort by; keyset mode only supports id
+     * @param direction The sort direction (asc or desc)
+     * @param keyset Whether to use keyset pagination
+     * @param cursor The nextCursor of the previous keyset page, absent for the first page
      * @return ResponseEntity with paginated filtered lending records
      */
     @PostMapping("/filter")
     public ResponseEntity<Map<String, Object>> filterLendingRecords(
             @RequestBody LendingHistoryFilterDto filterDto,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) Integer cursor) {
         
         try {
-            // Get filtered records without pagination first
-            List<LendingRecord> filteredRecords = lendingRecordService.filterLendingRecords(filterDto);
-            
-            // Manual pagination
-            int start = page * size;
-            int end = Math.min(start + size, filteredRecords.size());
-            
-            // Check if start is valid
-            if (start > filteredRecords.size()) {
-                start = 0;
-                end = Math.min(size, filteredRecords.size());
-                page = 0; // Adjust currentPage to 0 when no records are available
+            Sort.Direction sortDirection = parseDirection(direction);
+            if (keyset) {
+                return ResponseEntity.ok(getKeysetPage(filterDto, sort, sortDirection, size, cursor));
             }
-            
-            List<LendingRecord> paginatedRecords = filteredRecords.subList(start, end);
-            
-            // Convert records to DTOs
-            List<LendingRecordResponseDto> recordDtos = paginatedRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
-            
-            // Create response with pagination metadata
-            Map<String, Object> response = new HashMap<>();
-            response.put("records", recordDtos);
-            response.put("currentPage", page);
-            response.put("totalItems", filteredRecords.size());
-            response.put("totalPages", (int) Math.ceil((double) filteredRecords.size() / size));
-            
-            return ResponseEntity.ok(response);
+
+            Pageable pageable = createPageable(page, size, sort, sortDirection);
+            Page<LendingRecord> records = lendingRecordService.filterLendingRecordsPaginated(filterDto, pageable);
+            return ResponseEntity.ok(toPageResponse(records));
             
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -486,6 +456,69 @@ public class LendingRecordController {
         }
     }
 
+    private Sort.Direction parseDirection(String direction) {
+        return direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    /**
+     * Builds a validated page request, sorting by the requested field with the ID as a tiebreaker
+     * so that pages are stable.
+     */
+    private Pageable createPageable(int page, int size, String sort, Sort.Direction direction) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        Sort order = Sort.by(direction, sort);
+        if (!"id".equals(sort)) {
+            order = order.and(Sort.by("id"));
+        }
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), order);
+    }
+
+    /**
+     * Fetches one keyset page. One extra record is requested to tell whether another page follows.
+     */
+    private Map<String, Object> getKeysetPage(LendingHistoryFilterDto filterDto, String sort,
+                                              Sort.Direction direction, int size, Integer cursor) {
+        if (!"id".equals(sort)) {
+            throw new IllegalArgumentException("Keyset pagination only supports sorting by id");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        List<LendingRecord> records = lendingRecordService.filterLendingRecordsKeyset(
+                filterDto, cursor, direction == Sort.Direction.DESC, limit + 1);
+
+        boolean hasMore = records.size() > limit;
+        List<LendingRecord> pageRecords = hasMore ? records.subList(0, limit) : records;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("records", pageRecords.stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList()));
+        response.put("hasMore", hasMore);
+        response.put("nextCursor", hasMore ? pageRecords.get(pageRecords.size() - 1).getId() : null);
+        return response;
+    }
+
+    /**
+     * Converts a page of lending records to the paginated response format.
+     */
+    private Map<String, Object> toPageResponse(Page<LendingRecord> records) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("records", records.getContent().stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList()));
+        response.put("currentPage", records.getNumber());
+        response.put("totalItems", records.getTotalElements());
+        response.put("totalPages", records.getTotalPages());
+        return response;
+    }
+
     // Note: Disputes about damage or other lending issues are intentionally handled directly 
     // between users rather than through the application. This keeps the app focused on 
     // documenting and tracking, while letting users manage their own conflict resolution.
@@ -607,28 +640,52 @@ public class LendingRecordController {
      * Retrieves overdue records by owner.
      * 
      * @param ownerId The ID of the game owner
-     * @return ResponseEntity containing overdue records for the owner
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @param sort The field to sort by
+     * @param direction The sort direction (asc or desc)
+     * @return ResponseEntity containing a page of overdue records for the owner
      */
     @GetMapping("/owner/{ownerId}/overdue")
-    public ResponseEntity<List<LendingRecordResponseDto>> getOverdueRecordsByOwner(@PathVariable int ownerId) {
+    public ResponseEntity<Map<String, Object>> getOverdueRecordsByOwner(
+            @PathVariable int ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "endDate") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
         try {
-            GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
-            List<LendingRecord> allRecords = lendingRecordService.getLendingRecordsByOwner(owner);
-            
-            // Filter to only include overdue records
-            List<LendingRecord> overdueRecords = allRecords.stream()
-                    .filter(record -> record.getEndDate().before(new Date()) && 
-                                     record.getStatus() == LendingStatus.ACTIVE)
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = overdueRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(recordDtos);
-        } catch (IllegalArgumentException e) {
+            Pageable pageable = createPageable(page, size, sort, parseDirection(direction));
+            return ResponseEntity.ok(toPageResponse(lendingRecordService.getOverdueRecordsByOwner(ownerId, pageable)));
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException | PropertyReferenceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Updates the status of several lending records in one transaction.
+     * Records the caller neither owns nor borrowed are reported as forbidden instead of failing the whole call.
+     *
+     * @param bulkDto The IDs of the records, the new status and an optional reason
+     * @return ResponseEntity containing one result per distinct record ID
+     */
+    @PutMapping("/bulk-status")
+    public ResponseEntity<?> updateLendingRecordStatuses(@RequestBody BulkStatusUpdateDto bulkDto) {
+        if (bulkDto.getIds() == null || bulkDto.getIds().isEmpty() || bulkDto.getIds().size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "message", "Between 1 and " + MAX_BULK_SIZE + " record IDs are required"));
+        }
+        LendingStatus newStatus;
+        try {
+            newStatus = LendingStatus.valueOf(String.valueOf(bulkDto.getStatus()).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(
+                Map.of("success", false, "message", "Invalid status: " + bulkDto.getStatus() + ". Valid values are: " +
+                       Arrays.stream(LendingStatus.values()).map(Enum::name).collect(Collectors.joining(", "))));
         }
+        List<BulkStatusUpdateResultDto> results = lendingRecordService.updateStatuses(bulkDto.getIds(), newStatus, bulkDto.getReason());
+        return ResponseEntity.ok(results);
     }
 
     /**
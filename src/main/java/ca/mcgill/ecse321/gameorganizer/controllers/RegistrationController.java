@@ -2,6 +2,7 @@ package ca.mcgill.ecse321.gameorganizer.controllers;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.RegistrationRequestDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.RegistrationResponseDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.WaitlistPositionDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -131,4 +133,50 @@ public class RegistrationController {
              throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
     }
+
+    /**
+     * Joins the waitlist of a full event. The account is registered automatically, in
+     * joining order, when a registration for the event is cancelled.
+     */
+    @PostMapping("/waitlist/{eventId}")
+    public ResponseEntity<WaitlistPositionDto> joinWaitlist(@PathVariable UUID eventId) {
+        try {
+            return new ResponseEntity<>(registrationService.joinWaitlist(eventId), HttpStatus.CREATED);
+        } catch (ForbiddenException | UnauthedException e) {
+             throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the authenticated user's place in an event's waitlist.
+     */
+    @GetMapping("/waitlist/{eventId}")
+    public ResponseEntity<WaitlistPositionDto> getWaitlistPosition(@PathVariable UUID eventId) {
+        try {
+            return ResponseEntity.ok(registrationService.getWaitlistPosition(eventId));
+        } catch (ForbiddenException | UnauthedException e) {
+             throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Leaves an event's waitlist.
+     */
+    @DeleteMapping("/waitlist/{eventId}")
+    public ResponseEntity<String> leaveWaitlist(@PathVariable UUID eventId) {
+        try {
+            registrationService.leaveWaitlist(eventId);
+            return ResponseEntity.ok("Left the waitlist successfully.");
+        } catch (ForbiddenException | UnauthedException e) {
+             throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
 }
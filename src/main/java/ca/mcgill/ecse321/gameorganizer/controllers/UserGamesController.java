@@ -6,8 +6,6 @@ import org.springframework.web.bind.annotation.*;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
-import ca.mcgill.ecse321.gameorganizer.models.Game;
-import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
@@ -15,10 +13,7 @@ import ca.mcgill.ecse321.gameorganizer.services.AccountService;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Controller for user game-related endpoints.
@@ -54,13 +49,9 @@ public class UserGamesController {
     public ResponseEntity<List<String>> getGamesPlayedByUser(@PathVariable int userId) {
         try {
             Account account = accountService.getAccountById(userId);
-            List<LendingRecord> records = lendingRecordService.getLendingRecordsByBorrower(account);
             
             // Include all games the user has borrowed (which implies they've played them)
-            List<String> gamesPlayed = records.stream()
-                .map(record -> record.getRequest().getRequestedGame().getName())
-                .distinct()
-                .collect(Collectors.toList());
+            List<String> gamesPlayed = lendingRecordService.getGameNamesBorrowedBy(account);
             
             return ResponseEntity.ok(gamesPlayed);
         } catch (Exception e) {
@@ -78,13 +69,9 @@ public class UserGamesController {
     public ResponseEntity<List<String>> getGamesBorrowedByUser(@PathVariable int userId) {
         try {
             Account account = accountService.getAccountById(userId);
-            List<LendingRecord> records = lendingRecordService.getLendingRecordsByBorrower(account);
             
             // Get any game that was borrowed (active or returned)
-            List<String> gamesBorrowed = records.stream()
-                .map(record -> record.getRequest().getRequestedGame().getName())
-                .distinct()
-                .collect(Collectors.toList());
+            List<String> gamesBorrowed = lendingRecordService.getGameNamesBorrowedBy(account);
             
             return ResponseEntity.ok(gamesBorrowed);
         } catch (Exception e) {
@@ -108,12 +95,8 @@ public class UserGamesController {
                 return ResponseEntity.ok(new ArrayList<>());
             }
             
-            GameOwner gameOwner = (GameOwner) account;
-            List<Game> ownedGames = gameRepository.findByOwner(gameOwner);
-            
-            List<String> gameNames = ownedGames.stream()
-                .map(Game::getName)
-                .collect(Collectors.toList());
+            // Select only the names rather than loading the owner's games
+            List<String> gameNames = gameRepository.findNamesByOwnerId(account.getId());
             
             return ResponseEntity.ok(gameNames);
         } catch (Exception e) {
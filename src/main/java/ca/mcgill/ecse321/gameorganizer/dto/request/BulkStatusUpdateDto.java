@@ -0,0 +1,28 @@
+package ca.mcgill.ecse321.gameorganizer.dto.request;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO for changing the status of several lending records or borrow requests at once.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkStatusUpdateDto {
+    /** IDs of the records or requests to update */
+    private List<Integer> ids;
+    /** The target status name */
+    private String status;
+    /** Optional reason recorded on lending records */
+    private String reason;
+
+    public BulkStatusUpdateDto(List<Integer> ids, String status, String reason) {
+        this.ids = ids;
+        this.status = status;
+        this.reason = reason;
+    }
+}
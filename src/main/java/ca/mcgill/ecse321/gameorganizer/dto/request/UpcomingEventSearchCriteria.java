@@ -0,0 +1,53 @@
+package ca.mcgill.ecse321.gameorganizer.dto.request;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+public class UpcomingEventSearchCriteria {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date to;
+    private String location;
+    private Integer gameId;
+    private Integer players;
+    private Integer minSeats;
+    // Keyset cursor: the dateTime and id of the last event of the previous page
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date afterTime;
+    private UUID afterId;
+    private Integer size;
+
+    // Default constructor
+    public UpcomingEventSearchCriteria() {}
+
+    // Getters and setters
+    public Date getFrom() { return from; }
+    public void setFrom(Date from) { this.from = from; }
+
+    public Date getTo() { return to; }
+    public void setTo(Date to) { this.to = to; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Integer getGameId() { return gameId; }
+    public void setGameId(Integer gameId) { this.gameId = gameId; }
+
+    public Integer getPlayers() { return players; }
+    public void setPlayers(Integer players) { this.players = players; }
+
+    public Integer getMinSeats() { return minSeats; }
+    public void setMinSeats(Integer minSeats) { this.minSeats = minSeats; }
+
+    public Date getAfterTime() { return afterTime; }
+    public void setAfterTime(Date afterTime) { this.afterTime = afterTime; }
+
+    public UUID getAfterId() { return afterId; }
+    public void setAfterId(UUID afterId) { this.afterId = afterId; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,32 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one item of a bulk status update.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResultDto {
+    /** ID of the record or request */
+    private int id;
+    /** HTTP status the item would have received from the single-item endpoint */
+    private int status;
+    /** Whether the item was updated (or already had the target status) */
+    private boolean success;
+    /** Human-readable outcome */
+    private String message;
+
+    public static BulkStatusUpdateResultDto ok(int id, String message) {
+        return new BulkStatusUpdateResultDto(id, 200, true, message);
+    }
+
+    public static BulkStatusUpdateResultDto failed(int id, int status, String message) {
+        return new BulkStatusUpdateResultDto(id, status, false, message);
+    }
+}
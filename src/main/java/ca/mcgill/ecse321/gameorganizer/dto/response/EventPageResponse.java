@@ -0,0 +1,26 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of upcoming events, with the keyset cursor for the next page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPageResponse {
+    /** The events of this page, earliest first */
+    private List<EventResponse> events;
+    /** Value to pass as afterTime for the next page, null on the last page */
+    private Date nextAfterTime;
+    /** Value to pass as afterId for the next page, null on the last page */
+    private UUID nextAfterId;
+}
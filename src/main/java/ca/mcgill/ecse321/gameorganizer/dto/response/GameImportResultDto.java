@@ -0,0 +1,45 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Summary of a game catalog import. Only the first few row errors are kept, so the
+ * summary stays small however large the imported file is.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class GameImportResultDto {
+    /** Data rows read from the file, excluding the CSV header and blank lines */
+    private int rowsRead;
+    /** Games created, each with an initial instance */
+    private int imported;
+    /** Rows skipped because the owner already has a game with that name */
+    private int duplicates;
+    /** Rows rejected by validation or lost with a failed batch */
+    private int failed;
+    /** Batches committed */
+    private int batches;
+    /** Whether more errors occurred than are listed */
+    private boolean errorsTruncated;
+    /** Row errors, in file order */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * A rejected row, identified by its line number in the file.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
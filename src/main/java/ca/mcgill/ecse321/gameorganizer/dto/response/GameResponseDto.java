@@ -17,6 +17,9 @@ public class GameResponseDto {
     private Date dateAdded;
     private String category;
     private String description; // Add description field
+    private double averageRating;
+    private int reviewCount;
+    private Boolean available; // Null unless availability was computed for this response
     private AccountDto owner;
 
     // Default constructor
@@ -36,11 +39,50 @@ public class GameResponseDto {
         this.dateAdded = game.getDateAdded();
         this.category = game.getCategory();
         this.description = game.getDescription(); // Map description from Game entity
+        this.averageRating = game.getAverageRating();
+        this.reviewCount = game.getReviewCount();
         if (game.getOwner() != null) {
             this.owner = new AccountDto(game.getOwner());
         }
     }
 
+    /**
+     * Constructs a GameResponseDto from selected columns.
+     * Used by constructor-expression queries in GameRepository so read-only listings
+     * are built without loading Game entities.
+     *
+     * @param id the game ID
+     * @param name the game name
+     * @param minPlayers the minimum number of players
+     * @param maxPlayers the maximum number of players
+     * @param image the image URL
+     * @param dateAdded the date the game was added
+     * @param category the game category
+     * @param description the game description
+     * @param averageRating the maintained average review rating
+     * @param reviewCount the maintained review count
+     * @param ownerId the owner's ID, or null if the game has no owner
+     * @param ownerName the owner's name
+     * @param ownerEmail the owner's email
+     */
+    public GameResponseDto(int id, String name, int minPlayers, int maxPlayers, String image, Date dateAdded,
+                           String category, String description, double averageRating, int reviewCount,
+                           Integer ownerId, String ownerName, String ownerEmail) {
+        this.id = id;
+        this.name = name;
+        this.minPlayers = minPlayers;
+        this.maxPlayers = maxPlayers;
+        this.image = image;
+        this.dateAdded = dateAdded;
+        this.category = category;
+        this.description = description;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        if (ownerId != null) {
+            this.owner = new AccountDto(ownerId, ownerName, ownerEmail);
+        }
+    }
+
     // Getters and setters
 
     public int getId() { return id; }
@@ -67,6 +109,15 @@ public class GameResponseDto {
     public String getDescription() { return description; } // Add getter
     public void setDescription(String description) { this.description = description; } // Add setter
 
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+
+    public int getReviewCount() { return reviewCount; }
+    public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+
     public AccountDto getOwner() { return owner; }
     public void setOwner(AccountDto owner) { this.owner = owner; }
 
@@ -87,6 +138,12 @@ public class GameResponseDto {
             this.email = owner.getEmail();
         }
 
+        public AccountDto(int id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+
         public int getId() { return id; }
         public void setId(int id) { this.id = id; }
 
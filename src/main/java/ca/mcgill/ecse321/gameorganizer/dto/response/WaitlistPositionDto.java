@@ -0,0 +1,25 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.Date;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An account's place in an event's waitlist.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionDto {
+    /** ID of the full event */
+    private UUID eventId;
+    /** Place in the queue, 1 for the next account to get a seat */
+    private long position;
+    /** Date when the account joined the waitlist */
+    private Date joinedAt;
+}
@@ -14,13 +14,33 @@ import java.util.Date;
  * @author @rayanBaida
  */
 @Entity
+@Table(indexes = {
+    // Interval indexes backing the approved-request overlap probes in BorrowRequestRepository
+    @Index(name = "idx_borrow_request_instance_interval",
+           columnList = "game_instance_id, status, start_date, end_date"),
+    @Index(name = "idx_borrow_request_game_interval",
+           columnList = "requested_game_id, status, start_date, end_date"),
+    // Serves the requester side of the visibility query for non-admin listings
+    @Index(name = "idx_borrow_request_requester", columnList = "requester_id")
+})
+// Loads the parties and games of a request in the same select for list endpoints
+@NamedEntityGraph(name = "BorrowRequest.withDetails", attributeNodes = {
+    @NamedAttributeNode("requester"),
+    @NamedAttributeNode("responder"),
+    @NamedAttributeNode(value = "requestedGame", subgraph = "game"),
+    @NamedAttributeNode(value = "gameInstance", subgraph = "instance")
+}, subgraphs = {
+    @NamedSubgraph(name = "game", attributeNodes = @NamedAttributeNode("owner")),
+    @NamedSubgraph(name = "instance", attributeNodes = @NamedAttributeNode("owner"))
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class BorrowRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrow_request_seq")
+    @SequenceGenerator(name = "borrow_request_seq", sequenceName = "borrow_request_seq", allocationSize = 100)
     private int id;
 
     private Date startDate;
@@ -0,0 +1,86 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Represents an outbound email stored in the outbox.
+ * Jobs are written in the same transaction as the change that triggers the email
+ * and delivered later by the outbox workers, with retries on failure.
+ */
+@Entity
+@Table(indexes = {
+    // Serves the due-job lookup of the outbox workers
+    @Index(name = "idx_email_job_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@NoArgsConstructor
+@Getter
+@Setter
+public class EmailJob {
+
+    /** Unique identifier for the job */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_job_seq")
+    @SequenceGenerator(name = "email_job_seq", sequenceName = "email_job_seq", allocationSize = 100)
+    private int id;
+
+    /** The recipient's email address */
+    @Column(nullable = false)
+    private String recipient;
+
+    /** The email subject */
+    @Column(nullable = false)
+    private String subject;
+
+    /** The HTML body of the email */
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    /** Current delivery status */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailJobStatus status;
+
+    /** Number of delivery attempts started so far */
+    private int attempts;
+
+    /** Earliest time of the next attempt; for a job being sent, the end of the worker's lease */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(nullable = false)
+    private Date nextAttemptAt;
+
+    /** Error of the most recent failed attempt */
+    @Column(length = 1000)
+    private String lastError;
+
+    /** Date when the job was queued */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    /** Date when the mail server accepted the email */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date sentAt;
+
+    /**
+     * Creates a new pending job that is due immediately.
+     *
+     * @param aRecipient The recipient's email address
+     * @param aSubject The email subject
+     * @param aBody The HTML body of the email
+     */
+    public EmailJob(String aRecipient, String aSubject, String aBody) {
+        Date now = new Date();
+        recipient = aRecipient;
+        subject = aSubject;
+        body = aBody;
+        status = EmailJobStatus.PENDING;
+        attempts = 0;
+        nextAttemptAt = now;
+        createdAt = now;
+    }
+}
@@ -0,0 +1,18 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+/**
+ * Represents the delivery states of an outbound email in the outbox.
+ */
+public enum EmailJobStatus {
+    /** Waiting to be sent, either for the first time or after a failed attempt */
+    PENDING,
+
+    /** Claimed by a worker; reclaimed if the worker does not finish before its lease expires */
+    SENDING,
+
+    /** Accepted by the mail server */
+    SENT,
+
+    /** Failed on every allowed attempt and will not be retried */
+    DEAD
+}
@@ -21,6 +21,14 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
  * @author @Yessine-glitch
  */
 @Entity
+// Loads the associations EventResponse walks in the same select as the event
+@NamedEntityGraph(name = "Event.withDetails", attributeNodes = {
+    @NamedAttributeNode("featuredGame"),
+    @NamedAttributeNode("host"),
+    @NamedAttributeNode("gameInstance")
+})
+// Serves the upcoming-events range scan and its (dateTime, id) keyset order
+@Table(indexes = @Index(name = "idx_event_date_time", columnList = "date_time, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -60,7 +68,10 @@ public class Event {
 
     /**
      * The current number of participants attending the event.
+     * Only changed through EventRepository.reserveSeat and releaseSeat, so saving a stale
+     * copy of the event cannot overwrite concurrent registrations.
      */
+    @Column(updatable = false)
     private int currentNumberParticipants;
 
     /**
@@ -7,19 +7,29 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo; // Import CascadeType
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType; // Import FetchType
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType; // Import OneToMany
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import ca.mcgill.ecse321.gameorganizer.services.GameSuggestionListener;
+
 /**
  * Represents a board game in the system.
  * Games can be owned by users and borrowed by others through borrow requests.
@@ -28,6 +38,13 @@ import lombok.Setter;
  * @author @PlazmaMamba
  */
 @Entity
+// Keeps the in-memory typeahead index current
+@EntityListeners(GameSuggestionListener.class)
+@Table(indexes = {
+    @Index(name = "idx_game_average_rating", columnList = "average_rating")
+})
+// Loads the owner with the game so list endpoints map to GameResponseDto without a select per row
+@NamedEntityGraph(name = "Game.withOwner", attributeNodes = @NamedAttributeNode("owner"))
 @NoArgsConstructor
 @Getter
 @Setter
@@ -37,7 +54,8 @@ public class Game {
 
     /** Unique identifier for the game */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 100)
     private int id;
 
     /** Name of the game */
@@ -72,6 +90,28 @@ public class Game {
     @JsonIgnoreProperties("gameReviewed")
     private Set<Review> reviews;
 
+    /*
+     * The rating aggregates are written only by GameRepository.adjustRatingAggregate and
+     * recomputeRatingAggregates. They are neither inserted (the column default applies) nor
+     * updated when a game is saved, so saving a copy loaded earlier cannot undo a concurrent
+     * review's increment.
+     */
+
+    /** Sum of all review ratings, maintained with reviewCount so the average can be updated incrementally */
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long ratingSum;
+
+    /** Number of reviews submitted for this game */
+    @Column(name = "review_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int reviewCount;
+
+    /** Average review rating, or 0 when the game has no reviews */
+    @Column(name = "average_rating", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private double averageRating;
+
 
     /**
      * Creates a new game with the specified details.
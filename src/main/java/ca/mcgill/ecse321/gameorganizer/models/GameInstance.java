@@ -6,7 +6,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -16,6 +19,9 @@ import lombok.Setter;
  * Each game can have multiple instances owned by different users.
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_game_instance_owner", columnList = "owner_id")
+})
 @NoArgsConstructor
 @Getter
 @Setter
@@ -23,7 +29,8 @@ public class GameInstance {
 
     /** Unique identifier for the game instance */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_instance_seq")
+    @SequenceGenerator(name = "game_instance_seq", sequenceName = "game_instance_seq", allocationSize = 100)
     private int id;
 
     /** The game this instance is a copy of */
@@ -14,6 +14,24 @@ import java.util.Date;
  * @author @YoussGm3o8
  */
 @Entity
+@Table(indexes = {
+    // Serves owner + status lookups and the owner + ACTIVE + endDate overdue lookup
+    @Index(name = "idx_lending_record_owner_status_end", columnList = "record_owner_id, status, end_date"),
+    // Serves owner + start date range lookups
+    @Index(name = "idx_lending_record_owner_start", columnList = "record_owner_id, start_date"),
+    // Serves the overdue job's ACTIVE + endDate range scan and the OVERDUE status lookup
+    @Index(name = "idx_lending_record_status_end", columnList = "status, end_date")
+})
+// Loads the owner and the request details LendingRecordResponseDto walks in the same select
+@NamedEntityGraph(name = "LendingRecord.withDetails", attributeNodes = {
+    @NamedAttributeNode("recordOwner"),
+    @NamedAttributeNode(value = "request", subgraph = "request")
+}, subgraphs = @NamedSubgraph(name = "request", attributeNodes = {
+    @NamedAttributeNode("requester"),
+    @NamedAttributeNode("responder"),
+    @NamedAttributeNode("requestedGame"),
+    @NamedAttributeNode("gameInstance")
+}))
 @NoArgsConstructor
 @Getter
 @Setter
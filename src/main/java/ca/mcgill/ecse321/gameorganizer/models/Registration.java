@@ -14,6 +14,18 @@ import java.util.Date;
  * @author @Shine111111
  */
 @Entity
+// One registration per attendee and event, enforced by the database rather than a pre-check
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_registration_attendee_event",
+                                             columnNames = {"attendee_id", "event_registered_for_id"}))
+// Loads the attendee and the event details RegistrationResponseDto walks in the same select
+@NamedEntityGraph(name = "Registration.withDetails", attributeNodes = {
+    @NamedAttributeNode("attendee"),
+    @NamedAttributeNode(value = "eventRegisteredFor", subgraph = "event")
+}, subgraphs = @NamedSubgraph(name = "event", attributeNodes = {
+    @NamedAttributeNode("featuredGame"),
+    @NamedAttributeNode("host"),
+    @NamedAttributeNode("gameInstance")
+}))
 @NoArgsConstructor
 @Getter
 @Setter
@@ -21,7 +33,8 @@ public class Registration {
 
     /** Unique identifier for the registration */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = 100)
     private int id;
 
     /** The date when the registration was created */
@@ -23,7 +23,8 @@ public class Review {
 
     /** Unique identifier for the review */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 100)
     private int id;
 
     /** Numerical rating given to the game (typically 1-5) */
@@ -0,0 +1,61 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Represents an account waiting for a seat at a full event.
+ * Entries are served in the order they were created: the identity column increases with
+ * every insert, so the entry with the lowest ID for an event is the head of its queue.
+ */
+@Entity
+@Table(uniqueConstraints = {
+    // An account waits at most once per event
+    @UniqueConstraint(name = "uk_waitlist_entry_event_account", columnNames = {"event_id", "account_id"})
+}, indexes = {
+    // Serves the head lookup and the count of entries ahead of a given one
+    @Index(name = "idx_waitlist_entry_event_id", columnList = "event_id, id")
+})
+@NoArgsConstructor
+@Getter
+@Setter
+public class WaitlistEntry {
+
+    /** Unique identifier for the entry, increasing in join order */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    /** The full event being waited for; entries go with the event */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    /** The waiting account; entries go with the account */
+    @ManyToOne(optional = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Account account;
+
+    /** Date when the account joined the waitlist */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date joinedAt;
+
+    /**
+     * Creates a new waitlist entry joined now.
+     *
+     * @param aEvent The full event
+     * @param aAccount The waiting account
+     */
+    public WaitlistEntry(Event aEvent, Account aAccount) {
+        event = aEvent;
+        account = aAccount;
+        joinedAt = new Date();
+    }
+}
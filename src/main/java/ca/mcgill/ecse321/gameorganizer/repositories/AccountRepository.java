@@ -30,22 +30,35 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
 
     /**
      * Finds accounts by name containing the given pattern (case insensitive).
+     * Served by the idx_account_name_trgm trigram index on PostgreSQL (see TextSearchIndexes).
      *
      * @param namePattern The pattern to search for in account names
-     * @return List of accounts matching the pattern
+     * @return List of accounts matching the pattern, best matches first
      */
-    @Query("SELECT a FROM Account a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :namePattern, '%'))")
+    @Query("SELECT a FROM Account a WHERE LOWER(a.name) LIKE LOWER(CONCAT('%', :namePattern, '%')) " +
+           "ORDER BY LOCATE(LOWER(:namePattern), LOWER(a.name)), LENGTH(a.name), a.name")
     List<Account> findByNameContainingIgnoreCase(@Param("namePattern") String namePattern);
 
     /**
      * Finds accounts by email containing the given pattern (case insensitive).
+     * Served by the idx_account_email_trgm trigram index on PostgreSQL (see TextSearchIndexes).
      *
      * @param emailPattern The pattern to search for in account emails
-     * @return List of accounts matching the pattern
+     * @return List of accounts matching the pattern, best matches first
      */
-    @Query("SELECT a FROM Account a WHERE LOWER(a.email) LIKE LOWER(CONCAT('%', :emailPattern, '%'))")
+    @Query("SELECT a FROM Account a WHERE LOWER(a.email) LIKE LOWER(CONCAT('%', :emailPattern, '%')) " +
+           "ORDER BY LOCATE(LOWER(:emailPattern), LOWER(a.email)), LENGTH(a.email), a.email")
     List<Account> findByEmailContainingIgnoreCase(@Param("emailPattern") String emailPattern);
 
+    /**
+     * Checks whether a game owner account exists with the given ID, without loading it.
+     *
+     * @param id The account ID to check
+     * @return true if the ID belongs to a game owner
+     */
+    @Query("SELECT COUNT(o) > 0 FROM GameOwner o WHERE o.id = :id")
+    boolean existsGameOwnerById(@Param("id") int id);
+
     /**
      * Finds an account by its password reset token.
      *
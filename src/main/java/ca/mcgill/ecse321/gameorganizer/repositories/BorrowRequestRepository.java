@@ -1,14 +1,24 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional; // Import added
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
@@ -19,6 +29,8 @@ import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
  * Repository interface for managing BorrowRequest entities.
  * Provides CRUD operations and custom queries for game borrowing requests.
  * Extends JpaRepository to inherit basic database operations.
+ * Queries returning requests load the requester, responder, game and game instance through the
+ * "BorrowRequest.withDetails" entity graph so mapping them to DTOs needs no extra selects.
  * 
  * @author @rayanBaida
  */
@@ -33,32 +45,44 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      */
     Optional<BorrowRequest> findBorrowRequestById(int id);
 
+    /**
+     * Retrieves the borrow requests with the given IDs together with their associated accounts
+     * and games, so a batch can be authorized and updated without further selects.
+     *
+     * @param ids the IDs of the borrow requests
+     * @return the borrow requests found, in no particular order
+     */
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findByIdIn(Collection<Integer> ids);
+
+    /**
+     * Retrieves all borrow requests together with their associated accounts and games.
+     *
+     * @return list of all borrow requests
+     */
+    @Override
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findAll();
+
+    /**
+     * Retrieves a page of borrow requests together with their associated accounts and games.
+     *
+     * @param pageable pagination information
+     * @return page of borrow requests
+     */
+    @Override
+    @EntityGraph("BorrowRequest.withDetails")
+    Page<BorrowRequest> findAll(Pageable pageable);
+
     /**
      * Finds borrow request(s) by the user associated to it
      *
      * @param username the username of the requester
      * @return Optional containing the borrow request if found, empty Optional otherwise
      */
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findBorrowRequestsByRequesterName(String username);
 
-    /**
-     * Finds all approved borrow requests that overlap with a given date range for a specific game.
-     * This is used to check if a game is available for a new borrow request.
-     *
-     * @param gameId The ID of the game to check
-     * @param startDate The start date of the period to check
-     * @param endDate The end date of the period to check
-     * @return List of overlapping approved borrow requests
-     */
-    @Query("SELECT br FROM BorrowRequest br " +
-           "WHERE br.requestedGame.id = :gameId " +
-           "AND br.status = 'APPROVED' " +
-           "AND br.startDate < :endDate " +
-           "AND br.endDate > :startDate")
-    List<BorrowRequest> findOverlappingApprovedRequests(@Param("gameId") int gameId, 
-                                                        @Param("startDate") Date startDate, 
-                                                        @Param("endDate") Date endDate);
-                                                        
     /**
      * Finds all borrow requests for games owned by a specific owner and with a specific status.
      * Used by game owners to view pending requests for their games.
@@ -67,6 +91,7 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      * @param status The status of the requests to find
      * @return List of borrow requests matching the criteria
      */
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findByRequestedGame_OwnerAndStatus(GameOwner owner, BorrowRequestStatus status);
     
     /**
@@ -76,6 +101,7 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      * @param requester The account that made the requests
      * @return List of borrow requests made by the specified requester
      */
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findByRequester(Account requester);
 
     /**
@@ -85,8 +111,122 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      * @return List of borrow requests associated with the specified game owner
      */
     @Query("SELECT br FROM BorrowRequest br WHERE br.requestedGame.owner.id = :ownerId")
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findBorrowRequestsByOwnerId(@Param("ownerId") int ownerId);
 
+    /**
+     * Finds all borrow requests for game instances owned by a specific owner.
+     * Joins through gameInstance.owner so only the owner's requests are read.
+     *
+     * @param ownerId The ID of the game instance owner
+     * @return List of borrow requests for the owner's game instances
+     */
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findByGameInstance_Owner_Id(int ownerId);
+
+    /**
+     * Finds a page of borrow requests for game instances owned by a specific owner.
+     *
+     * @param ownerId The ID of the game instance owner
+     * @param pageable pagination information
+     * @return Page of borrow requests for the owner's game instances
+     */
+    @EntityGraph("BorrowRequest.withDetails")
+    Page<BorrowRequest> findByGameInstance_Owner_Id(int ownerId, Pageable pageable);
+
+    /**
+     * Finds a page of borrow requests with a specific status for game instances owned by a specific owner.
+     *
+     * @param ownerId The ID of the game instance owner
+     * @param status The status of the requests to find
+     * @param pageable pagination information
+     * @return Page of matching borrow requests for the owner's game instances
+     */
+    @EntityGraph("BorrowRequest.withDetails")
+    Page<BorrowRequest> findByGameInstance_Owner_IdAndStatus(int ownerId, BorrowRequestStatus status, Pageable pageable);
+
+    /**
+     * Finds all borrow requests an account may see: those it made and those for game instances it owns.
+     *
+     * @param accountId The ID of the account
+     * @return List of borrow requests where the account is the requester or the instance owner
+     */
+    @Query("SELECT br FROM BorrowRequest br LEFT JOIN br.gameInstance gi " +
+           "WHERE br.requester.id = :accountId OR gi.owner.id = :accountId")
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findVisibleToAccount(@Param("accountId") int accountId);
+
+    /**
+     * Finds a page of the borrow requests an account may see.
+     *
+     * @param accountId The ID of the account
+     * @param pageable pagination information
+     * @return Page of borrow requests where the account is the requester or the instance owner
+     */
+    @Query(value = "SELECT br FROM BorrowRequest br LEFT JOIN br.gameInstance gi " +
+                   "WHERE br.requester.id = :accountId OR gi.owner.id = :accountId",
+           countQuery = "SELECT COUNT(br) FROM BorrowRequest br LEFT JOIN br.gameInstance gi " +
+                        "WHERE br.requester.id = :accountId OR gi.owner.id = :accountId")
+    @EntityGraph("BorrowRequest.withDetails")
+    Page<BorrowRequest> findVisibleToAccount(@Param("accountId") int accountId, Pageable pageable);
+
+    /**
+     * Finds the borrow requests an account may see that have the given status.
+     *
+     * @param accountId The ID of the account
+     * @param status The status of the requests to find
+     * @return Matching borrow requests in ID order
+     */
+    @Query("SELECT br FROM BorrowRequest br LEFT JOIN br.gameInstance gi " +
+           "WHERE br.status = :status AND (br.requester.id = :accountId OR gi.owner.id = :accountId) " +
+           "ORDER BY br.id")
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findVisibleToAccountByStatus(@Param("accountId") int accountId,
+                                                     @Param("status") BorrowRequestStatus status);
+
+    /**
+     * Finds the borrow requests an account may see that were made by the given requester.
+     *
+     * @param accountId The ID of the account
+     * @param requesterId The ID of the account that made the requests
+     * @return Matching borrow requests in ID order
+     */
+    @Query("SELECT br FROM BorrowRequest br LEFT JOIN br.gameInstance gi " +
+           "WHERE br.requester.id = :requesterId AND (br.requester.id = :accountId OR gi.owner.id = :accountId) " +
+           "ORDER BY br.id")
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findVisibleToAccountByRequester(@Param("accountId") int accountId,
+                                                        @Param("requesterId") int requesterId);
+
+    /**
+     * Finds every borrow request with the given status.
+     *
+     * @param status The status of the requests to find
+     * @return Matching borrow requests in ID order
+     */
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findByStatusOrderById(BorrowRequestStatus status);
+
+    /**
+     * Finds every borrow request made by the given requester.
+     *
+     * @param requesterId The ID of the account that made the requests
+     * @return Matching borrow requests in ID order
+     */
+    @EntityGraph("BorrowRequest.withDetails")
+    List<BorrowRequest> findByRequester_IdOrderById(int requesterId);
+
+    /**
+     * Streams every borrow request in ID order through a database cursor.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return Stream of all borrow requests
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT br FROM BorrowRequest br ORDER BY br.id")
+    @EntityGraph("BorrowRequest.withDetails")
+    Stream<BorrowRequest> streamAllByOrderById();
+
     /**
      * Finds all borrow requests associated with a specific game.
      * Used for cascade deletion when a game is deleted.
@@ -94,23 +234,74 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      * @param game The game whose borrow requests to find
      * @return List of borrow requests associated with the specified game
      */
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findByRequestedGame(Game game);
 
     /**
-     * Find borrow requests with approved status for a specific game
-     * that overlap with a given period.
-     * Used to check availability for new or updated requests.
+     * Checks whether a game has a borrow request with the given status, other than the excluded one,
+     * that overlaps a given period (boundaries inclusive).
+     * Used to check availability when the dates of an existing request are updated.
+     *
+     * @param gameId The ID of the game to check
+     * @param status The status of the requests to consider, normally APPROVED
+     * @param excludedRequestId The ID of the request being updated
+     * @param endDate The end date of the period to check
+     * @param startDate The start date of the period to check
+     * @return true if at least one other matching request overlaps the period
+     */
+    boolean existsByRequestedGame_IdAndStatusAndIdNotAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+        int gameId, BorrowRequestStatus status, int excludedRequestId, Date endDate, Date startDate);
+
+    /**
+     * Finds which of the given games are covered by an approved borrow request at a given instant.
+     * Answers the availability of a whole batch of games in a single query.
+     *
+     * @param gameIds The IDs of the games to check; must not be empty
+     * @param instant The point in time to check
+     * @return The distinct IDs of the games that are borrowed at the given instant
      */
-    @Query("SELECT br FROM BorrowRequest br " +
-           "WHERE br.requestedGame.id = :gameId " +
+    @Query("SELECT DISTINCT br.requestedGame.id FROM BorrowRequest br " +
+           "WHERE br.requestedGame.id IN :gameIds " +
            "AND br.status = 'APPROVED' " +
-           "AND ((br.startDate <= :endDate) AND (br.endDate >= :startDate))")
-    List<BorrowRequest> findOverlappingApprovedRequestsForGame(
-        @Param("gameId") int gameId,
-        @Param("startDate") Date startDate,
-        @Param("endDate") Date endDate);
+           "AND br.startDate <= :instant " +
+           "AND br.endDate >= :instant")
+    List<Integer> findGameIdsBorrowedAt(@Param("gameIds") Collection<Integer> gameIds,
+                                        @Param("instant") Date instant);
 
+    /**
+     * Finds which of the given games have an approved borrow request overlapping a given period.
+     * A request overlaps when it starts before the period ends and ends after the period starts.
+     *
+     * @param gameIds The IDs of the games to check; must not be empty
+     * @param startDate The start date of the period to check
+     * @param endDate The end date of the period to check
+     * @return The distinct IDs of the games that are borrowed during the period
+     */
+    @Query("SELECT DISTINCT br.requestedGame.id FROM BorrowRequest br " +
+           "WHERE br.requestedGame.id IN :gameIds " +
+           "AND br.status = 'APPROVED' " +
+           "AND br.startDate < :endDate " +
+           "AND br.endDate > :startDate")
+    List<Integer> findGameIdsBorrowedDuring(@Param("gameIds") Collection<Integer> gameIds,
+                                            @Param("startDate") Date startDate,
+                                            @Param("endDate") Date endDate);
+
+    /**
+     * Finds which of the given game instances are covered by an approved borrow request at a given instant.
+     *
+     * @param gameInstanceIds The IDs of the game instances to check; must not be empty
+     * @param instant The point in time to check
+     * @return The distinct IDs of the game instances that are borrowed at the given instant
+     */
+    @Query("SELECT DISTINCT br.gameInstance.id FROM BorrowRequest br " +
+           "WHERE br.gameInstance.id IN :gameInstanceIds " +
+           "AND br.status = 'APPROVED' " +
+           "AND br.startDate <= :instant " +
+           "AND br.endDate >= :instant")
+    List<Integer> findGameInstanceIdsBorrowedAt(@Param("gameInstanceIds") Collection<Integer> gameInstanceIds,
+                                                @Param("instant") Date instant);
 
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findBorrowRequestsByRequesterEmail(String email);
 
     /**
@@ -120,20 +311,40 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      * @return List of borrow requests associated with the specified game instance
      */
     @Query("SELECT br FROM BorrowRequest br WHERE br.gameInstance.id = :gameInstanceId")
+    @EntityGraph("BorrowRequest.withDetails")
     List<BorrowRequest> findBorrowRequestsByGameInstanceId(@Param("gameInstanceId") int gameInstanceId);
 
     /**
-     * Find borrow requests with approved status for a specific game instance
-     * that overlap with a given period.
-     * Used to check availability for new or updated requests.
+     * Checks whether a game instance has a borrow request with the given status that overlaps
+     * a given period (boundaries inclusive).
+     * Used to check availability for new requests; only probes for a single matching row, using the
+     * (game_instance_id, status, start_date, end_date) index.
+     *
+     * @param gameInstanceId The ID of the game instance to check
+     * @param status The status of the requests to consider, normally APPROVED
+     * @param endDate The end date of the period to check
+     * @param startDate The start date of the period to check
+     * @return true if at least one matching request overlaps the period
      */
-    @Query("SELECT br FROM BorrowRequest br " +
-           "WHERE br.gameInstance.id = :gameInstanceId " +
-           "AND br.status = 'APPROVED' " +
-           "AND ((br.startDate <= :endDate) AND (br.endDate >= :startDate))")
-    List<BorrowRequest> findOverlappingApprovedRequestsForGameInstance(
-        @Param("gameInstanceId") int gameInstanceId,
-        @Param("startDate") Date startDate,
-        @Param("endDate") Date endDate);
+    boolean existsByGameInstance_IdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+        int gameInstanceId, BorrowRequestStatus status, Date endDate, Date startDate);
+
+    /**
+     * Checks whether the requested game instance of a borrow request is owned by the
+     * account with the given email.
+     *
+     * @param id the borrow request ID
+     * @param email the email of the presumed game instance owner
+     * @return true if the request exists and its game instance is owned by that account
+     */
+    boolean existsByIdAndGameInstance_Owner_Email(int id, String email);
 
+    /**
+     * Checks whether a borrow request was made by the account with the given email.
+     *
+     * @param id the borrow request ID
+     * @param email the email of the presumed requester
+     * @return true if the request exists and was made by that account
+     */
+    boolean existsByIdAndRequester_Email(int id, String email);
 }
@@ -0,0 +1,65 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailJob;
+import ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus;
+
+/**
+ * Repository interface for managing EmailJob entities in the email outbox.
+ * Workers look up due jobs, then claim each one with a conditional update so a job
+ * is only sent by one worker even when several application instances share the table.
+ */
+@Repository
+public interface EmailJobRepository extends JpaRepository<EmailJob, Integer> {
+
+    /**
+     * Finds jobs that are due: pending jobs whose next attempt time has passed, and jobs
+     * whose worker lease has expired without the job being completed.
+     *
+     * @param now the current time
+     * @param pageable limits the number of jobs returned
+     * @return due jobs, oldest due first
+     */
+    @Query("SELECT j FROM EmailJob j WHERE j.status IN ("
+            + "ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus.PENDING, "
+            + "ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus.SENDING) "
+            + "AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt, j.id")
+    List<EmailJob> findDue(@Param("now") Date now, Pageable pageable);
+
+    /**
+     * Claims a due job for sending: marks it SENDING, counts the attempt and leases it
+     * until the given time.
+     *
+     * @param id the job ID
+     * @param now the current time; the job must be due at this time
+     * @param leaseUntil when the claim expires if the job is not completed
+     * @return 1 if the job was claimed, 0 if it was no longer due or was claimed elsewhere
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailJob j SET j.status = ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus.SENDING, "
+            + "j.attempts = j.attempts + 1, j.nextAttemptAt = :leaseUntil "
+            + "WHERE j.id = :id AND j.status IN ("
+            + "ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus.PENDING, "
+            + "ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus.SENDING) "
+            + "AND j.nextAttemptAt <= :now")
+    int claim(@Param("id") int id, @Param("now") Date now, @Param("leaseUntil") Date leaseUntil);
+
+    /**
+     * Counts the jobs in the given status.
+     *
+     * @param status the status to count
+     * @return the number of jobs in that status
+     */
+    long countByStatus(EmailJobStatus status);
+}
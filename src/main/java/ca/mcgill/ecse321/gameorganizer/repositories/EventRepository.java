@@ -5,7 +5,12 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ca.mcgill.ecse321.gameorganizer.models.Event;
@@ -13,6 +18,8 @@ import ca.mcgill.ecse321.gameorganizer.models.Event;
 /**
  * Repository interface for managing Event entities.
  * Provides CRUD operations and custom queries for gaming events.
+ * List queries load the featured game, host and game instance through the
+ * "Event.withDetails" entity graph so mapping to EventResponse needs no extra selects.
  * 
  * @author @Yessine-glitch
  */
@@ -26,35 +33,134 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
      */
     Optional<Event> findEventById(UUID id);
 
+    /**
+     * Retrieves all events together with their featured games and hosts.
+     *
+     * @return list of all events
+     */
+    @Override
+    @EntityGraph("Event.withDetails")
+    List<Event> findAll();
+
     /**
      * Finds events by their title.
      *
      * @param title the exact title to search for
      * @return list of events matching the title
      */
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByTitle(String title);
 
     /**
-     * Finds events containing the given text in their title.
+     * Finds events containing the given text in their title, ignoring case.
+     * Served by the idx_event_title_trgm trigram index on PostgreSQL (see TextSearchIndexes).
+     * Events where the text appears earlier, then shorter titles, come first.
      *
      * @param title the text to search for in titles
-     * @return list of events with matching title parts
+     * @return list of events with matching title parts, best matches first
      */
-    List<Event> findEventByTitleContaining(String title);
+    @EntityGraph("Event.withDetails")
+    @Query("SELECT e FROM Event e WHERE LOWER(e.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+           "ORDER BY LOCATE(LOWER(:title), LOWER(e.title)), LENGTH(e.title), e.title")
+    List<Event> findEventByTitleContaining(@Param("title") String title);
 
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByDateTime(Date dateTime); // Now expects java.util.Date
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByLocation(String location);
-    List<Event> findEventByLocationContaining(String location);
+    /**
+     * Finds events containing the given text in their location, ignoring case.
+     * Served by the idx_event_location_trgm trigram index on PostgreSQL (see TextSearchIndexes).
+     *
+     * @param location the text to search for in locations
+     * @return list of events with matching locations, best matches first
+     */
+    @EntityGraph("Event.withDetails")
+    @Query("SELECT e FROM Event e WHERE LOWER(e.location) LIKE LOWER(CONCAT('%', :location, '%')) " +
+           "ORDER BY LOCATE(LOWER(:location), LOWER(e.location)), LENGTH(e.location), e.location")
+    List<Event> findEventByLocationContaining(@Param("location") String location);
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByDescription(String description);
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByMaxParticipants(int maxParticipants);
+    @EntityGraph("Event.withDetails")
     List<Event> findByFeaturedGameMinPlayers(int minPlayers);
+    @EntityGraph("Event.withDetails")
     List<Event> findByFeaturedGameMinPlayersGreaterThanEqual(int minPlayers);
     //List<Event> findByFeaturedGameMinPlayersGreaterThanEqualAndMaxParticipantsLessThanEqual(int minPlayers, int maxParticipants);
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByFeaturedGameId(int featuredGameId);
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByFeaturedGameName(String featuredGameName);
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByHostId(int hostId);
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByHostName(String hostUsername); // Keep for potential future use?
+    @EntityGraph("Event.withDetails")
     List<Event> findEventByHostEmail(String hostEmail); // Add method to find by host email
 
     void deleteAllByFeaturedGameId(int gameId); // Delete all events associated with a specific game ID
+
+    /**
+     * Checks whether an event is hosted by the account with the given email.
+     *
+     * @param id the event ID
+     * @param email the email of the presumed host
+     * @return true if the event exists and is hosted by that account
+     */
+    boolean existsByIdAndHost_Email(UUID id, String email);
+
+    /**
+     * Finds events starting in a time window, in (dateTime, id) order, resuming after a keyset
+     * cursor. The window is a range scan over the (date_time, id) index, so the cost of a page
+     * does not grow with the number of pages already read or with the number of past events.
+     * Null filters are ignored.
+     *
+     * @param start the earliest start time to return, which is also the cursor time when afterId is set
+     * @param end the exclusive latest start time, or null for no upper bound
+     * @param afterId the ID of the last event of the previous page, or null for the first page
+     * @param location a lower-case LIKE pattern matched against the location, escaped with a backslash
+     * @param gameId the ID of the featured game
+     * @param players a group size the featured game must support
+     * @param minSeats the minimum number of free seats
+     * @param pageable limits the number of events returned
+     * @return the matching events, earliest first
+     */
+    @EntityGraph("Event.withDetails")
+    @Query("SELECT e FROM Event e LEFT JOIN e.featuredGame g " +
+           "WHERE e.dateTime >= :start " +
+           "AND (:afterId IS NULL OR e.dateTime > :start OR e.id > :afterId) " +
+           "AND (:end IS NULL OR e.dateTime < :end) " +
+           "AND (:location IS NULL OR LOWER(e.location) LIKE :location ESCAPE '\\') " +
+           "AND (:gameId IS NULL OR g.id = :gameId) " +
+           "AND (:players IS NULL OR (g.minPlayers <= :players AND g.maxPlayers >= :players)) " +
+           "AND (:minSeats IS NULL OR e.maxParticipants - e.currentNumberParticipants >= :minSeats) " +
+           "ORDER BY e.dateTime, e.id")
+    List<Event> findUpcoming(@Param("start") Date start, @Param("end") Date end, @Param("afterId") UUID afterId,
+                             @Param("location") String location, @Param("gameId") Integer gameId,
+                             @Param("players") Integer players, @Param("minSeats") Integer minSeats,
+                             Pageable pageable);
+
+    /**
+     * Takes a seat at an event if one is free. The capacity check and the increment run as a
+     * single conditional UPDATE, so concurrent registrations cannot oversell the event.
+     *
+     * @param eventId the event ID
+     * @return 1 if a seat was taken, 0 if the event is full or does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentNumberParticipants = e.currentNumberParticipants + 1 " +
+           "WHERE e.id = :eventId AND e.currentNumberParticipants < e.maxParticipants")
+    int reserveSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Gives back a seat at an event, never going below zero.
+     *
+     * @param eventId the event ID
+     * @return 1 if a seat was released, 0 if the count was already zero or the event does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentNumberParticipants = e.currentNumberParticipants - 1 " +
+           "WHERE e.id = :eventId AND e.currentNumberParticipants > 0")
+    int releaseSeat(@Param("eventId") UUID eventId);
 }
@@ -1,8 +1,11 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ca.mcgill.ecse321.gameorganizer.models.Game;
@@ -65,4 +68,23 @@ public interface GameInstanceRepository extends JpaRepository<GameInstance, Inte
      * @return List of instances owned by the given user ID
      */
     List<GameInstance> findByOwnerId(int ownerId);
-} 
\ No newline at end of file
+
+    /**
+     * Checks whether the account with the given email owns a copy of a game.
+     *
+     * @param gameId the game ID
+     * @param email the email of the presumed instance owner
+     * @return true if at least one instance of the game is owned by that account
+     */
+    boolean existsByGame_IdAndOwner_Email(int gameId, String email);
+
+    /**
+     * Finds which of the given games have at least one available instance.
+     * Answers the availability of a whole batch of approvals in a single query.
+     *
+     * @param gameIds the IDs of the games to check; must not be empty
+     * @return the distinct IDs of the games with an available instance
+     */
+    @Query("SELECT DISTINCT gi.game.id FROM GameInstance gi WHERE gi.game.id IN :gameIds AND gi.available = true")
+    List<Integer> findGameIdsWithAvailableInstance(@Param("gameIds") Collection<Integer> gameIds);
+}
@@ -1,11 +1,20 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -13,11 +22,24 @@ import java.util.Optional;
 /**
  * Repository interface for managing Game entities.
  * Provides CRUD operations and custom queries for games.
+ * Dynamic multi-criteria searches are expressed with {@link GameSpecifications}.
+ * Methods backing list endpoints load each game's owner through the "Game.withOwner"
+ * entity graph so mapping the results to DTOs does not issue one select per game.
  *
  * @author @PlazmaMamba
  */
 @Repository
-public interface GameRepository extends JpaRepository<Game, Integer> {
+public interface GameRepository extends JpaRepository<Game, Integer>, JpaSpecificationExecutor<Game> {
+
+    /**
+     * Selects the columns of a GameResponseDto directly, so read-only listings skip
+     * entity hydration and dirty checking. Games without an owner keep a null owner.
+     */
+    String GAME_RESPONSE_SELECT = "SELECT new ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto(" +
+           "g.id, g.name, g.minPlayers, g.maxPlayers, g.image, g.dateAdded, g.category, g.description, " +
+           "g.averageRating, g.reviewCount, o.id, o.name, o.email) " +
+           "FROM Game g LEFT JOIN g.owner o";
+
     /**
      * Finds a game by its unique identifier.
      *
@@ -26,14 +48,52 @@ public interface GameRepository extends JpaRepository<Game, Integer> {
      */
     Game findGameById(int id);
 
+    /**
+     * Retrieves all games together with their owners.
+     *
+     * @return list of all games
+     */
+    @Override
+    @EntityGraph("Game.withOwner")
+    List<Game> findAll();
+
+    /**
+     * Retrieves a page of games matching the given specification together with their owners.
+     *
+     * @param spec the specification to match, may be null
+     * @param pageable pagination information
+     * @return page of matching games
+     */
+    @Override
+    @EntityGraph("Game.withOwner")
+    Page<Game> findAll(Specification<Game> spec, Pageable pageable);
+
+    @EntityGraph("Game.withOwner")
     List<Game> findByName(String name);
 
-    List<Game> findByNameContaining(String namePart);
+    /**
+     * Finds games containing the given text in their name, ignoring case.
+     * Served by the idx_game_name_trgm trigram index on PostgreSQL (see TextSearchIndexes).
+     * Games where the text appears earlier, then shorter names, come first.
+     *
+     * @param namePart the text to search for in game names
+     * @return list of matching games, best matches first
+     */
+    @EntityGraph("Game.withOwner")
+    @Query("SELECT g FROM Game g WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :namePart, '%')) " +
+           "ORDER BY LOCATE(LOWER(:namePart), LOWER(g.name)), LENGTH(g.name), g.name")
+    List<Game> findByNameContaining(@Param("namePart") String namePart);
+    @EntityGraph("Game.withOwner")
     List<Game> findByMinPlayersLessThanEqual(int players);
+    @EntityGraph("Game.withOwner")
     List<Game> findByMaxPlayersGreaterThanEqual(int players);
+    @EntityGraph("Game.withOwner")
     List<Game> findByMinPlayersLessThanEqualAndMaxPlayersGreaterThanEqual(int minPlayers, int maxPlayers);
+    @EntityGraph("Game.withOwner")
     List<Game> findByDateAddedBefore(Date date);
+    @EntityGraph("Game.withOwner")
     List<Game> findByDateAddedAfter(Date date);
+    @EntityGraph("Game.withOwner")
     List<Game> findByDateAddedBetween(Date startDate, Date endDate);
     List<Game> findByOwner(GameOwner owner);
     List<Game> findByOwnerAndNameContaining(GameOwner owner, String namePart);
@@ -44,6 +104,7 @@ public interface GameRepository extends JpaRepository<Game, Integer> {
      * @param currentDate the date to check availability
      * @return list of available games
      */
+    @EntityGraph("Game.withOwner")
     @Query("SELECT g FROM Game g WHERE g.id NOT IN " +
            "(SELECT br.requestedGame.id FROM BorrowRequest br " +
            "WHERE br.status = 'APPROVED' AND br.startDate <= ?1 AND br.endDate >= ?1)")
@@ -55,14 +116,136 @@ public interface GameRepository extends JpaRepository<Game, Integer> {
      * @param currentDate the date to check availability
      * @return list of unavailable games
      */
+    @EntityGraph("Game.withOwner")
     @Query("SELECT g FROM Game g WHERE g.id IN " +
            "(SELECT br.requestedGame.id FROM BorrowRequest br " +
            "WHERE br.status = 'APPROVED' AND br.startDate <= ?1 AND br.endDate >= ?1)")
     List<Game> findUnavailableGames(Date currentDate);
 
-    @Query("SELECT g FROM Game g WHERE " +
-           "(SELECT COALESCE(AVG(r.rating), 0) FROM Review r WHERE r.gameReviewed = g) >= ?1")
+    /**
+     * Finds all games whose maintained average rating is at or above the given value.
+     *
+     * @param minRating the minimum average rating
+     * @return list of games meeting the rating criteria
+     */
+    @EntityGraph("Game.withOwner")
     List<Game> findByAverageRatingGreaterThanEqual(double minRating);
 
+    /**
+     * Atomically applies a change to a game's rating aggregate.
+     * The sum, count and average are recomputed in a single UPDATE so concurrent
+     * review submissions cannot lose each other's increments.
+     *
+     * @param gameId the ID of the game whose aggregate to adjust
+     * @param ratingDelta the amount to add to the rating sum
+     * @param countDelta the amount to add to the review count
+     * @return the number of games updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Game g SET g.ratingSum = g.ratingSum + :ratingDelta, " +
+           "g.reviewCount = g.reviewCount + :countDelta, " +
+           "g.averageRating = CASE WHEN g.reviewCount + :countDelta > 0 " +
+           "THEN CAST(g.ratingSum + :ratingDelta AS Double) / (g.reviewCount + :countDelta) " +
+           "ELSE 0.0 END " +
+           "WHERE g.id = :gameId")
+    int adjustRatingAggregate(@Param("gameId") int gameId,
+                              @Param("ratingDelta") long ratingDelta,
+                              @Param("countDelta") int countDelta);
+
+    /**
+     * Recomputes every game's rating aggregate from the review table.
+     * Used to backfill existing data and to repair any drift.
+     *
+     * @return the number of games updated
+     */
+    @Modifying
+    @Query(value = "UPDATE game SET " +
+           "review_count = (SELECT COUNT(*) FROM review r WHERE r.game_reviewed_id = game.id), " +
+           "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM review r WHERE r.game_reviewed_id = game.id), " +
+           "average_rating = COALESCE((SELECT AVG(CAST(r.rating AS DOUBLE PRECISION)) FROM review r " +
+           "WHERE r.game_reviewed_id = game.id), 0)",
+           nativeQuery = true)
+    int recomputeRatingAggregates();
+
+    @EntityGraph("Game.withOwner")
     List<Game> findByCategory(String category);
+
+    /**
+     * Retrieves all games as response DTOs.
+     *
+     * @return list of all games as DTOs
+     */
+    @Query(GAME_RESPONSE_SELECT)
+    List<GameResponseDto> findAllGameResponses();
+
+    /**
+     * Retrieves the games in a category as response DTOs.
+     *
+     * @param category the category to match
+     * @return list of matching games as DTOs
+     */
+    @Query(GAME_RESPONSE_SELECT + " WHERE g.category = :category")
+    List<GameResponseDto> findGameResponsesByCategory(@Param("category") String category);
+
+    /**
+     * Retrieves the games whose name contains the given text, ignoring case, as response DTOs.
+     * Ranked like findByNameContaining: earlier matches, then shorter names, come first.
+     *
+     * @param namePart the text to search for in game names
+     * @return list of matching games as DTOs, best matches first
+     */
+    @Query(GAME_RESPONSE_SELECT + " WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :namePart, '%')) " +
+           "ORDER BY LOCATE(LOWER(:namePart), LOWER(g.name)), LENGTH(g.name), g.name")
+    List<GameResponseDto> findGameResponsesByNameContaining(@Param("namePart") String namePart);
+
+    /**
+     * Retrieves games as response DTOs in ID order, one keyset page at a time.
+     * Used to build the in-memory suggestion index without holding every game at once.
+     *
+     * @param afterId the ID of the last game of the previous page, or 0 for the first page
+     * @param pageable limits the number of games returned
+     * @return the next games by ID as DTOs
+     */
+    @Query(GAME_RESPONSE_SELECT + " WHERE g.id > :afterId ORDER BY g.id")
+    List<GameResponseDto> findGameResponsesAfterId(@Param("afterId") int afterId, Pageable pageable);
+
+    /**
+     * Retrieves the games owned by a game owner as response DTOs.
+     *
+     * @param ownerId the ID of the game owner
+     * @return list of the owner's games as DTOs
+     */
+    @Query(GAME_RESPONSE_SELECT + " WHERE o.id = :ownerId")
+    List<GameResponseDto> findGameResponsesByOwnerId(@Param("ownerId") int ownerId);
+
+    /**
+     * Retrieves the names of the games owned by a game owner.
+     *
+     * @param ownerId the ID of the game owner
+     * @return list of game names
+     */
+    @Query("SELECT g.name FROM Game g WHERE g.owner.id = :ownerId")
+    List<String> findNamesByOwnerId(@Param("ownerId") int ownerId);
+
+    /**
+     * Retrieves which of the given names a game owner already uses, ignoring case.
+     * Used by the catalog import to skip duplicates one batch at a time.
+     *
+     * @param ownerId the ID of the game owner
+     * @param lowerCaseNames candidate names, already lower-cased
+     * @return the lower-cased names that match an existing game of the owner
+     */
+    @Query("SELECT LOWER(g.name) FROM Game g WHERE g.owner.id = :ownerId AND LOWER(g.name) IN :names")
+    List<String> findLowerCaseNamesByOwnerIdAndNameIn(@Param("ownerId") int ownerId,
+                                                      @Param("names") Collection<String> lowerCaseNames);
+
+    /**
+     * Checks whether a game is owned by the account with the given email,
+     * without loading the game or the account.
+     *
+     * @param id the game ID
+     * @param email the email of the presumed owner
+     * @return true if the game exists and is owned by that account
+     */
+    boolean existsByIdAndOwner_Email(int id, String email);
 }
@@ -0,0 +1,133 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Factory for JPA specifications over Game entities.
+ * Each method returns null when its criterion is absent, so specifications can be
+ * chained with Specification.where(...).and(...) and compiled into a single SQL statement.
+ *
+ * @author @PlazmaMamba
+ */
+public final class GameSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private GameSpecifications() {
+    }
+
+    /**
+     * Matches games whose name contains the given text, ignoring case.
+     *
+     * @param namePart the text to search for in game names
+     * @return the specification, or null if namePart is blank
+     */
+    public static Specification<Game> nameContains(String namePart) {
+        if (namePart == null || namePart.trim().isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(namePart.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.<String>get("name")), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Matches games whose minimum player count is at least the given value.
+     *
+     * @param minPlayers the lower bound on Game.minPlayers
+     * @return the specification, or null if minPlayers is null
+     */
+    public static Specification<Game> minPlayersAtLeast(Integer minPlayers) {
+        if (minPlayers == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Integer>get("minPlayers"), minPlayers);
+    }
+
+    /**
+     * Matches games whose maximum player count is at most the given value.
+     *
+     * @param maxPlayers the upper bound on Game.maxPlayers
+     * @return the specification, or null if maxPlayers is null
+     */
+    public static Specification<Game> maxPlayersAtMost(Integer maxPlayers) {
+        if (maxPlayers == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Integer>get("maxPlayers"), maxPlayers);
+    }
+
+    /**
+     * Matches games in the given category, ignoring case.
+     *
+     * @param category the category to match
+     * @return the specification, or null if category is blank
+     */
+    public static Specification<Game> categoryEqualsIgnoreCase(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return null;
+        }
+        String lowered = category.toLowerCase();
+        return (root, query, cb) -> cb.equal(cb.lower(root.<String>get("category")), lowered);
+    }
+
+    /**
+     * Matches games owned by the account with the given ID.
+     *
+     * @param ownerId the ID of the owning GameOwner
+     * @return the specification
+     */
+    public static Specification<Game> ownedBy(int ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    /**
+     * Matches games whose maintained average review rating is at least the given value.
+     * Games without reviews have an average of 0.
+     *
+     * @param minRating the minimum average rating
+     * @return the specification, or null if minRating is null
+     */
+    public static Specification<Game> averageRatingAtLeast(Double minRating) {
+        if (minRating == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Double>get("averageRating"), minRating);
+    }
+
+    /**
+     * Matches games that are (or are not) covered by an approved borrow request at the given instant.
+     *
+     * @param available true to keep available games, false to keep borrowed games
+     * @param instant the point in time to check
+     * @return the specification, or null if available is null
+     */
+    public static Specification<Game> availableAt(Boolean available, Date instant) {
+        if (available == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Integer> borrowed = query.subquery(Integer.class);
+            Root<BorrowRequest> request = borrowed.from(BorrowRequest.class);
+            borrowed.select(request.<Integer>get("id")).where(
+                    cb.equal(request.get("requestedGame"), root),
+                    cb.equal(request.get("status"), BorrowRequestStatus.APPROVED),
+                    cb.lessThanOrEqualTo(request.<Date>get("startDate"), instant),
+                    cb.greaterThanOrEqualTo(request.<Date>get("endDate"), instant));
+            Predicate isBorrowed = cb.exists(borrowed);
+            return available ? cb.not(isBorrowed) : isBorrowed;
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
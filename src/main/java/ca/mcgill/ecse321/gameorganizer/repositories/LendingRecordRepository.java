@@ -6,13 +6,16 @@ import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 import java.util.Date;
@@ -20,6 +23,8 @@ import java.util.Date;
 /**
  * Repository interface for managing LendingRecord entities.
  * Provides methods for CRUD operations and custom queries related to lending records.
+ * Queries returning records load the owner and the borrow request details through the
+ * "LendingRecord.withDetails" entity graph so mapping them to DTOs needs no extra selects.
  * 
  * @author @YoussGm3o8
  */
@@ -34,12 +39,42 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      */
     Optional<LendingRecord> findLendingRecordById(int id);
 
+    /**
+     * Retrieves the lending records with the given IDs together with their owner and borrower,
+     * so a batch can be authorized and updated without further selects.
+     *
+     * @param ids the IDs of the lending records
+     * @return the lending records found, in no particular order
+     */
+    @EntityGraph("LendingRecord.withDetails")
+    List<LendingRecord> findByIdIn(Collection<Integer> ids);
+
+    /**
+     * Retrieves all lending records together with their associated accounts and games.
+     *
+     * @return list of all lending records
+     */
+    @Override
+    @EntityGraph("LendingRecord.withDetails")
+    List<LendingRecord> findAll();
+
+    /**
+     * Retrieves a page of lending records together with their associated accounts and games.
+     *
+     * @param pageable pagination information
+     * @return page of lending records
+     */
+    @Override
+    @EntityGraph("LendingRecord.withDetails")
+    Page<LendingRecord> findAll(Pageable pageable);
+
     /**
      * Retrieves all lending records with a specific status.
      *
      * @param status the status to search for
      * @return list of lending records matching the status
      */
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> findByStatus(LendingStatus status);
     
     /**
@@ -49,6 +84,7 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param pageable pagination information
      * @return page of lending records matching the status
      */
+    @EntityGraph("LendingRecord.withDetails")
     Page<LendingRecord> findByStatus(LendingStatus status, Pageable pageable);
 
     /**
@@ -57,6 +93,7 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param owner the game owner to search for
      * @return list of lending records for the specified owner
      */
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> findByRecordOwner(GameOwner owner);
     
     /**
@@ -66,8 +103,47 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param pageable pagination information
      * @return page of lending records for the specified owner
      */
+    @EntityGraph("LendingRecord.withDetails")
     Page<LendingRecord> findByRecordOwner(GameOwner owner, Pageable pageable);
 
+    /**
+     * Finds a page of lending records for a game owner with a specific status.
+     *
+     * @param ownerId the ID of the game owner
+     * @param status the status to search for
+     * @param pageable pagination information
+     * @return page of the owner's lending records with the given status
+     */
+    @EntityGraph("LendingRecord.withDetails")
+    Page<LendingRecord> findByRecordOwner_IdAndStatus(int ownerId, LendingStatus status, Pageable pageable);
+
+    /**
+     * Finds a page of lending records for a game owner with a specific status that ended before a date.
+     * Used with ACTIVE and the current date to find an owner's overdue records.
+     *
+     * @param ownerId the ID of the game owner
+     * @param status the status to search for
+     * @param date the date to compare against end dates
+     * @param pageable pagination information
+     * @return page of the owner's lending records matching the criteria
+     */
+    @EntityGraph("LendingRecord.withDetails")
+    Page<LendingRecord> findByRecordOwner_IdAndStatusAndEndDateBefore(
+            int ownerId, LendingStatus status, Date date, Pageable pageable);
+
+    /**
+     * Finds a page of lending records for a game owner with start dates within a specified range.
+     *
+     * @param ownerId the ID of the game owner
+     * @param startDate the beginning of the date range
+     * @param endDate the end of the date range
+     * @param pageable pagination information
+     * @return page of the owner's lending records within the date range
+     */
+    @EntityGraph("LendingRecord.withDetails")
+    Page<LendingRecord> findByRecordOwner_IdAndStartDateBetween(
+            int ownerId, Date startDate, Date endDate, Pageable pageable);
+
     /**
      * Finds all lending records with start dates within a specified range.
      *
@@ -75,6 +151,7 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param endDate the end of the date range
      * @return list of lending records within the date range
      */
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> findByStartDateBetween(Date startDate, Date endDate);
 
     /**
@@ -84,8 +161,59 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param status the status to filter by
      * @return list of lending records matching the criteria
      */
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> findByEndDateBeforeAndStatus(Date date, LendingStatus status);
 
+    /**
+     * Finds the IDs of the lending records with a status whose end date is before a time,
+     * in ascending ID order. Used by the overdue job to walk past-due records in chunks,
+     * seeking past the last ID of the previous chunk.
+     *
+     * @param status the status to filter by
+     * @param before exclusive upper bound on the end date
+     * @param afterId ID of the last record of the previous chunk, or 0 for the first chunk
+     * @param pageable limit on the number of IDs to return; its offset and sort are not used
+     * @return matching record IDs greater than afterId
+     */
+    @Query("SELECT lr.id FROM LendingRecord lr WHERE lr.status = :status AND lr.endDate < :before " +
+           "AND lr.id > :afterId ORDER BY lr.id ASC")
+    List<Integer> findIdsByStatusAndEndDateBefore(
+            @Param("status") LendingStatus status,
+            @Param("before") Date before,
+            @Param("afterId") int afterId,
+            Pageable pageable);
+
+    /**
+     * Moves the given lending records from one status to another in a single statement.
+     * Records no longer in the expected status are left untouched.
+     *
+     * @param ids the IDs of the records to update
+     * @param from the status the records must currently have
+     * @param to the new status
+     * @param modifiedDate the last modified date to record
+     * @param reason the status change reason to record
+     * @return the number of records updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LendingRecord lr SET lr.status = :to, lr.lastModifiedDate = :modifiedDate, " +
+           "lr.statusChangeReason = :reason WHERE lr.id IN :ids AND lr.status = :from")
+    int updateStatusByIdIn(
+            @Param("ids") Collection<Integer> ids,
+            @Param("from") LendingStatus from,
+            @Param("to") LendingStatus to,
+            @Param("modifiedDate") Date modifiedDate,
+            @Param("reason") String reason);
+
+    /**
+     * Retrieves the lending records with the given IDs that have a specific status.
+     *
+     * @param ids the IDs of the records
+     * @param status the status to filter by
+     * @return the matching lending records
+     */
+    @EntityGraph("LendingRecord.withDetails")
+    List<LendingRecord> findByIdInAndStatus(Collection<Integer> ids, LendingStatus status);
+
     /**
      * Finds all lending records associated with a specific borrower.
      * Changed from findByRequest_Borrower to findByRequest_Requester to match BorrowRequest model
@@ -93,6 +221,7 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param requester the borrower account to search for
      * @return list of lending records for the specified borrower
      */
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> findByRequest_Requester(Account requester);
 
     /**
@@ -102,6 +231,15 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
     * @return an Optional containing the LendingRecord if found, or an empty Optional if no record exists for the given request
     */
     Optional<LendingRecord> findByRequest(BorrowRequest request);
+
+    /**
+     * Finds which of the given borrow requests have a lending record.
+     *
+     * @param requestIds the IDs of the borrow requests; must not be empty
+     * @return the IDs of the requests that have a lending record
+     */
+    @Query("SELECT lr.request.id FROM LendingRecord lr WHERE lr.request.id IN :requestIds")
+    List<Integer> findRequestIdsIn(@Param("requestIds") Collection<Integer> requestIds);
     
     /**
      * Finds a page of lending records associated with a specific borrower.
@@ -110,8 +248,20 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      * @param pageable pagination information
      * @return page of lending records for the specified borrower
      */
+    @EntityGraph("LendingRecord.withDetails")
     Page<LendingRecord> findByRequest_Requester(Account requester, Pageable pageable);
 
+    /**
+     * Retrieves the distinct names of the games a borrower has lending records for,
+     * without loading the records, requests or games.
+     *
+     * @param requesterId the ID of the borrower
+     * @return list of distinct game names
+     */
+    @Query("SELECT DISTINCT g.name FROM LendingRecord lr JOIN lr.request br JOIN br.requestedGame g " +
+           "WHERE br.requester.id = :requesterId")
+    List<String> findDistinctGameNamesByRequesterId(@Param("requesterId") int requesterId);
+
     /**
      * Advanced filter method to find lending records based on multiple criteria.
      * Uses native query with dynamic conditions.
@@ -129,6 +279,7 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
            "(:status IS NULL OR lr.status = :status) AND " +
            "(:borrowerId IS NULL OR lr.request.requester.id = :borrowerId) AND " +
            "(:gameId IS NULL OR lr.request.requestedGame.id = :gameId)")
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> filterLendingRecords(
             @Param("fromDate") Date fromDate,
             @Param("toDate") Date toDate,
@@ -153,6 +304,7 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
            "(:status IS NULL OR lr.status = :status) AND " +
            "(:borrowerId IS NULL OR lr.request.requester.id = :borrowerId) AND " +
            "(:gameId IS NULL OR lr.request.requestedGame.id = :gameId)")
+    @EntityGraph("LendingRecord.withDetails")
     Page<LendingRecord> filterLendingRecords(
             @Param("fromDate") Date fromDate,
             @Param("toDate") Date toDate,
@@ -161,5 +313,86 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
             @Param("gameId") Integer gameId,
             Pageable pageable);
 
+    /**
+     * Keyset (seek) version of the advanced filter method, walking records in ascending ID order.
+     * Seeks past the last ID of the previous page through the primary key index instead of
+     * skipping rows with an OFFSET, and issues no COUNT query.
+     *
+     * @param fromDate optional start date range
+     * @param toDate optional end date range
+     * @param status optional status filter
+     * @param borrowerId optional borrower ID filter
+     * @param gameId optional game ID filter
+     * @param afterId ID of the last record of the previous page, or null for the first page
+     * @param pageable limit on the number of records to return; its offset and sort are not used
+     * @return lending records with an ID greater than afterId, in ascending ID order
+     */
+    @Query("SELECT lr FROM LendingRecord lr WHERE " +
+           "(:fromDate IS NULL OR lr.startDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR lr.endDate <= :toDate) AND " +
+           "(:status IS NULL OR lr.status = :status) AND " +
+           "(:borrowerId IS NULL OR lr.request.requester.id = :borrowerId) AND " +
+           "(:gameId IS NULL OR lr.request.requestedGame.id = :gameId) AND " +
+           "(:afterId IS NULL OR lr.id > :afterId) " +
+           "ORDER BY lr.id ASC")
+    @EntityGraph("LendingRecord.withDetails")
+    List<LendingRecord> filterLendingRecordsAfter(
+            @Param("fromDate") Date fromDate,
+            @Param("toDate") Date toDate,
+            @Param("status") LendingStatus status,
+            @Param("borrowerId") Integer borrowerId,
+            @Param("gameId") Integer gameId,
+            @Param("afterId") Integer afterId,
+            Pageable pageable);
+
+    /**
+     * Keyset (seek) version of the advanced filter method, walking records in descending ID order.
+     *
+     * @param fromDate optional start date range
+     * @param toDate optional end date range
+     * @param status optional status filter
+     * @param borrowerId optional borrower ID filter
+     * @param gameId optional game ID filter
+     * @param beforeId ID of the last record of the previous page, or null for the first page
+     * @param pageable limit on the number of records to return; its offset and sort are not used
+     * @return lending records with an ID less than beforeId, in descending ID order
+     */
+    @Query("SELECT lr FROM LendingRecord lr WHERE " +
+           "(:fromDate IS NULL OR lr.startDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR lr.endDate <= :toDate) AND " +
+           "(:status IS NULL OR lr.status = :status) AND " +
+           "(:borrowerId IS NULL OR lr.request.requester.id = :borrowerId) AND " +
+           "(:gameId IS NULL OR lr.request.requestedGame.id = :gameId) AND " +
+           "(:beforeId IS NULL OR lr.id < :beforeId) " +
+           "ORDER BY lr.id DESC")
+    @EntityGraph("LendingRecord.withDetails")
+    List<LendingRecord> filterLendingRecordsBefore(
+            @Param("fromDate") Date fromDate,
+            @Param("toDate") Date toDate,
+            @Param("status") LendingStatus status,
+            @Param("borrowerId") Integer borrowerId,
+            @Param("gameId") Integer gameId,
+            @Param("beforeId") Integer beforeId,
+            Pageable pageable);
+
+    @EntityGraph("LendingRecord.withDetails")
     List<LendingRecord> findByRequestRequesterEmail(String email);
+
+    /**
+     * Checks whether a lending record is owned by the account with the given email.
+     *
+     * @param id the lending record ID
+     * @param email the email of the presumed record owner
+     * @return true if the record exists and is owned by that account
+     */
+    boolean existsByIdAndRecordOwner_Email(int id, String email);
+
+    /**
+     * Checks whether the borrower of a lending record is the account with the given email.
+     *
+     * @param id the lending record ID
+     * @param email the email of the presumed borrower
+     * @return true if the record exists and its request was made by that account
+     */
+    boolean existsByIdAndRequest_Requester_Email(int id, String email);
 }
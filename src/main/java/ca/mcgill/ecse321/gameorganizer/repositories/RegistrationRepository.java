@@ -4,16 +4,18 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Registration;
 
 /**
  * Repository interface for managing Registration entities.
  * Provides CRUD operations and custom queries for event registrations.
+ * List queries load the attendee and event details through the "Registration.withDetails"
+ * entity graph so mapping to RegistrationResponseDto needs no extra selects.
  * 
  * @author @Shine111111
  */
@@ -27,12 +29,22 @@ public interface RegistrationRepository extends JpaRepository<Registration, Inte
      */
     Optional<Registration> findRegistrationById(int id);
 
+    /**
+     * Retrieves all registrations together with their attendees and events.
+     *
+     * @return list of all registrations
+     */
+    @Override
+    @EntityGraph("Registration.withDetails")
+    List<Registration> findAll();
+
     /**
      * Finds a registration by its associated user.
      *
      * @param username the name of the user registered
      * @return Optional containing the registration if found, empty otherwise
      */
+    @EntityGraph("Registration.withDetails")
     List<Registration> findRegistrationByAttendeeName(String username);
 
     /**
@@ -41,21 +53,16 @@ public interface RegistrationRepository extends JpaRepository<Registration, Inte
      * @param email the email of the user registered
      * @return Optional containing the registration if found, empty otherwise
      */
+    @EntityGraph("Registration.withDetails")
     List<Registration> findRegistrationByAttendeeEmail(String email);
 
-    /**
-     * @param attendee
-     * @param eventRegisteredFor
-     * @return
-     */
-    boolean existsByAttendeeAndEventRegisteredFor(Account attendee, Event eventRegisteredFor);
-
     /**
      * Finds all registrations associated with a specific event.
      *
      * @param event the event whose registrations are to be found
      * @return List of registrations for the given event
      */
+    @EntityGraph("Registration.withDetails")
     List<Registration> findByEventRegisteredFor(Event event);
 
     /**
@@ -65,4 +72,21 @@ public interface RegistrationRepository extends JpaRepository<Registration, Inte
      */
     void deleteAllByEventRegisteredForId(UUID eventId);
 
+    /**
+     * Checks whether the account with the given email is registered for an event.
+     *
+     * @param eventId the event ID
+     * @param email the email of the account
+     * @return true if the account holds a registration for the event
+     */
+    boolean existsByEventRegisteredFor_IdAndAttendee_Email(UUID eventId, String email);
+
+    /**
+     * Checks whether a registration belongs to the account with the given email.
+     *
+     * @param id the registration ID
+     * @param email the email of the presumed attendee
+     * @return true if the registration exists and belongs to that account
+     */
+    boolean existsByIdAndAttendee_Email(int id, String email);
 }
@@ -40,10 +40,17 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
      * Finds all reviews for all games with a specific name.
      * This allows retrieving reviews across different owners' copies of the same game.
      *
+     * Matches names containing the given text, ignoring case, through the idx_game_name_trgm
+     * trigram index on PostgreSQL (see TextSearchIndexes). Reviews of games where the text
+     * appears earlier, then of shorter names, come first, ranked like GameRepository.findByNameContaining.
+     * The game and reviewer are fetched in the same query.
+     *
      * @param gameName the name of the game to find reviews for
-     * @return List of reviews for all games with the specified name
+     * @return List of reviews for all games with the specified name, best matches first
      */
-    @Query("SELECT r FROM Review r WHERE r.gameReviewed.name LIKE %:gameName%")
+    @Query("SELECT r FROM Review r JOIN FETCH r.gameReviewed g LEFT JOIN FETCH r.reviewer " +
+           "WHERE LOWER(g.name) LIKE LOWER(CONCAT('%', :gameName, '%')) " +
+           "ORDER BY LOCATE(LOWER(:gameName), LOWER(g.name)), LENGTH(g.name), g.name, r.id")
     List<Review> findByGameName(@Param("gameName") String gameName);
 
     /**
@@ -88,4 +95,13 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     List<Review> findReviewsByReviewerName(String username);
 
     List<Review> findReviewsByReviewerEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Checks whether a review was written by the account with the given email.
+     *
+     * @param id the review ID
+     * @param email the email of the presumed reviewer
+     * @return true if the review exists and was written by that account
+     */
+    boolean existsByIdAndReviewer_Email(int id, String email);
+}
@@ -0,0 +1,85 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ca.mcgill.ecse321.gameorganizer.models.WaitlistEntry;
+
+/**
+ * Repository interface for managing WaitlistEntry entities.
+ * Every lookup goes through the (event_id, id) index or the unique (event_id, account_id)
+ * constraint, so joining, leaving and finding the head of a queue stay logarithmic in its length.
+ * A position is not stored: it is counted over the index range ahead of the entry, which is
+ * linear in the number of entries ahead but keeps leaving the queue a single delete.
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Integer> {
+
+    /**
+     * Finds an account's entry in an event's waitlist.
+     *
+     * @param eventId the event ID
+     * @param email the email of the account
+     * @return the entry if the account is waiting
+     */
+    Optional<WaitlistEntry> findByEvent_IdAndAccount_Email(UUID eventId, String email);
+
+    /**
+     * Finds the first entries of an event's waitlist, head first.
+     *
+     * @param eventId the event ID
+     * @param pageable limits the number of entries returned
+     * @return the oldest entries
+     */
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.account WHERE w.event.id = :eventId ORDER BY w.id")
+    List<WaitlistEntry> findHead(@Param("eventId") UUID eventId, Pageable pageable);
+
+    /**
+     * Counts the entries ahead of the given one in an event's waitlist.
+     * Scans the (event_id, id) index range before the entry, so the cost grows with the
+     * number of entries ahead of it.
+     *
+     * @param eventId the event ID
+     * @param id the ID of the entry
+     * @return the number of entries that joined earlier
+     */
+    long countByEvent_IdAndIdLessThan(UUID eventId, int id);
+
+    /**
+     * Counts the entries in an event's waitlist.
+     *
+     * @param eventId the event ID
+     * @return the number of waiting accounts
+     */
+    long countByEvent_Id(UUID eventId);
+
+    /**
+     * Claims an entry for promotion by deleting it. When two cancellations race for the
+     * same head, only one of them deletes it and the other moves on to the next entry.
+     *
+     * @param id the ID of the entry
+     * @return 1 if this caller removed the entry, 0 if it was already gone
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM WaitlistEntry w WHERE w.id = :id")
+    int claim(@Param("id") int id);
+
+    /**
+     * Removes an account from an event's waitlist.
+     *
+     * @param eventId the event ID
+     * @param accountId the ID of the account
+     * @return the number of entries removed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM WaitlistEntry w WHERE w.event.id = :eventId AND w.account.id = :accountId")
+    int deleteByEventIdAndAccountId(@Param("eventId") UUID eventId, @Param("accountId") int accountId);
+}
@@ -0,0 +1,87 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+
+/**
+ * Per-request memo of authorization work. The ownership predicates called from
+ * {@code @PreAuthorize} record their decisions here, and services resolve the caller's
+ * account through it, so neither is computed more than once while handling a request.
+ * <p>
+ * The context lives in the current request's attributes. Outside of a request, such as in
+ * scheduled jobs or unit tests, {@link #current()} returns a fresh context that memoizes
+ * nothing beyond the caller's own use of it.
+ */
+public final class AuthorizationContext {
+
+    private static final String ATTRIBUTE = AuthorizationContext.class.getName();
+
+    private final Map<String, Optional<Account>> accounts = new HashMap<>();
+    private final Map<String, Boolean> decisions = new HashMap<>();
+
+    private AuthorizationContext() {
+    }
+
+    /**
+     * Returns the context bound to the current request, creating it on first use.
+     *
+     * @return the request's context, or an unbound context when no request is active
+     */
+    public static AuthorizationContext current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new AuthorizationContext();
+        }
+        Object context = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (context instanceof AuthorizationContext authorizationContext) {
+            return authorizationContext;
+        }
+        AuthorizationContext created = new AuthorizationContext();
+        attributes.setAttribute(ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+        return created;
+    }
+
+    /**
+     * Resolves an account by email, loading it at most once per request.
+     *
+     * @param email the account email, usually the authenticated principal's name
+     * @param loader loads the account on the first lookup
+     * @return the account, or empty if it does not exist
+     */
+    public Optional<Account> account(String email, Function<String, Optional<Account>> loader) {
+        Optional<Account> account = accounts.get(email);
+        if (account == null) {
+            account = loader.apply(email);
+            accounts.put(email, account);
+        }
+        return account;
+    }
+
+    /**
+     * Returns the memoized outcome of an authorization check, evaluating it on the first call.
+     * A check that throws is not memoized.
+     *
+     * @param check the name of the check, e.g. "gameOwner"
+     * @param resourceId the id of the resource being checked
+     * @param username the principal the check is made for
+     * @param decision evaluates the check
+     * @return whether access is granted
+     */
+    public boolean decide(String check, Object resourceId, String username, BooleanSupplier decision) {
+        String key = check + ':' + resourceId + ':' + username;
+        Boolean granted = decisions.get(key);
+        if (granted == null) {
+            granted = decision.getAsBoolean();
+            decisions.put(key, granted);
+        }
+        return granted;
+    }
+}
@@ -21,13 +21,19 @@ import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AccountRepository accountRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public CustomUserDetailsService(AccountRepository accountRepository) {
+    public CustomUserDetailsService(AccountRepository accountRepository, UserDetailsCache userDetailsCache) {
         this.accountRepository = accountRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.get(email, this::loadFromAccount);
+    }
+
+    private UserDetails loadFromAccount(String email) {
         Account account = accountRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
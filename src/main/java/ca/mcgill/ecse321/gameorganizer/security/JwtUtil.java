@@ -16,15 +16,22 @@ import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account; // Keep Account import
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 @Component
@@ -40,6 +47,21 @@ public class JwtUtil {
 
     private Key key;
 
+    // Upper bound on cached verified tokens; the least recently used entries are evicted first
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    // Verified claims keyed by a digest of the token, each valid until the token's own expiration
+    private final Map<String, CachedClaims> claimsCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedClaims>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedClaims> eldest) {
+                    return size() > claimsCacheMaxSize;
+                }
+            });
+
+    private record CachedClaims(Claims claims, long expiresAtMillis) {}
+
     // IMPORTANT: Ensure the jwt.secret in application.properties is a Base64 encoded string
     // representing at least 64 secure random bytes (512 bits) for HS512 algorithm.
     // Generate a new one if the current key is too short.
@@ -140,13 +162,62 @@ public class JwtUtil {
         // Get userId directly from the Account object
         Integer userId = (account != null) ? account.getId() : null; // Changed Long to Integer
 
+        return buildToken(userDetails.getUsername(), roles, userId);
+    }
+
+    /**
+     * Issues a new token for the same account as already verified claims, carrying over
+     * the subject, roles and account id with a fresh issue and expiration time.
+     *
+     * @param claims the claims of the token being refreshed
+     * @return the new signed token
+     */
+    public String refreshToken(Claims claims) {
+        List<String> roles = extractRoles(claims);
+        Integer userId = claims.get("userId", Integer.class);
+        return buildToken(claims.getSubject(), roles != null ? roles : Collections.emptyList(), userId);
+    }
+
+    /**
+     * Reads the authorities granted to the token's account from its "roles" claim.
+     *
+     * @param claims the verified claims of a token
+     * @return the granted authorities, or null if the token carries no roles claim
+     */
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<String> roles = extractRoles(claims);
+        if (roles == null) {
+            return null;
+        }
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> extractRoles(Claims claims) {
+        Object roles = (claims != null) ? claims.get("roles") : null;
+        if (!(roles instanceof List<?> roleList)) {
+            return null;
+        }
+        return roleList.stream().map(String::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * Signs a token with the given subject, roles and account id, valid for the configured expiration.
+     *
+     * @param subject the account email
+     * @param roles the granted role names
+     * @param userId the account id, may be null
+     * @return the signed token
+     */
+    protected String buildToken(String subject, List<String> roles, Integer userId) {
         try {
             Date now = new Date();
             Date expiryDate = new Date(System.currentTimeMillis() + expiration);
             logger.debug("Token issuedAt: {}, expiresAt: {}, expiration ms: {}", now, expiryDate, expiration);
             
             String token = Jwts.builder()
-                    .setSubject(userDetails.getUsername()) // Use username (email) as subject
+                    .setSubject(subject) // Use username (email) as subject
                     .claim("roles", roles) // Add roles claim
                     .claim("userId", userId) // Add userId claim (will be null if account was null)
                     .setIssuedAt(now)
@@ -157,7 +228,7 @@ public class JwtUtil {
             logger.debug("Generated token: {}...", token.substring(0, Math.min(token.length(), 20)));
             return token;
         } catch (Exception e) {
-            logger.error("Error generating token for user {}: {}", userDetails.getUsername(), e.getMessage(), e);
+            logger.error("Error generating token for user {}: {}", subject, e.getMessage(), e);
             // Consider throwing a specific exception type if needed
             throw new RuntimeException("Error generating JWT token", e);
         }
@@ -200,7 +271,7 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         if (claims != null) { // Check if claims extraction was successful
             try {
                 T result = claimsResolver.apply(claims);
@@ -215,18 +286,71 @@ public class JwtUtil {
         return null; // Return null if claims are null (parsing failed)
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Parses and verifies a token once and returns all of its claims.
+     * Tokens with a valid signature that have not expired are cached under a SHA-256 digest
+     * of the token until their own expiration, so later requests carrying the same token
+     * skip signature verification. Expired tokens still return their claims but are not cached.
+     *
+     * @param token the JWT, with or without a "Bearer " prefix
+     * @return the token's claims, or null if the token is missing, malformed or incorrectly signed
+     */
+    public Claims parseClaims(String token) {
         if (token == null) {
-            logger.warn("Token is null in extractAllClaims");
+            logger.warn("Token is null in parseClaims");
             return null;
         }
-        
+
         // Remove "Bearer " prefix if present
         if (token.startsWith("Bearer ")) {
             logger.debug("Removing 'Bearer ' prefix from token");
             token = token.substring(7);
         }
-        
+
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        CachedClaims cached = claimsCache.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                logger.debug("Using cached JWT claims");
+                return cached.claims();
+            }
+            claimsCache.remove(digest);
+        }
+
+        Claims claims = verifyClaims(token);
+        Date tokenExpiration = (claims != null) ? claims.getExpiration() : null;
+        if (tokenExpiration != null && tokenExpiration.getTime() > now) {
+            claimsCache.put(digest, new CachedClaims(claims, tokenExpiration.getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * Checks whether already parsed claims have expired.
+     *
+     * @param claims the claims returned by {@link #parseClaims(String)}
+     * @return true if the claims are null, have no expiration or have expired
+     */
+    public boolean isTokenExpired(Claims claims) {
+        if (claims == null || claims.getExpiration() == null) {
+            logger.warn("Could not determine token expiration due to parsing error or missing claim.");
+            return true;
+        }
+        boolean expired = claims.getExpiration().before(new Date());
+        if (expired) {
+            logger.warn("Token is expired. Expiration: {}", claims.getExpiration());
+        }
+        return expired;
+    }
+
+    /**
+     * Verifies the token's signature and parses its claims without consulting the cache.
+     *
+     * @param token the JWT without a "Bearer " prefix
+     * @return the token's claims (also for expired tokens), or null if parsing or verification fails
+     */
+    protected Claims verifyClaims(String token) {
         try {
             logger.debug("Parsing JWT token");
             Claims claims = Jwts.parserBuilder()
@@ -261,6 +385,16 @@ public class JwtUtil {
         return null; // Return null if any parsing error other than expired occurs
     }
 
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public boolean isTokenExpired(String token) {
         if (token == null) {
             logger.warn("Token is null in isTokenExpired");
@@ -306,7 +440,9 @@ public class JwtUtil {
             token = token.substring(7);
         }
         
-        final String extractedUsername = extractUsername(token);
+        // Parse once and read both the subject and the expiration from the same claims
+        final Claims claims = parseClaims(token);
+        final String extractedUsername = (claims != null) ? claims.getSubject() : null;
 
         // Check if username could be extracted (parsing might have failed)
         if (extractedUsername == null) {
@@ -323,7 +459,7 @@ public class JwtUtil {
         }
 
         // isTokenExpired now handles null expiration date and logs if expired
-        boolean isExpired = isTokenExpired(token);
+        boolean isExpired = isTokenExpired(claims);
         if (isExpired) {
             // No need to log again here, isTokenExpired already logged it.
             return false;
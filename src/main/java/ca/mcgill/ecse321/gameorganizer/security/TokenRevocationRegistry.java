@@ -0,0 +1,64 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks accounts whose previously issued tokens carry stale claims.
+ * Since the authentication filter builds the principal from token claims instead of
+ * loading the account, a change to an account's role or existence is recorded here
+ * as a cutoff: claims of tokens for that account issued up to the cutoff are not trusted,
+ * and the filter reloads the account instead. A cutoff is dropped once every token
+ * issued before it has expired.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    @Value("${jwt.expiration}")
+    private long expiration;
+
+    // Account email -> tokens issued before this time (in epoch milliseconds) are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Revokes every token issued to the account up to the current time.
+     * JWT issue times have second precision, so the cutoff is truncated to the second
+     * and also covers tokens issued earlier within the same second.
+     *
+     * @param email the email of the account whose tokens to revoke
+     */
+    public void revokeTokensIssuedUntilNow(String email) {
+        if (email == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long cutoff = now - (now % 1000);
+        revokedBefore.merge(email, cutoff, Math::max);
+        // Drop cutoffs that no longer cover any unexpired token
+        revokedBefore.values().removeIf(existing -> existing + expiration < now);
+        logger.debug("Revoked tokens issued until {} for {}", new Date(cutoff), email);
+    }
+
+    /**
+     * Checks whether a token issued to the account at the given time has been revoked.
+     *
+     * @param email the email of the account the token was issued to
+     * @param issuedAt the token's issue time, may be null
+     * @return true if the token was issued up to the account's revocation cutoff
+     */
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long cutoff = revokedBefore.get(email);
+        if (cutoff == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() <= cutoff;
+    }
+}
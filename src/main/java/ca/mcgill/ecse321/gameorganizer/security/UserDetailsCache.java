@@ -0,0 +1,85 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of the {@link UserDetails} loaded by the user details services,
+ * keyed by account email. Entries expire after a fixed time-to-live and are invalidated
+ * explicitly whenever an account's credentials, role or existence change, so logins do not
+ * read the account table every time. Hit, miss and eviction counts are published as the
+ * "cache.*" meters tagged with cache=userDetails.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(@Value("${security.user-details-cache.max-size:10000}") long maxSize,
+                            @Value("${security.user-details-cache.ttl:PT5M}") Duration ttl,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Returns the cached user details for the email, loading and caching them on a miss.
+     * A copy is returned each time, since authentication erases the credentials of the
+     * instance it is handed.
+     *
+     * @param email the account email
+     * @param loader loads the user details on a miss; exceptions it throws propagate and nothing is cached
+     * @return a copy of the user details
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.get(email, loader);
+        return User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Drops the cached user details for the email. When called inside a transaction the entry
+     * is dropped again after commit, so a load that raced with the transaction cannot leave
+     * the pre-commit state cached.
+     *
+     * @param email the account email
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+        logger.debug("Invalidated cached user details for {}", email);
+    }
+}
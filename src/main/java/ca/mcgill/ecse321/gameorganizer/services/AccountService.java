@@ -40,6 +40,8 @@ import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.security.TokenRevocationRegistry;
+import ca.mcgill.ecse321.gameorganizer.security.UserDetailsCache;
 
 /**
  * Service class that handles business logic for account management operations.
@@ -57,6 +59,8 @@ public class AccountService {
     private final ReviewRepository reviewRepository;
     private final BorrowRequestRepository borrowRequestRepository;
     private final PasswordEncoder passwordEncoder; // Added PasswordEncoder
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsCache userDetailsCache;
 
     // UserContext removed
 
@@ -66,12 +70,16 @@ public class AccountService {
             RegistrationRepository registrationRepository,
             ReviewRepository reviewRepository,
             BorrowRequestRepository borrowRequestRepository,
-            PasswordEncoder passwordEncoder) { // Inject PasswordEncoder
+            PasswordEncoder passwordEncoder, // Inject PasswordEncoder
+            TokenRevocationRegistry tokenRevocationRegistry,
+            UserDetailsCache userDetailsCache) {
         this.accountRepository = accountRepository;
         this.registrationRepository = registrationRepository;
         this.reviewRepository = reviewRepository;
         this.borrowRequestRepository = borrowRequestRepository;
         this.passwordEncoder = passwordEncoder; // Assign injected encoder
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.userDetailsCache = userDetailsCache;
     }
 
     /**
@@ -240,6 +248,7 @@ public class AccountService {
             account.setPassword(passwordEncoder.encode(newPassword)); // Encode the new password before saving
         }
         accountRepository.save(account);
+        userDetailsCache.invalidate(email);
         return ResponseEntity.ok("Account updated successfully");
     }
 
@@ -258,6 +267,9 @@ public class AccountService {
                     () -> new IllegalArgumentException("Account with email " + email + " does not exist")
             );
             accountRepository.delete(accountToDelete);
+            // Tokens already issued for the deleted account must no longer authenticate
+            tokenRevocationRegistry.revokeTokensIssuedUntilNow(email);
+            userDetailsCache.invalidate(email);
             return ResponseEntity.ok("Account with email " + email + " has been deleted");
         } catch (IllegalArgumentException e) {
             // Consider logging the exception e
@@ -343,6 +355,10 @@ public class AccountService {
             reviewRepository.save(review);
         }
 
+        // Existing tokens still carry the old role and account id; have them reissued
+        tokenRevocationRegistry.revokeTokensIssuedUntilNow(account.getEmail());
+        userDetailsCache.invalidate(account.getEmail());
+
         return ResponseEntity.ok("Account updated to GameOwner successfully");
     }
 }
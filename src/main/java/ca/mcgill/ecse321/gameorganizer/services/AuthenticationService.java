@@ -18,9 +18,9 @@ import ca.mcgill.ecse321.gameorganizer.exceptions.InvalidPasswordException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.InvalidTokenException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.security.UserDetailsCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpSession;
 
 /**
@@ -43,6 +43,9 @@ public class AuthenticationService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     private static final long EXPIRE_TOKEN_AFTER_MINUTES = 30; // Token validity: 30 minutes
 
     /**
@@ -89,7 +92,7 @@ public class AuthenticationService {
 
     /**
      * Initiates the password reset process for a given email address.
-     * Generates a unique token, sets an expiry time, and sends a reset email.
+     * Generates a unique token, sets an expiry time, and queues a reset email in the outbox.
      *
      * @param requestDto DTO containing the user's email.
      * @throws EmailNotFoundException if the email is not found.
@@ -111,25 +114,10 @@ public class AuthenticationService {
         log.info("Password reset token generated for email: {}", account.getEmail());
         log.info("Token will expire in {} minutes", EXPIRE_TOKEN_AFTER_MINUTES);
 
-        try {
-            // Send password reset email
-            emailService.sendPasswordResetEmail(account.getEmail(), token, account.getName());
-            log.info("Password reset email sent to: {}", account.getEmail());
-        } catch (MessagingException e) {
-            log.error("Failed to send password reset email to: {}, Error: {}", account.getEmail(), e.getMessage(), e);
-            // Don't throw an exception to prevent email enumeration attacks, but log the detailed error
-            log.info("DEVELOPMENT MODE: To reset password without email, use: " +
-                     "http://localhost:8080/dev/generate-reset-token?email={}", account.getEmail());
-        } catch (Exception e) {
-            log.error("Unexpected error when sending password reset email: {}", e.getMessage(), e);
-            log.info("DEVELOPMENT MODE: To reset password without email, use: " +
-                     "http://localhost:8080/dev/generate-reset-token?email={}", account.getEmail());
-            
-            // Don't throw an exception, we'll just rely on the dev endpoint
-            // In production, we might want to throw an exception here, but we'll log it instead
-        }
-        
-        // Token has been saved regardless of email sending status
+        // Queue the email in this transaction; the outbox delivers it without holding up the request
+        emailService.queuePasswordResetEmail(account.getEmail(), token, account.getName());
+
+        // Token and email job are committed together
         log.info("Password reset process completed for: {}", account.getEmail());
     }
 
@@ -165,6 +153,7 @@ public class AuthenticationService {
         account.setResetPasswordToken(null); // Invalidate token after use
         account.setResetPasswordTokenExpiry(null);
         accountRepository.save(account);
+        userDetailsCache.invalidate(account.getEmail());
 
         return "Password updated successfully";
     }
@@ -1,13 +1,27 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -16,6 +30,7 @@ import org.springframework.security.access.prepost.PreAuthorize; // Import PreAu
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.BorrowRequestDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateBorrowRequestDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.BulkStatusUpdateResultDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 // UserContext import removed
@@ -33,6 +48,9 @@ import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.security.AuthorizationContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 /**
  * Service for managing borrow requests in the game organizer system.
  * Handles request creation, retrieval, updates, and deletion.
@@ -44,11 +62,18 @@ public class BorrowRequestService {
 
     private static final Logger logger = LoggerFactory.getLogger(BorrowRequestService.class);
 
+    /** Number of streamed borrow requests after which the persistence context is cleared */
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
     private final BorrowRequestRepository borrowRequestRepository;
     private final GameRepository gameRepository;
     private final AccountRepository accountRepository;
     private final LendingRecordService lendingRecordService; // Added dependency
     private final GameInstanceRepository gameInstanceRepository; // Added dependency
+    private final EmailService emailService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     // UserContext field removed
 
@@ -58,15 +83,17 @@ public class BorrowRequestService {
      * @param borrowRequestRepository Repository for borrow requests.
      * @param gameRepository Repository for games.
      * @param accountRepository Repository for user accounts.
+     * @param emailService Service queuing the approval and decline notifications.
      */
     // Updated constructor to remove UserContext
     @Autowired
-    public BorrowRequestService(BorrowRequestRepository borrowRequestRepository, GameRepository gameRepository, AccountRepository accountRepository, LendingRecordService lendingRecordService, GameInstanceRepository gameInstanceRepository) { // Added LendingRecordService and GameInstanceRepository
+    public BorrowRequestService(BorrowRequestRepository borrowRequestRepository, GameRepository gameRepository, AccountRepository accountRepository, LendingRecordService lendingRecordService, GameInstanceRepository gameInstanceRepository, EmailService emailService) { // Added LendingRecordService and GameInstanceRepository
         this.borrowRequestRepository = borrowRequestRepository;
         this.gameRepository = gameRepository;
         this.accountRepository = accountRepository;
         this.lendingRecordService = lendingRecordService; // Initialize LendingRecordService
         this.gameInstanceRepository = gameInstanceRepository; // Initialize GameInstanceRepository
+        this.emailService = emailService;
     }
 
     /**
@@ -84,7 +111,7 @@ public class BorrowRequestService {
             throw new UnauthedException("User must be authenticated to create a borrow request.");
         }
         String currentUsername = authentication.getName(); // Assuming username is email
-        Account requester = accountRepository.findByEmail(currentUsername).orElseThrow(
+        Account requester = AuthorizationContext.current().account(currentUsername, accountRepository::findByEmail).orElseThrow(
              () -> new UnauthedException("Authenticated user '" + currentUsername + "' not found in database.")
         );
 
@@ -114,10 +141,12 @@ public class BorrowRequestService {
         }
 
         // Check if the instance is available for the requested period
-        List<BorrowRequest> overlappingRequests = borrowRequestRepository.findOverlappingApprovedRequestsForGameInstance(
-                gameInstance.getId(), requestDTO.getStartDate(), requestDTO.getEndDate());
+        boolean overlapping = borrowRequestRepository
+                .existsByGameInstance_IdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        gameInstance.getId(), BorrowRequestStatus.APPROVED,
+                        requestDTO.getEndDate(), requestDTO.getStartDate());
 
-        if (!overlappingRequests.isEmpty()) {
+        if (overlapping) {
             throw new IllegalArgumentException("Game instance is unavailable for the requested period.");
         }
 
@@ -181,81 +210,38 @@ public class BorrowRequestService {
     }
 
     /**
-     * Retrieves all borrow requests.
-     * 
-     * @return List of all borrow request DTOs.
+     * Hands every borrow request visible to the current user to the given action, one at a time.
+     * Admins see every request, read through a database cursor and passed on as each row is
+     * mapped, so neither entities nor DTOs accumulate in memory; other users see only requests
+     * they made or received, loaded with a query scoped to their account.
+     *
+     * @param action Receives the DTO of each visible borrow request, in ID order for admins.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or authentication.isAuthenticated()")
-    public List<BorrowRequestDto> getAllBorrowRequests() {
+    public void forEachVisibleBorrowRequest(Consumer<BorrowRequestDto> action) {
         try {
-            // Get all requests
-            List<BorrowRequest> allRequests = borrowRequestRepository.findAll();
-            
-            // Get current authenticated user
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
-                throw new UnauthedException("Authentication required to view borrow requests.");
-            }
-            
-            String username = auth.getName();
-            Account currentUser = accountRepository.findByEmail(username).orElse(null);
-            
-            if (currentUser == null) {
-                throw new UnauthedException("Invalid user credentials.");
-            }
-            
-            // Check if admin role (can see all)
-            boolean isAdmin = auth.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            
-            if (isAdmin) {
-                // Admin can see all borrow requests
-                return allRequests.stream()
-                    .map(request -> {
-                        Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
-                        Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
-                        Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
-                        return new BorrowRequestDto(
-                                request.getId(),
-                                requesterId,
-                                gameId,
-                                instanceId != null ? instanceId : 0,
-                                request.getStartDate(),
-                                request.getEndDate(),
-                                request.getStatus().name(),
-                                request.getRequestDate()
-                        );
-                    })
-                    .collect(Collectors.toList());
-            } else {
-                // Regular users can only see their own requests and requests for instances they own
-                return allRequests.stream()
-                    .filter(request -> 
-                        // User is the requester
-                        (request.getRequester() != null && request.getRequester().getId() == currentUser.getId()) ||
-                        // User is the instance owner (not just the game creator)
-                        (request.getGameInstance() != null && 
-                         request.getGameInstance().getOwner() != null &&
-                         request.getGameInstance().getOwner().getId() == currentUser.getId())
-                    )
-                    .map(request -> {
-                        Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
-                        Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
-                        Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
-                        return new BorrowRequestDto(
-                                request.getId(),
-                                requesterId,
-                                gameId,
-                                instanceId != null ? instanceId : 0,
-                                request.getStartDate(),
-                                request.getEndDate(),
-                                request.getStatus().name(),
-                                request.getRequestDate()
-                        );
-                    })
-                    .collect(Collectors.toList());
+            Account currentUser = getCurrentAccount(auth);
+
+            if (isAdmin(auth)) {
+                int mapped = 0;
+                try (Stream<BorrowRequest> requests = borrowRequestRepository.streamAllByOrderById()) {
+                    for (Iterator<BorrowRequest> it = requests.iterator(); it.hasNext(); ) {
+                        action.accept(toBorrowRequestDto(it.next()));
+                        // Drop mapped entities from the persistence context so it stays bounded
+                        if (++mapped % STREAM_CLEAR_INTERVAL == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+                return;
             }
+
+            // Regular users can only see their own requests and requests for instances they own
+            borrowRequestRepository.findVisibleToAccount(currentUser.getId()).stream()
+                    .map(this::toBorrowRequestDto)
+                    .forEach(action);
         } catch (UnauthedException e) {
             throw e;
         } catch (org.springframework.security.access.AccessDeniedException e) {
@@ -266,6 +252,154 @@ public class BorrowRequestService {
         }
     }
 
+    /**
+     * Retrieves one page of the borrow requests visible to the current user.
+     * Admins page through every request; other users page through the requests
+     * they made or received.
+     *
+     * @param pageable The page, size and sort to apply
+     * @return Page of borrow request DTOs visible to the current user
+     * @throws UnauthedException if no valid user is authenticated
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public Page<BorrowRequestDto> getBorrowRequestsPage(Pageable pageable) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Account currentUser = getCurrentAccount(auth);
+        Page<BorrowRequest> requests = isAdmin(auth)
+                ? borrowRequestRepository.findAll(pageable)
+                : borrowRequestRepository.findVisibleToAccount(currentUser.getId(), pageable);
+        return requests.map(this::toBorrowRequestDto);
+    }
+
+    /**
+     * Retrieves the borrow requests with the given status that are visible to the current user.
+     * Admins see every request with that status; other users see only those they made or received.
+     *
+     * @param status The status to filter by
+     * @return Visible borrow request DTOs with the status, in ID order
+     * @throws UnauthedException if no valid user is authenticated
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public List<BorrowRequestDto> getVisibleBorrowRequestsByStatus(BorrowRequestStatus status) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Account currentUser = getCurrentAccount(auth);
+        List<BorrowRequest> requests = isAdmin(auth)
+                ? borrowRequestRepository.findByStatusOrderById(status)
+                : borrowRequestRepository.findVisibleToAccountByStatus(currentUser.getId(), status);
+        return requests.stream().map(this::toBorrowRequestDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the borrow requests made by the given requester that are visible to the current user.
+     * Admins see all of them; other users see only those they made or received.
+     *
+     * @param requesterId The ID of the account that made the requests
+     * @return Visible borrow request DTOs of the requester, in ID order
+     * @throws UnauthedException if no valid user is authenticated
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public List<BorrowRequestDto> getVisibleBorrowRequestsByRequester(int requesterId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Account currentUser = getCurrentAccount(auth);
+        List<BorrowRequest> requests = isAdmin(auth)
+                ? borrowRequestRepository.findByRequester_IdOrderById(requesterId)
+                : borrowRequestRepository.findVisibleToAccountByRequester(currentUser.getId(), requesterId);
+        return requests.stream().map(this::toBorrowRequestDto).collect(Collectors.toList());
+    }
+
+    private Account getCurrentAccount(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
+            throw new UnauthedException("Authentication required to view borrow requests.");
+        }
+        return AuthorizationContext.current().account(auth.getName(), accountRepository::findByEmail)
+                .orElseThrow(() -> new UnauthedException("Invalid user credentials."));
+    }
+
+    private static boolean isAdmin(Authentication auth) {
+        return auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    /**
+     * Checks that an approved request can be lent out and creates its lending record.
+     *
+     * @param request The borrow request being approved.
+     * @throws IllegalStateException if the game, its owner or an available instance is missing.
+     * @throws RuntimeException if the lending record cannot be created.
+     */
+    private void createLendingRecordForApproval(BorrowRequest request) {
+        GameOwner owner = getApprovalOwner(request);
+
+        // Check if there is at least one available game instance
+        boolean hasAvailableInstance = gameInstanceRepository.findByGame(request.getRequestedGame()).stream()
+                .anyMatch(GameInstance::isAvailable);
+
+        createLendingRecordForApproval(request, hasAvailableInstance, () -> lendingRecordService.createLendingRecord(
+                request.getStartDate(), request.getEndDate(), request, owner));
+    }
+
+    /**
+     * Returns the owner that will lend out the game of an approved request.
+     *
+     * @param request The borrow request being approved.
+     * @return The owner of the requested game.
+     * @throws IllegalStateException if the game or its owner is missing.
+     */
+    private static GameOwner getApprovalOwner(BorrowRequest request) {
+        Game requestedGame = request.getRequestedGame();
+        if (requestedGame == null) {
+            throw new IllegalStateException("Cannot approve request: Game details are missing.");
+        }
+        GameOwner owner = requestedGame.getOwner();
+        if (owner == null) {
+            // This case might indicate an orphaned game or configuration issue.
+            throw new IllegalStateException("Cannot approve request: Game owner is not set.");
+        }
+        return owner;
+    }
+
+    /**
+     * Creates the lending record of an approved request once its availability is known.
+     *
+     * @param request The borrow request being approved.
+     * @param hasAvailableInstance Whether the requested game has an available instance.
+     * @param createRecord Creates the lending record and returns the outcome.
+     * @throws IllegalStateException if no instance is available.
+     * @throws RuntimeException if the lending record cannot be created.
+     */
+    private void createLendingRecordForApproval(BorrowRequest request, boolean hasAvailableInstance,
+                                                Supplier<ResponseEntity<String>> createRecord) {
+        if (!hasAvailableInstance) {
+            throw new IllegalStateException("Cannot approve request: No available game instance found for the requested game.");
+        }
+
+        // Inner try-catch specifically for lending record creation issues
+        try {
+            // Call LendingRecordService to create the record
+            ResponseEntity<String> response = createRecord.get();
+
+            // Check if the lending record creation was successful
+            if (response.getStatusCode() != HttpStatus.OK) {
+                // Log the error and throw an exception to indicate failure during the transaction
+                String errorMessage = String.format("Failed to create lending record for approved borrow request %d. Status: %s, Body: %s",
+                                                    request.getId(), response.getStatusCode(), response.getBody());
+                logger.error(errorMessage);
+                throw new RuntimeException(errorMessage); // Will cause rollback
+            }
+             logger.info("Successfully created lending record for approved borrow request {}", request.getId());
+
+        } catch (Exception e) { // Catch exceptions from lendingRecordService call
+             String errorMessage = String.format("Error creating lending record for approved borrow request %d: %s",
+                                                  request.getId(), e.getMessage());
+             logger.error(errorMessage, e);
+             // Re-throw as a runtime exception to ensure transaction rollback
+             throw new RuntimeException(errorMessage, e);
+        }
+    }
+
     /**
      * Updates the status of a borrow request.
      * 
@@ -290,64 +424,16 @@ public class BorrowRequestService {
 
         // If the status is being set to APPROVED, create a LendingRecord
         if (newStatus == BorrowRequestStatus.APPROVED) {
-            Game requestedGame = request.getRequestedGame();
-            if (requestedGame == null) {
-                throw new IllegalStateException("Cannot approve request: Game details are missing.");
-            }
-            GameOwner owner = requestedGame.getOwner();
-            if (owner == null) {
-                // This case might indicate an orphaned game or configuration issue.
-                throw new IllegalStateException("Cannot approve request: Game owner is not set.");
-            }
-            
-            // Check if there is at least one available game instance
-            List<GameInstance> instances = gameInstanceRepository.findByGame(requestedGame);
-            boolean hasAvailableInstance = false;
-            
-            for (GameInstance instance : instances) {
-                if (instance.isAvailable()) {
-                    hasAvailableInstance = true;
-                    break;
-                }
-            }
-            
-            if (!hasAvailableInstance) {
-                throw new IllegalStateException("Cannot approve request: No available game instance found for the requested game.");
-            }
-
-            // Inner try-catch specifically for lending record creation issues
-            try {
-                // Call LendingRecordService to create the record
-                ResponseEntity<String> response = lendingRecordService.createLendingRecord(
-                        request.getStartDate(),
-                        request.getEndDate(),
-                        request,
-                        owner
-                );
-
-                // Check if the lending record creation was successful
-                if (response.getStatusCode() != HttpStatus.OK) {
-                    // Log the error and throw an exception to indicate failure during the transaction
-                    String errorMessage = String.format("Failed to create lending record for approved borrow request %d. Status: %s, Body: %s",
-                                                        request.getId(), response.getStatusCode(), response.getBody());
-                    logger.error(errorMessage);
-                    throw new RuntimeException(errorMessage); // Will cause rollback
-                }
-                 logger.info("Successfully created lending record for approved borrow request {}", request.getId());
-
-            } catch (Exception e) { // Catch exceptions from lendingRecordService call
-                 String errorMessage = String.format("Error creating lending record for approved borrow request %d: %s",
-                                                      request.getId(), e.getMessage());
-                 logger.error(errorMessage, e);
-                 // Re-throw as a runtime exception to ensure transaction rollback
-                 throw new RuntimeException(errorMessage, e);
-            }
-        } // End of 'if (newStatus == BorrowRequestStatus.APPROVED)' block
+            createLendingRecordForApproval(request);
+        }
 
         // Update the status of the BorrowRequest
         request.setStatus(newStatus);
         BorrowRequest updatedRequest = borrowRequestRepository.save(request);
 
+        // Notify the requester; the email is queued in this transaction and sent after commit
+        emailService.queueBorrowRequestDecisionEmail(updatedRequest);
+
         // Prepare and return the DTO
         Integer requesterId = (updatedRequest.getRequester() != null) ? updatedRequest.getRequester().getId() : null;
         Integer gameId = (updatedRequest.getRequestedGame() != null) ? updatedRequest.getRequestedGame().getId() : null;
@@ -373,6 +459,86 @@ public class BorrowRequestService {
     } // End of outer try-catch block for the whole method
 }
 
+    /**
+     * Approves or declines several borrow requests at once. The requests are loaded with their
+     * games and owners in one query, which also serves as the authorization check: only requests
+     * whose game instance belongs to the caller are updated. When approving, instance availability
+     * and existing lending records are looked up for the whole batch before the loop. The changed
+     * rows are flushed together at commit, so Hibernate sends them as a JDBC batch.
+     *
+     * @param ids The IDs of the borrow requests to update.
+     * @param newStatus The new status (APPROVED or DECLINED).
+     * @return One result per distinct ID, in request order.
+     * @throws IllegalArgumentException if the status is not APPROVED or DECLINED.
+     * @throws UnauthedException if no user is authenticated.
+     */
+    @Transactional
+    public List<BulkStatusUpdateResultDto> updateBorrowRequestStatuses(List<Integer> ids, BorrowRequestStatus newStatus) {
+        if (newStatus != BorrowRequestStatus.APPROVED && newStatus != BorrowRequestStatus.DECLINED) {
+            throw new IllegalArgumentException("Invalid status.");
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            throw new UnauthedException("User must be authenticated to update borrow requests.");
+        }
+        String currentUsername = authentication.getName();
+
+        Set<Integer> distinctIds = new LinkedHashSet<>(ids);
+        Map<Integer, BorrowRequest> requests = borrowRequestRepository.findByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(BorrowRequest::getId, Function.identity()));
+
+        // One query each for the whole batch instead of several per approved request
+        boolean approving = newStatus == BorrowRequestStatus.APPROVED;
+        Set<Integer> availableGameIds = approving ? findGameIdsWithAvailableInstance(requests.values()) : Set.of();
+        Set<Integer> requestIdsWithRecord = approving
+                ? lendingRecordService.findRequestIdsWithLendingRecord(requests.keySet()) : Set.of();
+
+        List<BulkStatusUpdateResultDto> results = new ArrayList<>(distinctIds.size());
+        for (Integer id : distinctIds) {
+            BorrowRequest request = requests.get(id);
+            if (request == null) {
+                results.add(BulkStatusUpdateResultDto.failed(id, HttpStatus.NOT_FOUND.value(), "No borrow request found with ID " + id));
+                continue;
+            }
+            GameInstance instance = request.getGameInstance();
+            if (instance == null || instance.getOwner() == null || !currentUsername.equals(instance.getOwner().getEmail())) {
+                results.add(BulkStatusUpdateResultDto.failed(id, HttpStatus.FORBIDDEN.value(),
+                        "Access denied: Only the game owner can approve or decline requests."));
+                continue;
+            }
+            try {
+                if (approving) {
+                    GameOwner owner = getApprovalOwner(request);
+                    boolean hasRecord = requestIdsWithRecord.contains(id);
+                    createLendingRecordForApproval(request, availableGameIds.contains(request.getRequestedGame().getId()),
+                            () -> lendingRecordService.createLendingRecord(
+                                    request.getStartDate(), request.getEndDate(), request, owner, hasRecord));
+                }
+            } catch (RuntimeException e) {
+                results.add(BulkStatusUpdateResultDto.failed(id, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+                continue;
+            }
+            // Saved by dirty checking when the transaction commits
+            request.setStatus(newStatus);
+            emailService.queueBorrowRequestDecisionEmail(request);
+            results.add(BulkStatusUpdateResultDto.ok(id, "Borrow request " + newStatus.name().toLowerCase()));
+        }
+        logger.info("Bulk {} of {} borrow requests by {}", newStatus, distinctIds.size(), currentUsername);
+        return results;
+    }
+
+    private Set<Integer> findGameIdsWithAvailableInstance(Collection<BorrowRequest> requests) {
+        Set<Integer> gameIds = requests.stream()
+                .map(BorrowRequest::getRequestedGame)
+                .filter(Objects::nonNull)
+                .map(Game::getId)
+                .collect(Collectors.toSet());
+        if (gameIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(gameInstanceRepository.findGameIdsWithAvailableInstance(gameIds));
+    }
+
 
     /**
      * Deletes a borrow request by its ID.
@@ -411,14 +577,8 @@ public class BorrowRequestService {
     public boolean isGameOwnerOfRequest(int requestId, String username) {
         if (username == null) return false;
         try {
-            BorrowRequest request = borrowRequestRepository.findBorrowRequestById(requestId).orElse(null);
-            Account user = accountRepository.findByEmail(username).orElse(null);
-
-            if (request == null || user == null || request.getGameInstance() == null || request.getGameInstance().getOwner() == null) {
-                return false; // Cannot determine ownership
-            }
-
-            return request.getGameInstance().getOwner().getId() == user.getId();
+            return AuthorizationContext.current().decide("requestGameOwner", requestId, username,
+                    () -> borrowRequestRepository.existsByIdAndGameInstance_Owner_Email(requestId, username));
         } catch (Exception e) {
             logger.error("Error during isGameOwnerOfRequest check for request {}: {}", requestId, e.getMessage());
             return false; // Deny on error
@@ -432,23 +592,10 @@ public class BorrowRequestService {
     public boolean isOwnerOrRequesterOfRequest(int requestId, String username) {
         if (username == null) return false;
         try {
-            BorrowRequest request = borrowRequestRepository.findBorrowRequestById(requestId).orElse(null);
-            Account user = accountRepository.findByEmail(username).orElse(null);
-
-            if (request == null || user == null) {
-                return false; // Cannot determine relationship
-            }
-
-            // Check if user is the requester
-            boolean isRequester = request.getRequester() != null && request.getRequester().getId() == user.getId();
-            if (isRequester) return true;
-
-            // Check if user is the game instance owner
-            boolean isGameInstanceOwner = request.getGameInstance() != null && 
-                                  request.getGameInstance().getOwner() != null &&
-                                  request.getGameInstance().getOwner().getId() == user.getId();
-            
-            return isGameInstanceOwner;
+            // Check if user is the requester, then if user is the game instance owner
+            return AuthorizationContext.current().decide("requestRequester", requestId, username,
+                    () -> borrowRequestRepository.existsByIdAndRequester_Email(requestId, username))
+                    || isGameOwnerOfRequest(requestId, username);
         } catch (Exception e) {
             logger.error("Error during isOwnerOrRequesterOfRequest check for request {}: {}", requestId, e.getMessage());
             return false; // Deny on error
@@ -461,43 +608,45 @@ public class BorrowRequestService {
      * @param ownerId The ID of the game instance owner
      * @return List of borrow request DTOs associated with the specified game instance owner
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<BorrowRequestDto> getBorrowRequestsByOwnerId(int ownerId) {
-        // Find all game instances owned by this owner
-        List<GameInstance> ownedInstances = gameInstanceRepository.findByOwnerId(ownerId);
-        
-        // Get IDs of owned instances
-        List<Integer> ownedInstanceIds = ownedInstances.stream()
-            .map(GameInstance::getId)
-            .collect(Collectors.toList());
-            
-        // Get all borrow requests
-        List<BorrowRequest> allRequests = borrowRequestRepository.findAll();
-        
-        // Filter requests for owned instances
-        List<BorrowRequest> ownerRequests = allRequests.stream()
-            .filter(request -> request.getGameInstance() != null && 
-                ownedInstanceIds.contains(request.getGameInstance().getId()))
-            .collect(Collectors.toList());
-
-        return ownerRequests.stream()
-                .map(request -> {
-                    Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
-                    Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
-                    Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
-                    return new BorrowRequestDto(
-                            request.getId(),
-                            requesterId,
-                            gameId,
-                            instanceId != null ? instanceId : 0,
-                            request.getStartDate(),
-                            request.getEndDate(),
-                            request.getStatus().name(),
-                            request.getRequestDate()
-                    );
-                })
+        return borrowRequestRepository.findByGameInstance_Owner_Id(ownerId).stream()
+                .map(this::toBorrowRequestDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Retrieves one page of the borrow requests received by a game instance owner,
+     * optionally restricted to a single status.
+     *
+     * @param ownerId The ID of the game instance owner
+     * @param status The status to filter by, or null for all statuses
+     * @param pageable The page, size and sort to apply
+     * @return Page of borrow request DTOs for the owner's game instances
+     */
+    @Transactional(readOnly = true)
+    public Page<BorrowRequestDto> getOwnerInbox(int ownerId, BorrowRequestStatus status, Pageable pageable) {
+        Page<BorrowRequest> requests = (status == null)
+                ? borrowRequestRepository.findByGameInstance_Owner_Id(ownerId, pageable)
+                : borrowRequestRepository.findByGameInstance_Owner_IdAndStatus(ownerId, status, pageable);
+        return requests.map(this::toBorrowRequestDto);
+    }
+
+    private BorrowRequestDto toBorrowRequestDto(BorrowRequest request) {
+        int requesterId = (request.getRequester() != null) ? request.getRequester().getId() : 0;
+        int gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : 0;
+        int instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : 0;
+        return new BorrowRequestDto(
+                request.getId(),
+                requesterId,
+                gameId,
+                instanceId,
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getStatus().name(),
+                request.getRequestDate()
+        );
+    }
     
     /**
      * Checks if the given username is the requester for a specific borrow request
@@ -593,16 +742,9 @@ public class BorrowRequestService {
      * @return true if the game is available, false otherwise
      */
     private boolean isGameAvailableForPeriod(int gameId, Date startDate, Date endDate, int excludeRequestId) {
-        // Get all approved borrow requests for this game that overlap with the period
-        List<BorrowRequest> overlappingRequests = borrowRequestRepository
-            .findOverlappingApprovedRequestsForGame(gameId, startDate, endDate);
-        
-        // Exclude the current request being updated
-        overlappingRequests = overlappingRequests.stream()
-            .filter(request -> request.getId() != excludeRequestId)
-            .collect(Collectors.toList());
-        
-        // If there are any overlapping requests, the game is not available
-        return overlappingRequests.isEmpty();
+        // Probe for any other approved request on this game that overlaps the period
+        return !borrowRequestRepository
+            .existsByRequestedGame_IdAndStatusAndIdNotAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                gameId, BorrowRequestStatus.APPROVED, excludeRequestId, endDate, startDate);
     }
 }
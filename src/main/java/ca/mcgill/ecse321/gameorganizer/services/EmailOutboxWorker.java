@@ -0,0 +1,260 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailJob;
+import ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.EmailJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Delivers the emails queued in the outbox. Each run claims a batch of due jobs and splits
+ * it across a bounded pool of virtual-thread workers; every worker sends its share in a
+ * single {@link JavaMailSender#send(MimeMessage...)} call, which reuses one SMTP connection
+ * for all of its messages. Failed jobs are retried with exponential backoff until they run
+ * out of attempts and are marked DEAD.
+ * <p>
+ * Publishes the counters email.outbox.sent, email.outbox.retried and email.outbox.dead,
+ * the email.outbox.send timer per SMTP batch and the email.outbox.pending gauge.
+ */
+@Component
+public class EmailOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+    private final EmailJobRepository emailJobRepository;
+    private final JavaMailSender mailSender;
+    private final Environment environment;
+    private final int workerCount;
+    private final ExecutorService workers;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.send.in.dev:false}")
+    private boolean sendEmailInDev;
+
+    @Value("${email.outbox.poll-enabled:true}")
+    private boolean pollEnabled;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMillis;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMillis;
+
+    @Value("${email.outbox.lease-ms:300000}")
+    private long leaseMillis;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Timer sendTimer;
+    private final AtomicLong pending = new AtomicLong();
+
+    public EmailOutboxWorker(EmailJobRepository emailJobRepository, JavaMailSender mailSender,
+                             Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${email.outbox.worker-count:4}") int workerCount) {
+        this.emailJobRepository = emailJobRepository;
+        this.mailSender = mailSender;
+        this.environment = environment;
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                Thread.ofVirtual().name("email-outbox-", 0).factory());
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.sentCounter = registry.counter("email.outbox.sent");
+        this.retriedCounter = registry.counter("email.outbox.retried");
+        this.deadCounter = registry.counter("email.outbox.dead");
+        this.sendTimer = registry.timer("email.outbox.send");
+        registry.gauge("email.outbox.pending", pending);
+    }
+
+    /**
+     * Drains the outbox on a fixed delay. Disabled with email.outbox.poll-enabled=false.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        if (!pollEnabled) {
+            return;
+        }
+        try {
+            drain();
+        } catch (Exception e) {
+            // A failed run is retried on the next poll
+            log.error("Email outbox run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Claims one batch of due jobs and sends it, waiting for all workers to finish.
+     *
+     * @return the number of jobs claimed in this run
+     */
+    public int drain() {
+        Date now = new Date();
+        Date leaseUntil = new Date(now.getTime() + leaseMillis);
+        List<EmailJob> claimed = new ArrayList<>();
+        for (EmailJob job : emailJobRepository.findDue(now, PageRequest.of(0, batchSize))) {
+            if (emailJobRepository.claim(job.getId(), now, leaseUntil) == 1) {
+                job.setStatus(EmailJobStatus.SENDING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setNextAttemptAt(leaseUntil);
+                claimed.add(job);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            // Split the batch evenly so every worker opens at most one SMTP connection
+            int chunkSize = (claimed.size() + workerCount - 1) / workerCount;
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int start = 0; start < claimed.size(); start += chunkSize) {
+                List<EmailJob> chunk = claimed.subList(start, Math.min(start + chunkSize, claimed.size()));
+                tasks.add(() -> {
+                    sendChunk(chunk);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> result : workers.invokeAll(tasks)) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("Email outbox worker failed: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        pending.set(emailJobRepository.countByStatus(EmailJobStatus.PENDING));
+        return claimed.size();
+    }
+
+    private void sendChunk(List<EmailJob> jobs) {
+        Map<MimeMessage, EmailJob> messages = new IdentityHashMap<>();
+        for (EmailJob job : jobs) {
+            try {
+                messages.put(toMimeMessage(job), job);
+            } catch (MessagingException e) {
+                markFailed(job, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        boolean isDevMode = Arrays.asList(environment.getActiveProfiles()).contains("dev");
+        if (isDevMode && !sendEmailInDev) {
+            for (EmailJob job : messages.values()) {
+                log.info("DEV MODE: Not sending email '{}' to {}", job.getSubject(), job.getRecipient());
+                markSent(job);
+            }
+            return;
+        }
+
+        try {
+            sendTimer.record(() -> mailSender.send(messages.keySet().toArray(new MimeMessage[0])));
+            messages.values().forEach(this::markSent);
+        } catch (MailSendException e) {
+            // Messages missing from the failed map were accepted by the server
+            Map<Object, Exception> failed = e.getFailedMessages();
+            messages.forEach((message, job) -> {
+                Exception failure = failed.get(message);
+                if (failure == null && !failed.isEmpty()) {
+                    markSent(job);
+                } else {
+                    markFailed(job, failure != null ? failure : e);
+                }
+            });
+        } catch (Exception e) {
+            // Connection or authentication failures affect the whole chunk
+            messages.values().forEach(job -> markFailed(job, e));
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailJob job) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(job.getRecipient());
+        helper.setSubject(job.getSubject());
+        helper.setText(job.getBody(), true); // true indicates HTML content
+        return message;
+    }
+
+    private void markSent(EmailJob job) {
+        job.setStatus(EmailJobStatus.SENT);
+        job.setSentAt(new Date());
+        job.setLastError(null);
+        emailJobRepository.save(job);
+        sentCounter.increment();
+        log.info("Email '{}' sent to {}", job.getSubject(), job.getRecipient());
+    }
+
+    private void markFailed(EmailJob job, Exception error) {
+        String message = String.valueOf(error.getMessage());
+        job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(EmailJobStatus.DEAD);
+            deadCounter.increment();
+            log.error("Email '{}' to {} failed after {} attempts, giving up: {}",
+                    job.getSubject(), job.getRecipient(), job.getAttempts(), message);
+        } else {
+            job.setStatus(EmailJobStatus.PENDING);
+            job.setNextAttemptAt(new Date(System.currentTimeMillis() + backoffMillis(job.getAttempts())));
+            retriedCounter.increment();
+            log.warn("Email '{}' to {} failed on attempt {}, retrying at {}: {}",
+                    job.getSubject(), job.getRecipient(), job.getAttempts(), job.getNextAttemptAt(), message);
+        }
+        emailJobRepository.save(job);
+    }
+
+    /**
+     * Returns the delay before the next attempt: the initial backoff doubled for every
+     * attempt already made, capped at the maximum backoff.
+     */
+    long backoffMillis(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialBackoffMillis << doublings, maxBackoffMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -5,18 +5,34 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.core.env.Environment;
 
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.EmailJob;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.repositories.EmailJobRepository;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Service for handling email-related functionality.
+ * Email bodies are rendered from the precompiled templates in {@link EmailTemplates}.
  */
 @Service
 public class EmailService {
@@ -38,8 +54,42 @@ public class EmailService {
     @Value("${email.send.in.dev:false}")
     private boolean sendEmailInDev;
 
+    @Autowired
+    private EmailJobRepository emailJobRepository;
+
+    @Autowired
+    private EmailTemplates emailTemplates;
+
+    private static final String PASSWORD_RESET_SUBJECT = "BoardGameConnect - Reset Your Password";
+    private static final String BORROW_REQUEST_APPROVED_SUBJECT = "BoardGameConnect - Borrow Request Approved";
+    private static final String BORROW_REQUEST_DECLINED_SUBJECT = "BoardGameConnect - Borrow Request Declined";
+    private static final String OVERDUE_REMINDER_SUBJECT = "BoardGameConnect - Game Return Overdue";
+    private static final String EVENT_REMINDER_SUBJECT = "BoardGameConnect - Upcoming Event Reminder";
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.CANADA).withZone(ZoneId.systemDefault());
+
+    /**
+     * Queues a password reset email in the outbox. The job is saved in the caller's transaction,
+     * so it is only delivered if the reset token is committed, and the caller does not wait
+     * for the mail server; {@link EmailOutboxWorker} sends it shortly after.
+     *
+     * @param toEmail The recipient's email address
+     * @param token The password reset token
+     * @param username The user's name/username for personalization
+     * @return The queued job
+     */
+    @Transactional
+    public EmailJob queuePasswordResetEmail(String toEmail, String token, String username) {
+        return queue(toEmail, PASSWORD_RESET_SUBJECT, EmailTemplates.PASSWORD_RESET, Map.of(
+                "username", username != null ? username : "there",
+                "resetUrl", resetUrl(token)));
+    }
+
     /**
      * Sends a password reset email to the user with a reset link.
+     * Sends synchronously on the calling thread; regular password resets go through
+     * {@link #queuePasswordResetEmail(String, String, String)} instead.
      *
      * @param toEmail The recipient's email address
      * @param token The password reset token
@@ -47,35 +97,16 @@ public class EmailService {
      * @throws MessagingException If there's an error sending the email
      */
     public void sendPasswordResetEmail(String toEmail, String token, String username) throws MessagingException {
-        String resetUrl = frontendUrl + "/reset-password?token=" + token;
-        
-        String htmlContent = 
-            "<div style='font-family: Arial, sans-serif; max-width: 600px; margin: 0 auto; padding: 20px; border: 1px solid #e0e0e0; border-radius: 5px;'>" +
-            "   <div style='text-align: center; margin-bottom: 20px;'>" +
-            "       <h1 style='color: #333;'>Password Reset Request</h1>" +
-            "   </div>" +
-            "   <div style='color: #555; line-height: 1.5;'>" +
-            "       <p>Hello " + (username != null ? username : "there") + ",</p>" +
-            "       <p>We received a request to reset your password for your BoardGameConnect account. Click the button below to set a new password:</p>" +
-            "       <div style='text-align: center; margin: 30px 0;'>" +
-            "           <a href='" + resetUrl + "' style='background-color: #4a56e2; color: white; padding: 12px 25px; text-decoration: none; border-radius: 4px; font-weight: bold;'>Reset Password</a>" +
-            "       </div>" +
-            "       <p>If the button doesn't work, copy and paste this link into your browser:</p>" +
-            "       <p style='word-break: break-all;'><a href='" + resetUrl + "'>" + resetUrl + "</a></p>" +
-            "       <p>If you did not request a password reset, please ignore this email or contact support if you have concerns.</p>" +
-            "       <p>This link will expire in 30 minutes for security reasons.</p>" +
-            "       <p><strong>Note:</strong> This email might be delivered to your spam folder. Please check there if you don't see it in your inbox.</p>" +
-            "       <p>Regards,<br>The BoardGameConnect Team</p>" +
-            "   </div>" +
-            "</div>";
-            
+        String resetUrl = resetUrl(token);
+        String htmlContent = buildPasswordResetHtml(token, username);
+
         // Use traditional SMTP with credentials from environment variables
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
         
         helper.setFrom(fromEmail);
         helper.setTo(toEmail);
-        helper.setSubject("BoardGameConnect - Reset Your Password");
+        helper.setSubject(PASSWORD_RESET_SUBJECT);
         helper.setText(htmlContent, true); // true indicates HTML content
         
         try {
@@ -112,4 +143,106 @@ public class EmailService {
                 ". Please check your mail server configuration or use the development endpoints.", e);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Queues the email telling a requester that their borrow request was approved or declined.
+     *
+     * @param request The borrow request whose status was just decided
+     * @return The queued job, or null if the request has no requester email or is still pending
+     */
+    @Transactional
+    public EmailJob queueBorrowRequestDecisionEmail(BorrowRequest request) {
+        Account requester = request.getRequester();
+        if (requester == null || requester.getEmail() == null) {
+            return null;
+        }
+        String template;
+        String subject;
+        if (request.getStatus() == BorrowRequestStatus.APPROVED) {
+            template = EmailTemplates.BORROW_REQUEST_APPROVED;
+            subject = BORROW_REQUEST_APPROVED_SUBJECT;
+        } else if (request.getStatus() == BorrowRequestStatus.DECLINED) {
+            template = EmailTemplates.BORROW_REQUEST_DECLINED;
+            subject = BORROW_REQUEST_DECLINED_SUBJECT;
+        } else {
+            return null;
+        }
+        Game game = request.getRequestedGame();
+        // The copy being lent may belong to someone other than the owner of the game's catalogue entry
+        Account owner = request.getGameInstance() != null ? request.getGameInstance().getOwner() : null;
+        return queue(requester.getEmail(), subject, template, Map.of(
+                "username", displayName(requester),
+                "ownerName", owner != null ? displayName(owner) : "the owner",
+                "gameName", game != null ? game.getName() : "the game",
+                "startDate", formatDate(request.getStartDate()),
+                "endDate", formatDate(request.getEndDate()),
+                "requestsUrl", frontendUrl + "/dashboard"));
+    }
+
+    /**
+     * Queues a reminder to a borrower whose lending record is past its end date.
+     *
+     * @param record The overdue lending record
+     * @return The queued job, or null if the record has no borrower email
+     */
+    @Transactional
+    public EmailJob queueOverdueReminderEmail(LendingRecord record) {
+        BorrowRequest request = record.getRequest();
+        Account borrower = request != null ? request.getRequester() : null;
+        if (borrower == null || borrower.getEmail() == null) {
+            return null;
+        }
+        Game game = request.getRequestedGame();
+        return queue(borrower.getEmail(), OVERDUE_REMINDER_SUBJECT, EmailTemplates.OVERDUE_REMINDER, Map.of(
+                "username", displayName(borrower),
+                "ownerName", record.getRecordOwner() != null ? displayName(record.getRecordOwner()) : "the owner",
+                "gameName", game != null ? game.getName() : "the game",
+                "endDate", formatDate(record.getEndDate()),
+                "requestsUrl", frontendUrl + "/dashboard"));
+    }
+
+    /**
+     * Queues a reminder to an attendee that an event they registered for is coming up.
+     *
+     * @param event The upcoming event
+     * @param attendee The registered attendee
+     * @return The queued job, or null if the attendee has no email
+     */
+    @Transactional
+    public EmailJob queueEventReminderEmail(Event event, Account attendee) {
+        if (attendee == null || attendee.getEmail() == null) {
+            return null;
+        }
+        return queue(attendee.getEmail(), EVENT_REMINDER_SUBJECT, EmailTemplates.EVENT_REMINDER, Map.of(
+                "username", displayName(attendee),
+                "eventTitle", event.getTitle() != null ? event.getTitle() : "Your event",
+                "eventDate", formatDate(event.getDateTime()),
+                "location", event.getLocation() != null ? event.getLocation() : "the announced location",
+                "eventUrl", frontendUrl + "/events"));
+    }
+
+    private EmailJob queue(String toEmail, String subject, String template, Map<String, ?> model) {
+        EmailJob job = emailJobRepository.save(new EmailJob(toEmail, subject, emailTemplates.render(template, model)));
+        log.info("Queued {} email {} for: {}", template, job.getId(), toEmail);
+        return job;
+    }
+
+    private String resetUrl(String token) {
+        return frontendUrl + "/reset-password?token=" + token;
+    }
+
+    private String buildPasswordResetHtml(String token, String username) {
+        return emailTemplates.render(EmailTemplates.PASSWORD_RESET, Map.of(
+                "username", username != null ? username : "there",
+                "resetUrl", resetUrl(token)));
+    }
+
+    private static String displayName(Account account) {
+        return account.getName() != null ? account.getName() : "there";
+    }
+
+    private static String formatDate(Date date) {
+        // java.sql.Date does not support toInstant()
+        return date != null ? DATE_FORMAT.format(Instant.ofEpochMilli(date.getTime())) : "an unspecified date";
+    }
+}
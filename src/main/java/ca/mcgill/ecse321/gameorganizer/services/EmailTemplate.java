@@ -0,0 +1,110 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An HTML email template compiled once into alternating literal segments and variable slots.
+ * Placeholders are written as {@code {{name}}}; their values are HTML-escaped while rendering,
+ * directly into a single pre-sized buffer, so rendering allocates only the resulting string.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private EmailTemplate(String name, String[] literals, String[] variables) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a template source.
+     *
+     * @param name the template name, used in error messages
+     * @param source the template text
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is unterminated or empty
+     */
+    public static EmailTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder in email template '" + name + "' at offset " + open);
+            }
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            if (variable.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder in email template '" + name + "' at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + CLOSE.length();
+        }
+        return new EmailTemplate(name, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * Renders the template with the given values, HTML-escaping each of them.
+     *
+     * @param model the placeholder values by name; values are converted with {@code toString()}
+     * @return the rendered HTML
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String render(Map<String, ?> model) {
+        StringBuilder html = new StringBuilder(literalLength + 32 * variables.length);
+        html.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            Object value = model.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for '" + variables[i] + "' in email template '" + name + "'");
+            }
+            appendEscaped(html, value.toString());
+            html.append(literals[i + 1]);
+        }
+        return html.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static void appendEscaped(StringBuilder html, String value) {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                html.append(value, start, i).append(replacement);
+                start = i + 1;
+            }
+        }
+        html.append(value, start, value.length());
+    }
+}
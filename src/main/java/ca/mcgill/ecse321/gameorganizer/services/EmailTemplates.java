@@ -0,0 +1,72 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads and compiles the HTML email templates under {@code classpath:email-templates/} once at
+ * startup. A missing or malformed template fails application startup rather than the first send.
+ */
+@Component
+public class EmailTemplates {
+
+    public static final String PASSWORD_RESET = "password-reset";
+    public static final String BORROW_REQUEST_APPROVED = "borrow-request-approved";
+    public static final String BORROW_REQUEST_DECLINED = "borrow-request-declined";
+    public static final String OVERDUE_REMINDER = "overdue-reminder";
+    public static final String EVENT_REMINDER = "event-reminder";
+
+    private static final String LOCATION = "classpath:email-templates/";
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    public EmailTemplates(ResourceLoader resourceLoader) {
+        for (String name : new String[] {
+                PASSWORD_RESET, BORROW_REQUEST_APPROVED, BORROW_REQUEST_DECLINED, OVERDUE_REMINDER, EVENT_REMINDER }) {
+            templates.put(name, EmailTemplate.compile(name, load(resourceLoader.getResource(LOCATION + name + ".html"))));
+        }
+    }
+
+    /**
+     * Renders the named template.
+     *
+     * @param name one of the template name constants
+     * @param model the placeholder values by name
+     * @return the rendered HTML
+     * @throws IllegalArgumentException if the template does not exist or a placeholder has no value
+     */
+    public String render(String name, Map<String, ?> model) {
+        return get(name).render(model);
+    }
+
+    /**
+     * Returns the compiled template with the given name.
+     *
+     * @param name one of the template name constants
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template does not exist
+     */
+    public EmailTemplate get(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template '" + name + "'");
+        }
+        return template;
+    }
+
+    private static String load(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email template " + resource.getDescription(), e);
+        }
+    }
+}
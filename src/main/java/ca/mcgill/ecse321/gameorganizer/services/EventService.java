@@ -7,12 +7,16 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateEventRequest;
+import ca.mcgill.ecse321.gameorganizer.dto.request.UpcomingEventSearchCriteria;
+import ca.mcgill.ecse321.gameorganizer.dto.response.EventPageResponse;
+import ca.mcgill.ecse321.gameorganizer.dto.response.EventResponse;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
@@ -24,12 +28,19 @@ import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.security.AuthorizationContext;
 
 @Service
 public class EventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
 
+    /** Page size used by findUpcomingEvents when the caller does not specify one */
+    static final int DEFAULT_UPCOMING_PAGE_SIZE = 20;
+
+    /** Upper bound on the page size accepted by findUpcomingEvents */
+    static final int MAX_UPCOMING_PAGE_SIZE = 100;
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -44,15 +55,19 @@ public class EventService {
 
     private final RegistrationRepository registrationRepository; // Added repository
 
+    private final RegistrationService registrationService;
+
     @Autowired
     public EventService(EventRepository eventRepository, AccountRepository accountRepository,
                         GameRepository gameRepository, GameInstanceRepository gameInstanceRepository,
-                        RegistrationRepository registrationRepository) { // Added to constructor
+                        RegistrationRepository registrationRepository, // Added to constructor
+                        RegistrationService registrationService) {
         this.eventRepository = eventRepository;
         this.accountRepository = accountRepository;
         this.gameRepository = gameRepository;
         this.gameInstanceRepository = gameInstanceRepository;
         this.registrationRepository = registrationRepository; // Assign repository
+        this.registrationService = registrationService;
     }
 
 
@@ -151,13 +166,20 @@ public class EventService {
                  logger.debug("DEBUG SERVICE: Updating description to: {}", description);
                 event.setDescription(description);
             }
+            boolean seatsAdded = maxParticipants > event.getMaxParticipants();
             if (maxParticipants > 0) { // Only update if a valid number is provided
                  logger.debug("DEBUG SERVICE: Updating maxParticipants to: {}", maxParticipants);
                 event.setMaxParticipants(maxParticipants);
             }
             
             logger.debug("DEBUG SERVICE: Saving updated event with ID: {}", event.getId());
-            return eventRepository.save(event);
+            Event savedEvent = eventRepository.save(event);
+            // New seats go to the waitlist first
+            if (seatsAdded && registrationService.fillFreeSeatsFromWaitlist(savedEvent) > 0) {
+                // Re-read the participant count, which only the seat updates write
+                return eventRepository.findEventById(id).orElse(savedEvent);
+            }
+            return savedEvent;
         } catch (IllegalArgumentException e) {
              logger.error("ERROR SERVICE: Invalid argument updating event {}: {}", id, e.getMessage());
              throw e;
@@ -171,9 +193,15 @@ public class EventService {
     @Transactional(readOnly = true)
     public boolean isHost(UUID eventId, String username) {
         logger.debug("DEBUG SERVICE: Checking if user {} is host of event {}", username, eventId);
-        Event event = eventRepository.findEventById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Event with id " + eventId + " not found for authorization check."));
-        boolean isHost = event.getHost() != null && event.getHost().getEmail().equals(username);
+        boolean isHost = AuthorizationContext.current().decide("host", eventId, username, () -> {
+            if (username != null && eventRepository.existsByIdAndHost_Email(eventId, username)) {
+                return true;
+            }
+            if (!eventRepository.existsById(eventId)) {
+                throw new IllegalArgumentException("Event with id " + eventId + " not found for authorization check.");
+            }
+            return false;
+        });
         logger.debug("DEBUG SERVICE: Is host check result: {}", isHost);
         return isHost;
     }
@@ -217,6 +245,62 @@ public class EventService {
         return events;
     }
 
+    /**
+     * Finds upcoming events in a time window, earliest first, one keyset page at a time.
+     * Events that have already started are never returned, whatever the requested window.
+     * To get the next page, pass the nextAfterTime and nextAfterId of the previous response
+     * as afterTime and afterId.
+     *
+     * @param criteria the window, filters, cursor and page size; null fields are ignored
+     * @return the page of events and the cursor for the next page
+     * @throws IllegalArgumentException if the window, cursor or page size is invalid
+     */
+    @Transactional(readOnly = true)
+    public EventPageResponse findUpcomingEvents(UpcomingEventSearchCriteria criteria) {
+        Date now = new Date();
+        Date start = criteria.getFrom() != null && criteria.getFrom().after(now) ? criteria.getFrom() : now;
+        Date end = criteria.getTo();
+        if (end != null && !end.after(start)) {
+            throw new IllegalArgumentException("End of the window must be after its start");
+        }
+        if ((criteria.getAfterTime() == null) != (criteria.getAfterId() == null)) {
+            throw new IllegalArgumentException("afterTime and afterId must be given together");
+        }
+        int size = criteria.getSize() != null ? criteria.getSize() : DEFAULT_UPCOMING_PAGE_SIZE;
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        size = Math.min(size, MAX_UPCOMING_PAGE_SIZE);
+
+        // A cursor older than the window start is already behind it, so only a later one moves the start
+        UUID afterId = null;
+        if (criteria.getAfterTime() != null && !criteria.getAfterTime().before(start)) {
+            start = criteria.getAfterTime();
+            afterId = criteria.getAfterId();
+        }
+        String location = criteria.getLocation() == null || criteria.getLocation().trim().isEmpty() ? null
+                : "%" + escapeLike(criteria.getLocation().trim().toLowerCase()) + "%";
+
+        // Fetch one extra row to learn whether another page follows without a count query
+        List<Event> events = eventRepository.findUpcoming(start, end, afterId, location, criteria.getGameId(),
+                criteria.getPlayers(), criteria.getMinSeats(), PageRequest.of(0, size + 1));
+        boolean hasNext = events.size() > size;
+        if (hasNext) {
+            events = events.subList(0, size);
+        }
+        List<EventResponse> responses = events.stream().map(EventResponse::new).toList();
+        logger.debug("DEBUG SERVICE: Found {} upcoming events from {}", responses.size(), start);
+        if (!hasNext) {
+            return new EventPageResponse(responses, null, null);
+        }
+        Event last = events.get(events.size() - 1);
+        return new EventPageResponse(responses, last.getDateTime(), last.getId());
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     // --- Update other find methods similarly if they involve date comparisons ---
     // Example: findEventsByDateRange (if you add it) would also use java.util.Date
 
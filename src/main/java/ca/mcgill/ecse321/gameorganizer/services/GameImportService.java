@@ -0,0 +1,301 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameImportResultDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
+import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+
+/**
+ * Imports a game catalog for the authenticated game owner from CSV or NDJSON.
+ * <p>
+ * The body is read one line at a time and rows are written in batches of
+ * games.import.batch-size, each batch in its own transaction through
+ * {@link GameService#saveImportedGames}. Only the current batch is held in memory, and
+ * duplicates are detected per batch: names repeated within the batch are dropped here, and
+ * names the owner already uses, including games from earlier batches, are skipped by the
+ * database check in the batch transaction. A failed batch does not undo earlier ones.
+ * <p>
+ * CSV files start with a header naming the columns; {@code name}, {@code minPlayers} and
+ * {@code maxPlayers} are required, and every row must give a name and both player counts.
+ * The other recognised columns match the fields of {@link GameCreationDto}. NDJSON files
+ * hold one GameCreationDto object per line, with the same required fields.
+ */
+@Service
+public class GameImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameImportService.class);
+
+    /** Row errors listed in the result; further errors are only counted */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Formats accepted by {@link #importGames}.
+     */
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final GameService gameService;
+    private final AccountRepository accountRepository;
+    private final ObjectReader rowReader;
+
+    @Value("${games.import.batch-size:200}")
+    private int batchSize;
+
+    public GameImportService(GameService gameService, AccountRepository accountRepository, ObjectMapper objectMapper) {
+        this.gameService = gameService;
+        this.accountRepository = accountRepository;
+        this.rowReader = objectMapper.readerFor(GameCreationDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Imports games, each with an initial instance, for the authenticated game owner.
+     *
+     * @param body the file contents, read incrementally
+     * @param format the file format
+     * @return a summary of the import
+     * @throws IOException if the body cannot be read
+     * @throws IllegalArgumentException if the CSV header is missing or lacks the name or player count columns
+     * @throws UnauthedException if the authenticated account no longer exists
+     * @throws ForbiddenException if the authenticated account is not a game owner
+     */
+    @PreAuthorize("hasAuthority('ROLE_GAME_OWNER')")
+    public GameImportResultDto importGames(InputStream body, Format format) throws IOException {
+        GameOwner owner = authenticatedOwner();
+        GameImportResultDto result = new GameImportResultDto();
+        Batch batch = new Batch();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+                result.setRowsRead(result.getRowsRead() + 1);
+
+                GameCreationDto row;
+                try {
+                    row = format == Format.CSV ? parseCsvRow(line, columns) : parseJsonRow(line);
+                    validate(row);
+                } catch (IllegalArgumentException e) {
+                    recordError(result, lineNumber, e.getMessage());
+                    continue;
+                }
+
+                if (!batch.names.add(row.getName().toLowerCase(Locale.ROOT))) {
+                    result.setDuplicates(result.getDuplicates() + 1);
+                    continue;
+                }
+                if (batch.rows.isEmpty()) {
+                    batch.firstLine = lineNumber;
+                }
+                batch.rows.add(row);
+                if (batch.rows.size() >= batchSize) {
+                    writeBatch(owner, batch, result);
+                }
+            }
+            if (format == Format.CSV && columns == null) {
+                throw new IllegalArgumentException("CSV file must start with a header row");
+            }
+        }
+        writeBatch(owner, batch, result);
+
+        log.info("Game import for {} finished: {} rows, {} imported, {} duplicates, {} failed",
+                owner.getEmail(), result.getRowsRead(), result.getImported(), result.getDuplicates(), result.getFailed());
+        return result;
+    }
+
+    private void writeBatch(GameOwner owner, Batch batch, GameImportResultDto result) {
+        if (batch.rows.isEmpty()) {
+            return;
+        }
+        try {
+            int imported = gameService.saveImportedGames(owner, List.copyOf(batch.rows));
+            result.setImported(result.getImported() + imported);
+            result.setDuplicates(result.getDuplicates() + batch.rows.size() - imported);
+            result.setBatches(result.getBatches() + 1);
+            log.info("Game import for {}: batch {} committed, {} of {} rows imported so far",
+                    owner.getEmail(), result.getBatches(), result.getImported(), result.getRowsRead());
+        } catch (RuntimeException e) {
+            log.error("Game import batch starting at line {} failed: {}", batch.firstLine, e.getMessage(), e);
+            // recordError counts one row, the rest of the batch is counted here
+            result.setFailed(result.getFailed() + batch.rows.size() - 1);
+            recordError(result, batch.firstLine,
+                    "Batch of " + batch.rows.size() + " rows starting at this line failed: " + e.getMessage());
+        }
+        batch.rows.clear();
+        batch.names.clear();
+    }
+
+    private GameOwner authenticatedOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Account account = accountRepository.findByEmail(authentication.getName())
+            .orElseThrow(() -> new UnauthedException("Authenticated user account not found in database."));
+        if (!(account instanceof GameOwner)) {
+            throw new ForbiddenException("Only game owners can import games");
+        }
+        return (GameOwner) account;
+    }
+
+    private static void recordError(GameImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new GameImportResultDto.RowError(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static void validate(GameCreationDto row) {
+        if (row.getName() == null || row.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Game name cannot be empty");
+        }
+        row.setName(row.getName().trim());
+        // A missing player count reads as 0
+        if (row.getMinPlayers() < 1) {
+            throw new IllegalArgumentException("Minimum players is required and must be at least 1");
+        }
+        if (row.getMaxPlayers() < row.getMinPlayers()) {
+            throw new IllegalArgumentException("Maximum players cannot be less than minimum players");
+        }
+    }
+
+    private GameCreationDto parseJsonRow(String line) {
+        try {
+            return rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> names = parseCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "minplayers", "maxplayers")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must include name, minPlayers and maxPlayers columns");
+            }
+        }
+        return columns;
+    }
+
+    private static GameCreationDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = parseCsvLine(line);
+        GameCreationDto row = new GameCreationDto();
+        row.setName(field(fields, columns, "name"));
+        row.setMinPlayers(intField(fields, columns, "minplayers"));
+        row.setMaxPlayers(intField(fields, columns, "maxplayers"));
+        row.setImage(field(fields, columns, "image"));
+        row.setCategory(field(fields, columns, "category"));
+        row.setDescription(field(fields, columns, "description"));
+        row.setCondition(field(fields, columns, "condition"));
+        row.setLocation(field(fields, columns, "location"));
+        row.setInstanceName(field(fields, columns, "instancename"));
+        return row;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static int intField(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = field(fields, columns, column);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + column + ": " + value);
+        }
+    }
+
+    /**
+     * Splits one CSV line into fields. Fields may be quoted, with {@code ""} standing for a
+     * quote inside a quoted field; quoted fields cannot span lines.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /** Rows of the batch being filled, with their lower-cased names */
+    private static final class Batch {
+        private final List<GameCreationDto> rows = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+        private long firstLine;
+    }
+}
@@ -1,15 +1,25 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger; // Added Logger import
 import org.slf4j.LoggerFactory; // Added LoggerFactory import
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -39,9 +49,11 @@ import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository; //
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameSpecifications;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository; // Import added
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.security.AuthorizationContext;
 
 
 /**
@@ -56,6 +68,12 @@ public class GameService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameService.class); // Added logger
 
+    /** Page size used by searchGames when the caller does not specify one */
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+
+    /** Upper bound on the page size accepted by searchGames */
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private GameRepository gameRepository;
     private ReviewRepository reviewRepository;
     private AccountRepository accountRepository;
@@ -138,6 +156,7 @@ public class GameService {
             review.setGameReviewed(reviewedGame);
 
             reviewRepository.save(review);
+            gameRepository.adjustRatingAggregate(gameId, rating, 1);
             return new ReviewResponseDto(review);
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -208,6 +227,43 @@ public class GameService {
         return new GameResponseDto(game);
     }
 
+    /**
+     * Saves one batch of imported games, each with its initial instance, in a single transaction.
+     * Rows whose name the owner already uses (ignoring case) are skipped, so re-running an
+     * import does not create duplicates.
+     *
+     * @param owner The owner of the imported games
+     * @param rows Validated rows with distinct names
+     * @return The number of games created
+     */
+    @Transactional
+    public int saveImportedGames(GameOwner owner, List<GameCreationDto> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Set<String> existingNames = new HashSet<>(gameRepository.findLowerCaseNamesByOwnerIdAndNameIn(owner.getId(),
+                rows.stream().map(row -> row.getName().toLowerCase(Locale.ROOT)).toList()));
+
+        Date now = new Date();
+        List<Game> games = new ArrayList<>(rows.size());
+        List<GameInstance> instances = new ArrayList<>(rows.size());
+        for (GameCreationDto row : rows) {
+            if (existingNames.contains(row.getName().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            Game game = new Game(row.getName(), row.getMinPlayers(), row.getMaxPlayers(), row.getImage(), now);
+            game.setOwner(owner);
+            game.setCategory(row.getCategory());
+            game.setDescription(row.getDescription());
+            games.add(game);
+            instances.add(new GameInstance(game, owner, row.getCondition(), row.getLocation(), row.getInstanceName()));
+        }
+        // Sequence IDs and insert ordering let both lists go out as JDBC batches
+        gameRepository.saveAll(games);
+        gameInstanceRepository.saveAll(instances);
+        return games.size();
+    }
+
     /**
      * Retrieves a game by its ID.
      *
@@ -510,6 +566,62 @@ public class GameService {
         return gameRepository.findAll();
     }
 
+    /**
+     * Retrieves all games as response DTOs.
+     * The DTOs are selected directly, so no Game entities are loaded or dirty-checked.
+     *
+     * @return List of all games as DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<GameResponseDto> getAllGameResponses() {
+        return gameRepository.findAllGameResponses();
+    }
+
+    /**
+     * Retrieves the games in a category as response DTOs.
+     *
+     * @param category The category to search for
+     * @return List of games in the category as DTOs
+     * @throws IllegalArgumentException if category is null or empty
+     */
+    @Transactional(readOnly = true)
+    public List<GameResponseDto> getGameResponsesByCategory(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            throw new IllegalArgumentException("Category cannot be empty");
+        }
+        return gameRepository.findGameResponsesByCategory(category);
+    }
+
+    /**
+     * Retrieves the games whose name contains the given text as response DTOs.
+     *
+     * @param namePart The text to search for in game names
+     * @return List of matching games as DTOs
+     * @throws IllegalArgumentException if search pattern is null or empty
+     */
+    @Transactional(readOnly = true)
+    public List<GameResponseDto> getGameResponsesByNameContaining(String namePart) {
+        if (namePart == null || namePart.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search pattern cannot be empty");
+        }
+        return gameRepository.findGameResponsesByNameContaining(namePart);
+    }
+
+    /**
+     * Retrieves the games owned by a game owner as response DTOs.
+     *
+     * @param owner The owner whose games to retrieve
+     * @return List of the owner's games as DTOs
+     * @throws IllegalArgumentException if owner is null
+     */
+    @Transactional(readOnly = true)
+    public List<GameResponseDto> getGameResponsesByOwner(GameOwner owner) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        return gameRepository.findGameResponsesByOwnerId(owner.getId());
+    }
+
     /**
      * Finds games based on their current availability status.
      *
@@ -574,6 +686,7 @@ public class GameService {
         
         // Get instances from repository
         List<GameInstance> instances = gameInstanceRepository.findByGame(game);
+        Set<Integer> borrowed = findCurrentlyBorrowedInstanceIds(instances);
         
         // Convert to DTOs
         return instances.stream()
@@ -583,7 +696,7 @@ public class GameService {
                 dto.setGameId(game.getId());
                 dto.setGameName(game.getName());
                 dto.setCondition(instance.getCondition());
-                dto.setAvailable(instance.isAvailable());
+                dto.setAvailable(instance.isAvailable() && !borrowed.contains(instance.getId()));
                 dto.setLocation(instance.getLocation());
                 dto.setAcquiredDate(instance.getAcquiredDate());
                 dto.setName(instance.getName());
@@ -729,13 +842,7 @@ public class GameService {
             throw new IllegalArgumentException("Game name cannot be empty");
         }
 
-        List<Game> games = gameRepository.findByNameContaining(gameName);
-        List<Review> reviews = new java.util.ArrayList<>();
-
-        for (Game game : games) {
-            reviews.addAll(reviewRepository.findByGameReviewed(game));
-        }
-
+        List<Review> reviews = reviewRepository.findByGameName(gameName);
         return reviews.stream()
                 .map(ReviewResponseDto::new)
                 .collect(java.util.stream.Collectors.toList());
@@ -771,10 +878,15 @@ public class GameService {
             }
 
             // Update review details.
+            int previousRating = review.getRating();
             review.setRating(reviewDto.getRating());
             review.setComment(reviewDto.getComment());
             // (Add any other field updates as necessary)
             reviewRepository.save(review);
+            if (review.getGameReviewed() != null && previousRating != review.getRating()) {
+                gameRepository.adjustRatingAggregate(review.getGameReviewed().getId(),
+                        review.getRating() - previousRating, 0);
+            }
             return new ReviewResponseDto(review);
 
         } catch (IllegalArgumentException | ResourceNotFoundException | ForbiddenException | UnauthedException e) {
@@ -808,6 +920,9 @@ public class GameService {
             }
 
             reviewRepository.delete(review);
+            if (review.getGameReviewed() != null) {
+                gameRepository.adjustRatingAggregate(review.getGameReviewed().getId(), -review.getRating(), -1);
+            }
             return ResponseEntity.ok("Review deleted successfully");
 
         } catch (ResourceNotFoundException | ForbiddenException | UnauthedException e) {
@@ -820,84 +935,71 @@ public class GameService {
     }
 
     /**
-     * Advanced search for games based on multiple criteria
+     * Advanced search for games based on multiple criteria.
+     * All filters, the sort order and the page window are compiled into a single
+     * database query, so only the requested page of games is ever loaded.
+     *
+     * @param criteria the search criteria; null fields are ignored
+     * @return a page of matching games
+     * @throws IllegalArgumentException if the owner does not exist or the page parameters are invalid
      */
-    @Transactional
-    public List<Game> searchGames(GameSearchCriteria criteria) {
-        List<Game> games = getAllGames();
-
-        // Apply filters based on criteria
-        if (criteria.getName() != null && !criteria.getName().trim().isEmpty()) {
-            games = games.stream()
-                    .filter(game -> game.getName().toLowerCase().contains(criteria.getName().toLowerCase()))
-                    .collect(Collectors.toList());
-        }
-
-        if (criteria.getMinPlayers() != null) {
-            games = games.stream()
-                    .filter(game -> game.getMinPlayers() >= criteria.getMinPlayers())
-                    .collect(Collectors.toList());
-        }
-
-        if (criteria.getMaxPlayers() != null) {
-            games = games.stream()
-                    .filter(game -> game.getMaxPlayers() <= criteria.getMaxPlayers())
-                    .collect(Collectors.toList());
-        }
-
-        if (criteria.getCategory() != null && !criteria.getCategory().trim().isEmpty()) {
-            games = games.stream()
-                    .filter(game -> game.getCategory().equalsIgnoreCase(criteria.getCategory()))
-                    .collect(Collectors.toList());
-        }
-
-        if (criteria.getMinRating() != null) {
-            games = games.stream()
-                    .filter(game -> getAverageRatingForGame(game.getId()) >= criteria.getMinRating())
-                    .collect(Collectors.toList());
-        }
-
-        if (criteria.getAvailable() != null) {
-            games = games.stream()
-                    .filter(game -> isGameAvailable(game.getId()) == criteria.getAvailable())
-                    .collect(Collectors.toList());
-        }
+    @Transactional(readOnly = true)
+    public Page<GameResponseDto> searchGames(GameSearchCriteria criteria) {
+        Date searchInstant = new Date();
+        Specification<Game> spec = Specification
+                .where(GameSpecifications.nameContains(criteria.getName()))
+                .and(GameSpecifications.minPlayersAtLeast(criteria.getMinPlayers()))
+                .and(GameSpecifications.maxPlayersAtMost(criteria.getMaxPlayers()))
+                .and(GameSpecifications.categoryEqualsIgnoreCase(criteria.getCategory()))
+                .and(GameSpecifications.averageRatingAtLeast(criteria.getMinRating()))
+                .and(GameSpecifications.availableAt(criteria.getAvailable(), searchInstant));
 
         if (criteria.getOwnerId() != null && !criteria.getOwnerId().trim().isEmpty()) {
             Account owner = accountRepository.findByEmail(criteria.getOwnerId())
                     .orElseThrow(() -> new IllegalArgumentException("Owner not found"));
             if (owner instanceof GameOwner) {
-                games = games.stream()
-                        .filter(game -> game.getOwner() != null && game.getOwner().getId() == owner.getId())
-                        .collect(Collectors.toList());
+                spec = spec.and(GameSpecifications.ownedBy(owner.getId()));
             }
         }
 
-        // Apply sorting if specified
-        if (criteria.getSort() != null && !criteria.getSort().trim().isEmpty()) {
-            boolean ascending = "asc".equalsIgnoreCase(criteria.getOrder());
-            games = games.stream()
-                    .sorted((g1, g2) -> {
-                int comparison = 0;
-                switch (criteria.getSort().toLowerCase()) {
-                    case "name":
-                        comparison = g1.getName().compareTo(g2.getName());
-                        break;
-                    case "rating":
-                        comparison = Double.compare(getAverageRatingForGame(g1.getId()), getAverageRatingForGame(g2.getId()));
-                        break;
-                    case "date":
-                        comparison = g1.getDateAdded().compareTo(g2.getDateAdded());
-                        break;
-                    default:
-                        return 0;
-                }
-                return ascending ? comparison : -comparison;
-                    })
-                    .collect(Collectors.toList());
+        int page = criteria.getPage() != null ? criteria.getPage() : 0;
+        int size = criteria.getSize() != null ? criteria.getSize() : DEFAULT_SEARCH_PAGE_SIZE;
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
         }
+        size = Math.min(size, MAX_SEARCH_PAGE_SIZE);
+
+        // Only an explicit "asc" sorts ascending, matching the original in-memory comparator
+        Sort.Direction direction = "asc".equalsIgnoreCase(criteria.getOrder()) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String sortField = criteria.getSort() != null ? criteria.getSort().trim().toLowerCase() : "";
+
+        Sort sort;
+        switch (sortField) {
+            case "name":
+                sort = Sort.by(direction, "name").and(Sort.by("id"));
+                break;
+            case "date":
+                sort = Sort.by(direction, "dateAdded").and(Sort.by("id"));
+                break;
+            case "rating":
+                sort = Sort.by(direction, "averageRating").and(Sort.by("id"));
+                break;
+            default:
+                sort = Sort.by("id");
+        }
+
+        Page<GameResponseDto> results = gameRepository.findAll(spec, PageRequest.of(page, size, sort))
+                .map(GameResponseDto::new);
 
-        return games;
+        // One availability query for the whole page instead of one per game
+        Map<Integer, Boolean> availability = getGameAvailability(
+                results.getContent().stream().map(GameResponseDto::getId).collect(Collectors.toList()),
+                searchInstant);
+        results.forEach(dto -> dto.setAvailable(availability.get(dto.getId())));
+        return results;
     }
 
     /**
@@ -906,21 +1008,15 @@ public class GameService {
     public boolean isOwnerOfGame(int gameId, String username) {
         if (username == null) return false;
         try {
-            Game game = gameRepository.findGameById(gameId);
-            if (game == null) {
-                throw new ResourceNotFoundException("Game with ID " + gameId + " does not exist");
-            }
-
-            Account user = accountRepository.findByEmail(username).orElse(null);
-            if (user == null) {
-                return false; // Cannot determine ownership
-            }
-
-            if (game.getOwner() == null) {
-                return false; // Game has no owner
-            }
-
-            return game.getOwner().getId() == user.getId();
+            return AuthorizationContext.current().decide("gameOwner", gameId, username, () -> {
+                if (gameRepository.existsByIdAndOwner_Email(gameId, username)) {
+                    return true;
+                }
+                if (!gameRepository.existsById(gameId)) {
+                    throw new ResourceNotFoundException("Game with ID " + gameId + " does not exist");
+                }
+                return false;
+            });
         } catch (ResourceNotFoundException e) {
             // Re-throw resource not found exception
             throw e;
@@ -944,28 +1040,14 @@ public class GameService {
     public boolean hasAccessToGame(int gameId, String username) {
         if (username == null) return false;
         try {
-            // First check if they're the owner (faster check)
+            // First check if they're the owner (also fails if the game does not exist)
             if (isOwnerOfGame(gameId, username)) {
                 return true;
             }
-            
+
             // If not the owner, check if they have an instance of this game
-            Game game = gameRepository.findGameById(gameId);
-            if (game == null) {
-                throw new ResourceNotFoundException("Game with ID " + gameId + " does not exist");
-            }
-            
-            Account user = accountRepository.findByEmail(username).orElse(null);
-            if (user == null || !(user instanceof GameOwner)) {
-                return false; // User doesn't exist or isn't a game owner
-            }
-            
-            GameOwner gameOwner = (GameOwner) user;
-            
-            // Check if the user has any instances of this game
-            List<GameInstance> userInstances = gameInstanceRepository.findByGameAndOwner(game, gameOwner);
-            return !userInstances.isEmpty(); // Has access if they have at least one instance
-            
+            return AuthorizationContext.current().decide("gameInstanceOwner", gameId, username,
+                    () -> gameInstanceRepository.existsByGame_IdAndOwner_Email(gameId, username));
         } catch (ResourceNotFoundException e) {
             // Re-throw resource not found exception
             throw e;
@@ -982,21 +1064,15 @@ public class GameService {
     public boolean isReviewer(int reviewId, String username) {
         if (username == null) return false;
         try {
-            Review review = reviewRepository.findReviewById(reviewId).orElse(null);
-            if (review == null) {
-                throw new ResourceNotFoundException("Review with ID " + reviewId + " does not exist");
-            }
-
-            Account user = accountRepository.findByEmail(username).orElse(null);
-            if (user == null) {
-                return false; // Cannot determine reviewer
-            }
-
-            if (review.getReviewer() == null) {
-                return false; // Review has no reviewer
-            }
-
-            return review.getReviewer().getId() == user.getId();
+            return AuthorizationContext.current().decide("reviewer", reviewId, username, () -> {
+                if (reviewRepository.existsByIdAndReviewer_Email(reviewId, username)) {
+                    return true;
+                }
+                if (!reviewRepository.existsById(reviewId)) {
+                    throw new ResourceNotFoundException("Review with ID " + reviewId + " does not exist");
+                }
+                return false;
+            });
         } catch (ResourceNotFoundException e) {
             // Re-throw resource not found exception
             throw e;
@@ -1008,28 +1084,70 @@ public class GameService {
     }
 
     /**
-     * Get the average rating for a game
+     * Get the average rating for a game, read from its maintained rating aggregate
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public double getAverageRatingForGame(int gameId) {
-        Game game = getGameById(gameId);
-        List<Review> reviews = reviewRepository.findByGameReviewed(game);
-        if (reviews.isEmpty()) {
-            return 0.0;
+        return getGameById(gameId).getAverageRating();
+    }
+
+    /**
+     * Recomputes the rating aggregate of every game from its reviews.
+     * Used to backfill games that predate the aggregate columns and to repair drift.
+     *
+     * @return the number of games updated
+     */
+    @Transactional
+    public int recomputeRatingAggregates() {
+        int updated = gameRepository.recomputeRatingAggregates();
+        logger.info("Recomputed rating aggregates for {} games.", updated);
+        return updated;
+    }
+
+    /**
+     * Computes the current availability of a batch of games with a single query.
+     * A game is unavailable while an approved borrow request covers the given instant.
+     *
+     * @param gameIds The IDs of the games to check
+     * @param instant The point in time to check
+     * @return A map from each requested game ID to true if the game is available, in iteration order of gameIds
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, Boolean> getGameAvailability(Collection<Integer> gameIds, Date instant) {
+        if (instant == null) {
+            throw new IllegalArgumentException("Instant cannot be null");
         }
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        if (gameIds == null || gameIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Integer> borrowed = new HashSet<>(borrowRequestRepository.findGameIdsBorrowedAt(gameIds, instant));
+        return toAvailabilityMap(gameIds, borrowed);
     }
 
     /**
-     * Check if a game is currently available
+     * Computes the availability of a batch of games over a period with a single query.
+     * A game is unavailable if an approved borrow request overlaps the period.
+     *
+     * @param gameIds The IDs of the games to check
+     * @param startDate The start date of the borrowing period
+     * @param endDate The end date of the borrowing period
+     * @return A map from each requested game ID to true if the game is available for the whole period
+     * @throws IllegalArgumentException if either date is missing or the period ends before it starts
      */
-    private boolean isGameAvailable(int gameId) {
-        Game game = getGameById(gameId);
-        Date currentDate = new Date();
-        return gameRepository.findAvailableGames(currentDate).contains(game);
+    @Transactional(readOnly = true)
+    public Map<Integer, Boolean> getGameAvailabilityForPeriod(Collection<Integer> gameIds, Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start and end dates are required");
+        }
+        if (endDate.before(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        if (gameIds == null || gameIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<Integer> borrowed = new HashSet<>(
+                borrowRequestRepository.findGameIdsBorrowedDuring(gameIds, startDate, endDate));
+        return toAvailabilityMap(gameIds, borrowed);
     }
 
     /**
@@ -1039,17 +1157,46 @@ public class GameService {
      * @param endDate The end date of the borrowing period
      * @return true if the game is available for the specified period, false otherwise
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public boolean isGameAvailableForPeriod(int gameId, Date startDate, Date endDate) {
-        // Get the game
-        Game game = getGameById(gameId);
-        
-        // Find any approved requests that overlap with the requested period
-        List<BorrowRequest> overlappingRequests = borrowRequestRepository
-            .findOverlappingApprovedRequests(gameId, startDate, endDate);
-        
-        // No overlapping approved requests means the game is available for this period
-        return overlappingRequests.isEmpty();
+        // Validate the game exists
+        getGameById(gameId);
+        return getGameAvailabilityForPeriod(Collections.singleton(gameId), startDate, endDate).get(gameId);
+    }
+
+    private static Map<Integer, Boolean> toAvailabilityMap(Collection<Integer> ids, Set<Integer> borrowedIds) {
+        Map<Integer, Boolean> availability = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            availability.put(id, !borrowedIds.contains(id));
+        }
+        return availability;
+    }
+
+    /**
+     * Finds which of the given game instances are covered by an approved borrow request right now,
+     * resolving the whole list with a single query.
+     */
+    private Set<Integer> findCurrentlyBorrowedInstanceIds(List<GameInstance> instances) {
+        if (instances.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Integer> instanceIds = instances.stream().map(GameInstance::getId).collect(Collectors.toList());
+        return new HashSet<>(borrowRequestRepository.findGameInstanceIdsBorrowedAt(instanceIds, new Date()));
+    }
+
+    /**
+     * Converts game instances to DTOs. An instance is reported unavailable if its owner
+     * flagged it as such or if an approved borrow request currently covers it.
+     */
+    private List<GameInstanceResponseDto> toInstanceDtosWithAvailability(List<GameInstance> instances) {
+        Set<Integer> borrowed = findCurrentlyBorrowedInstanceIds(instances);
+        return instances.stream()
+                .map(instance -> {
+                    GameInstanceResponseDto dto = new GameInstanceResponseDto(instance);
+                    dto.setAvailable(instance.isAvailable() && !borrowed.contains(instance.getId()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 
     /**
@@ -1173,9 +1320,7 @@ public class GameService {
         List<GameInstance> instances = gameInstanceRepository.findByOwner(owner);
         
         // Convert to DTOs
-        return instances.stream()
-                .map(GameInstanceResponseDto::new)
-                 .collect(Collectors.toList());
+        return toInstanceDtosWithAvailability(instances);
     }
 
     /**
@@ -1195,9 +1340,7 @@ public class GameService {
         List<GameInstance> instances = gameInstanceRepository.findByOwner(owner);
         
         // Convert to DTOs
-        return instances.stream()
-                .map(GameInstanceResponseDto::new)
-                .collect(Collectors.toList());
+        return toInstanceDtosWithAvailability(instances);
     }
 
 }
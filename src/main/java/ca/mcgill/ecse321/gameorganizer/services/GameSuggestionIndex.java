@@ -0,0 +1,454 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameSummaryDto;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory prefix index over game names, categories and descriptions, serving the search box
+ * typeahead without a database round trip per keystroke.
+ * Every word is indexed under its prefixes (up to {@link #MAX_PREFIX_LENGTH} characters), each
+ * pointing to a sorted array of game IDs with the best field weight the game has for it.
+ * A query matches the games having a word starting with each of its words, ranked by
+ * field weight, then by shorter name.
+ * The index is built from GameRepository when the application is ready and kept current by
+ * GameSuggestionListener. Its size is bounded by games.suggest.max-postings; games that would
+ * exceed it are left out and counted. Size and an estimate of its memory use are published as
+ * the "games.suggest.index.*" gauges.
+ */
+@Component
+public class GameSuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameSuggestionIndex.class);
+
+    /** Longest prefix indexed; longer query words are matched on their first characters */
+    static final int MAX_PREFIX_LENGTH = 10;
+
+    /** Description words beyond this many are not indexed */
+    static final int MAX_DESCRIPTION_WORDS = 30;
+
+    /** Query words beyond this many are ignored */
+    static final int MAX_QUERY_WORDS = 5;
+
+    /** Number of suggestions returned when the caller does not specify one */
+    static final int DEFAULT_LIMIT = 10;
+
+    /** Upper bound on the number of suggestions returned */
+    static final int MAX_LIMIT = 50;
+
+    static final byte NAME_WEIGHT = 4;
+    static final byte CATEGORY_WEIGHT = 2;
+    static final byte DESCRIPTION_WEIGHT = 1;
+
+    /** Games read from the database per page while building the index */
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    /** Estimated heap per indexed game beyond its text: entry record, map node and boxed key */
+    private static final long ENTRY_BYTES = 96;
+
+    /** Estimated heap per prefix beyond its characters and arrays: map node, key string, Postings object */
+    private static final long GRAM_BYTES = 112;
+
+    /** Estimated heap per posting slot: an int ID and a byte weight */
+    private static final long SLOT_BYTES = 5;
+
+    private final GameRepository gameRepository;
+    private final long maxPostings;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    /** Updates made while a rebuild is loading, replayed onto the new state; null when no rebuild runs */
+    private Map<Integer, Update> pending;
+
+    public GameSuggestionIndex(GameRepository gameRepository,
+                               @Value("${games.suggest.max-postings:5000000}") long maxPostings,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this.gameRepository = gameRepository;
+        this.maxPostings = maxPostings;
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("games.suggest.index.games", this, GameSuggestionIndex::size).register(registry);
+            Gauge.builder("games.suggest.index.postings", this, GameSuggestionIndex::postingCount).register(registry);
+            Gauge.builder("games.suggest.index.skipped", this, GameSuggestionIndex::skipped).register(registry);
+            Gauge.builder("games.suggest.index.estimated-bytes", this, GameSuggestionIndex::estimatedBytes)
+                    .baseUnit("bytes").register(registry);
+        });
+    }
+
+    /**
+     * Loads every game into the index when the application is ready to serve requests.
+     * The games are loaded into a new structure while suggestions keep coming from the
+     * current one; the new one replaces it once complete, after replaying the updates
+     * made in the meantime.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        try {
+            write(() -> pending = new HashMap<>());
+            State fresh = new State();
+            int afterId = 0;
+            List<GameResponseDto> page;
+            do {
+                page = gameRepository.findGameResponsesAfterId(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (GameResponseDto game : page) {
+                    fresh.apply(update(game.getId(), game.getName(), game.getImage(), game.getCategory(), game.getDescription()));
+                    afterId = game.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            write(() -> {
+                // Updates are committed after the rows were read or carry the same data, so they win
+                pending.values().forEach(fresh::apply);
+                state = fresh;
+            });
+            logger.info("Game suggestion index built: {} games, {} postings, about {} KiB, {} skipped",
+                    size(), postingCount(), estimatedBytes() / 1024, skipped());
+        } catch (Exception e) {
+            // The previous index stays in place, kept current by the updates
+            logger.error("Failed to build the game suggestion index: {}", e.getMessage(), e);
+        } finally {
+            write(() -> pending = null);
+        }
+    }
+
+    /**
+     * Adds a game to the index, replacing its previous version.
+     * Skips the game if it has no name or adding it would exceed the configured number of
+     * postings; a skipped update leaves the previous version in place.
+     *
+     * @param id the game ID
+     * @param name the game name
+     * @param image the game image, returned with suggestions
+     * @param category the game category, may be null
+     * @param description the game description, may be null
+     */
+    public void put(int id, String name, String image, String category, String description) {
+        Update update = update(id, name, image, category, description);
+        write(() -> record(update));
+    }
+
+    /**
+     * Removes a game from the index. Does nothing if the game is not indexed.
+     *
+     * @param id the game ID
+     */
+    public void remove(int id) {
+        Update update = update(id, null, null, null, null);
+        write(() -> record(update));
+    }
+
+    /**
+     * Suggests games for the text typed so far. Each word of the query must be the start of
+     * a word in the game's name, category or description.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions, or null for the default
+     * @return the best matching games, best first; empty if the query has no words
+     * @throws IllegalArgumentException if the limit is less than 1
+     */
+    public List<GameSummaryDto> suggest(String query, Integer limit) {
+        int max = limit != null ? limit : DEFAULT_LIMIT;
+        if (max < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        int size = Math.min(max, MAX_LIMIT);
+        List<String> words = words(query, MAX_QUERY_WORDS);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        String prefix = query.trim().toLowerCase(Locale.ROOT);
+
+        return read(() -> {
+            List<Postings> lists = new ArrayList<>();
+            for (String word : words) {
+                Postings list = state.postings.get(word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word);
+                if (list == null) {
+                    return List.<GameSummaryDto>of();
+                }
+                lists.add(list);
+            }
+            // Walk the shortest list and look the other words up by binary search
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            Postings shortest = lists.get(0);
+            Comparator<Match> worstFirst = Comparator.comparingInt((Match match) -> match.score)
+                    .thenComparing(Comparator.comparingInt((Match match) -> match.entry.name.length()).reversed())
+                    .thenComparing((Match match) -> match.entry.name, Comparator.reverseOrder());
+            PriorityQueue<Match> best = new PriorityQueue<>(worstFirst);
+            for (int i = 0; i < shortest.size; i++) {
+                int id = shortest.ids[i];
+                int score = shortest.weights[i];
+                for (int j = 1; j < lists.size() && score > 0; j++) {
+                    int weight = lists.get(j).weight(id);
+                    score = weight > 0 ? score + weight : 0;
+                }
+                if (score == 0) {
+                    continue;
+                }
+                Entry entry = state.entries.get(id);
+                if (entry.lowerName.startsWith(prefix)) {
+                    score += NAME_WEIGHT;
+                }
+                best.add(new Match(entry, score));
+                if (best.size() > size) {
+                    best.poll();
+                }
+            }
+            List<GameSummaryDto> suggestions = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                Entry entry = best.poll().entry;
+                suggestions.add(new GameSummaryDto(entry.id, entry.name, entry.image));
+            }
+            Collections.reverse(suggestions);
+            return suggestions;
+        });
+    }
+
+    /**
+     * @return the number of indexed games
+     */
+    public int size() {
+        return read(() -> state.entries.size());
+    }
+
+    /**
+     * @return the number of (prefix, game) pairs in the index
+     */
+    public long postingCount() {
+        return read(() -> state.postingCount);
+    }
+
+    /**
+     * @return the number of games or updates left out because the index was full
+     */
+    public long skipped() {
+        return read(() -> state.skipped);
+    }
+
+    /**
+     * Estimates the heap used by the index from its arrays, keys and stored text, kept up
+     * to date as games are added and removed.
+     * Object headers and map nodes are counted with typical 64-bit JVM sizes.
+     *
+     * @return the approximate size of the index in bytes
+     */
+    public long estimatedBytes() {
+        return read(() -> state.bytes);
+    }
+
+    /** Applies an update to the current state, and keeps it for the rebuild in progress if any */
+    private void record(Update update) {
+        state.apply(update);
+        if (pending != null) {
+            pending.put(update.id, update);
+        }
+    }
+
+    private static Update update(int id, String name, String image, String category, String description) {
+        if (name == null) {
+            return new Update(id, null, null, null, Map.of());
+        }
+        Map<String, Byte> grams = new LinkedHashMap<>();
+        addGrams(grams, words(name, Integer.MAX_VALUE), NAME_WEIGHT);
+        addGrams(grams, words(category, Integer.MAX_VALUE), CATEGORY_WEIGHT);
+        addGrams(grams, words(description, MAX_DESCRIPTION_WORDS), DESCRIPTION_WEIGHT);
+        return new Update(id, name, name.toLowerCase(Locale.ROOT), image, grams);
+    }
+
+    private static void addGrams(Map<String, Byte> grams, List<String> words, byte weight) {
+        for (String word : words) {
+            int longest = Math.min(word.length(), MAX_PREFIX_LENGTH);
+            for (int length = 1; length <= longest; length++) {
+                grams.merge(word.substring(0, length), weight, (a, b) -> a >= b ? a : b);
+            }
+        }
+    }
+
+    private static List<String> words(String text, int maxWords) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (words.size() == maxWords) {
+                break;
+            }
+            words.add(word);
+        }
+        return words;
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The games, prefixes and counters of one version of the index. The current state is
+     * guarded by the lock; a state being built by a rebuild is only used by that rebuild.
+     */
+    private final class State {
+        private final Map<Integer, Entry> entries = new HashMap<>();
+        private final Map<String, Postings> postings = new HashMap<>();
+        private long postingCount;
+        private long bytes;
+        private long skipped;
+
+        void apply(Update update) {
+            if (update.name == null) {
+                remove(update.id);
+            } else {
+                put(update);
+            }
+        }
+
+        private void put(Update update) {
+            Entry old = entries.get(update.id);
+            // Checked before anything is removed, so a refused update keeps the previous version
+            long growth = update.grams.size() - (old != null ? old.grams.length : 0);
+            if (postingCount + growth > maxPostings) {
+                if (++skipped == 1) {
+                    logger.warn("Game suggestion index is full at {} postings; further games are not suggested", postingCount);
+                }
+                return;
+            }
+            remove(update.id);
+            String[] keys = new String[update.grams.size()];
+            int i = 0;
+            for (Map.Entry<String, Byte> gram : update.grams.entrySet()) {
+                Postings list = postings.get(gram.getKey());
+                if (list == null) {
+                    list = new Postings();
+                    postings.put(gram.getKey(), list);
+                    bytes += GRAM_BYTES + gram.getKey().length() + list.ids.length * SLOT_BYTES;
+                }
+                int capacity = list.ids.length;
+                list.put(update.id, gram.getValue());
+                bytes += (list.ids.length - capacity) * SLOT_BYTES;
+                keys[i++] = gram.getKey();
+            }
+            Entry entry = new Entry(update.id, update.name, update.lowerName, update.image, keys);
+            entries.put(update.id, entry);
+            postingCount += keys.length;
+            bytes += ENTRY_BYTES + entry.textBytes();
+        }
+
+        private void remove(int id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String key : entry.grams) {
+                Postings list = postings.get(key);
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(key);
+                    bytes -= GRAM_BYTES + key.length() + list.ids.length * SLOT_BYTES;
+                }
+            }
+            postingCount -= entry.grams.length;
+            bytes -= ENTRY_BYTES + entry.textBytes();
+        }
+    }
+
+    /**
+     * A new version of a game with its prefixes and their weights, or its removal when the name is null.
+     */
+    private record Update(int id, String name, String lowerName, String image, Map<String, Byte> grams) {
+    }
+
+    /**
+     * An indexed game: what a suggestion returns, its lower-cased name for the name-prefix
+     * bonus, and the keys to unindex it.
+     */
+    private record Entry(int id, String name, String lowerName, String image, String[] grams) {
+        long textBytes() {
+            // toLowerCase returns the same string when the name has no upper-case letters
+            long lowerBytes = lowerName != name ? lowerName.length() : 0;
+            return name.length() + lowerBytes + (image != null ? image.length() : 0) + grams.length * 4L;
+        }
+    }
+
+    private record Match(Entry entry, int score) {
+    }
+
+    /**
+     * Game IDs in ascending order with the weight of each, in growable parallel arrays.
+     * Games are mostly added in ID order, so inserts usually append.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private byte[] weights = new byte[2];
+        private int size;
+
+        void put(int id, byte weight) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+        }
+
+        int weight(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? weights[index] : 0;
+        }
+    }
+}
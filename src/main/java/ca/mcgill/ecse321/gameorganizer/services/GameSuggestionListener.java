@@ -0,0 +1,68 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener keeping the {@link GameSuggestionIndex} in step with the game table.
+ * Changes made inside a transaction reach the index after it commits, so a rolled back save
+ * is never suggested. Bulk JPQL updates and deletes bypass entity listeners and are not seen.
+ * Hibernate obtains this listener from the Spring context; the index is looked up lazily
+ * because it depends on GameRepository, which depends on the entity manager factory.
+ */
+@Component
+public class GameSuggestionListener {
+
+    private final ObjectProvider<GameSuggestionIndex> index;
+
+    public GameSuggestionListener(ObjectProvider<GameSuggestionIndex> index) {
+        this.index = index;
+    }
+
+    /**
+     * Indexes a game once it is inserted or updated.
+     *
+     * @param game the saved game
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSave(Game game) {
+        int id = game.getId();
+        String name = game.getName();
+        String image = game.getImage();
+        String category = game.getCategory();
+        String description = game.getDescription();
+        afterCommit(() -> index.ifAvailable(suggestions -> suggestions.put(id, name, image, category, description)));
+    }
+
+    /**
+     * Unindexes a game once it is deleted.
+     *
+     * @param game the deleted game
+     */
+    @PostRemove
+    public void onRemove(Game game) {
+        int id = game.getId();
+        afterCommit(() -> index.ifAvailable(suggestions -> suggestions.remove(id)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,13 +1,23 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.prepost.PreAuthorize; // Import PreAuthorize
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.LendingHistoryFilterDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.BulkStatusUpdateResultDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException; // Import ForbiddenException
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -32,6 +43,7 @@ import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.security.AuthorizationContext;
 
 /**
  * Service class that handles business logic for lending record operations.
@@ -49,6 +61,13 @@ public class LendingRecordService {
     private final AccountRepository accountRepository; // Inject AccountRepository
     @Autowired
     private GameInstanceRepository gameInstanceRepository; // Add GameInstanceRepository
+    @Autowired
+    private EmailService emailService;
+
+    /** Status change reason recorded when a record is moved to OVERDUE automatically */
+    private static final String OVERDUE_REASON = "System automated change: Record is overdue";
+    /** Status change reason recorded when a new end date moves an OVERDUE record back to ACTIVE */
+    private static final String END_DATE_EXTENDED_REASON = "System automated change: End date extended, record is no longer overdue";
 
     @Autowired
     public LendingRecordService(LendingRecordRepository lendingRecordRepository, BorrowRequestRepository borrowRequestRepository, AccountRepository accountRepository) {
@@ -81,6 +100,44 @@ public class LendingRecordService {
      */
     @Transactional
     public ResponseEntity<String> createLendingRecord(Date startDate, Date endDate, BorrowRequest request, GameOwner owner) {
+        return createLendingRecord(startDate, endDate, request, owner,
+                r -> lendingRecordRepository.findByRequest(r).isPresent(), true);
+    }
+
+    /**
+     * Creates a new lending record for a borrow request approved as part of a batch. The caller
+     * has already looked up, for the whole batch, which requests have a lending record and which
+     * games have an available instance, so no further lookups are made here.
+     *
+     * @param startDate the start date of the lending period
+     * @param endDate the end date of the lending period
+     * @param request the associated borrow request
+     * @param owner the game owner
+     * @param hasLendingRecord whether the request already has a lending record
+     * @return ResponseEntity with success message
+     */
+    @Transactional
+    public ResponseEntity<String> createLendingRecord(Date startDate, Date endDate, BorrowRequest request, GameOwner owner,
+                                                      boolean hasLendingRecord) {
+        return createLendingRecord(startDate, endDate, request, owner, r -> hasLendingRecord, false);
+    }
+
+    /**
+     * Finds which of the given borrow requests already have a lending record, in one query.
+     *
+     * @param requestIds the IDs of the borrow requests
+     * @return the IDs of the requests that have a lending record
+     */
+    @Transactional(readOnly = true)
+    public Set<Integer> findRequestIdsWithLendingRecord(Collection<Integer> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(lendingRecordRepository.findRequestIdsIn(requestIds));
+    }
+
+    private ResponseEntity<String> createLendingRecord(Date startDate, Date endDate, BorrowRequest request, GameOwner owner,
+                                                       Predicate<BorrowRequest> hasLendingRecord, boolean checkInstances) {
         try {
             // Validate parameters
             if (startDate == null || endDate == null || request == null || owner == null) {
@@ -94,7 +151,7 @@ public class LendingRecordService {
             }
 
             // Check if the BorrowRequest is already associated with an existing LendingRecord
-            if (lendingRecordRepository.findByRequest(request).isPresent()) {
+            if (hasLendingRecord.test(request)) {
                 throw new IllegalArgumentException("The borrow request already has a lending record associated with it");
             }
 
@@ -111,6 +168,9 @@ public class LendingRecordService {
             // Create and save new lending record
             LendingRecord record = new LendingRecord(startDate, endDate, LendingStatus.ACTIVE, request, owner);
             lendingRecordRepository.save(record);
+            if (!checkInstances) {
+                return ResponseEntity.ok("Lending record created successfully");
+            }
             
             // Find all game instances for the requested game and set the first available one to unavailable
             Game requestedGame = request.getRequestedGame();
@@ -220,6 +280,17 @@ public class LendingRecordService {
         return lendingRecordRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of lending records, paged and sorted by the database.
+     *
+     * @param pageable The page, size and sort to apply
+     * @return Page of lending records with the total count
+     */
+    @Transactional(readOnly = true)
+    public Page<LendingRecord> getAllLendingRecords(Pageable pageable) {
+        return lendingRecordRepository.findAll(pageable);
+    }
+
     /**
      * Retrieves all lending records associated with a specific game owner.
      *
@@ -235,6 +306,77 @@ public class LendingRecordService {
         return lendingRecordRepository.findByRecordOwner(owner);
     }
 
+    /**
+     * Retrieves one page of a game owner's lending records with the given status.
+     *
+     * @param ownerId The ID of the game owner
+     * @param status The status to filter by
+     * @param pageable The page, size and sort to apply
+     * @return Page of matching lending records
+     * @throws IllegalArgumentException if status is null
+     * @throws ResourceNotFoundException if no game owner has the given ID
+     */
+    @Transactional(readOnly = true)
+    public Page<LendingRecord> getLendingRecordsByOwnerAndStatus(int ownerId, LendingStatus status, Pageable pageable) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        requireGameOwner(ownerId);
+        return lendingRecordRepository.findByRecordOwner_IdAndStatus(ownerId, status, pageable);
+    }
+
+    /**
+     * Retrieves one page of a game owner's overdue lending records. Records are moved to
+     * OVERDUE by {@link OverdueLendingJob}, so this is a lookup on the status index.
+     *
+     * @param ownerId The ID of the game owner
+     * @param pageable The page, size and sort to apply
+     * @return Page of the owner's overdue lending records
+     * @throws ResourceNotFoundException if no game owner has the given ID
+     */
+    @Transactional(readOnly = true)
+    public Page<LendingRecord> getOverdueRecordsByOwner(int ownerId, Pageable pageable) {
+        requireGameOwner(ownerId);
+        return lendingRecordRepository.findByRecordOwner_IdAndStatus(ownerId, LendingStatus.OVERDUE, pageable);
+    }
+
+    /**
+     * Retrieves one page of a game owner's lending records that start within a date range.
+     *
+     * @param ownerId The ID of the game owner
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @param pageable The page, size and sort to apply
+     * @return Page of matching lending records
+     * @throws IllegalArgumentException if either date is null or the range is inverted
+     * @throws ResourceNotFoundException if no game owner has the given ID
+     */
+    @Transactional(readOnly = true)
+    public Page<LendingRecord> getLendingRecordsByOwnerAndDateRange(int ownerId, Date startDate, Date endDate,
+                                                                    Pageable pageable) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Date range parameters cannot be null");
+        }
+        if (startDate.after(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        requireGameOwner(ownerId);
+        return lendingRecordRepository.findByRecordOwner_IdAndStartDateBetween(ownerId, startDate, endDate, pageable);
+    }
+
+    /**
+     * Checks that the ID belongs to a game owner, so the owner-scoped lookups do not
+     * answer an unknown or non-owner ID with an empty page.
+     *
+     * @param ownerId The ID to check
+     * @throws ResourceNotFoundException if no game owner has the given ID
+     */
+    private void requireGameOwner(int ownerId) {
+        if (!accountRepository.existsGameOwnerById(ownerId)) {
+            throw new ResourceNotFoundException("No game owner found with ID " + ownerId);
+        }
+    }
+
     /**
      * Retrieves lending records within a specific date range.
      *
@@ -265,6 +407,22 @@ public class LendingRecordService {
         }
         return lendingRecordRepository.findByRequest_Requester(borrower);
     }
+
+    /**
+     * Retrieves the distinct names of the games a borrower has lending records for.
+     * Only the names are selected, so no records, requests or games are loaded.
+     *
+     * @param borrower The Account of the borrower
+     * @return List of distinct game names
+     * @throws IllegalArgumentException if borrower is null
+     */
+    @Transactional(readOnly = true)
+    public List<String> getGameNamesBorrowedBy(Account borrower) {
+        if (borrower == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+        return lendingRecordRepository.findDistinctGameNamesByRequesterId(borrower.getId());
+    }
     
     /**
      * Applies multiple filters to lending records.
@@ -274,18 +432,10 @@ public class LendingRecordService {
      */
     @Transactional
     public List<LendingRecord> filterLendingRecords(LendingHistoryFilterDto filterDto) {
-        LendingStatus status = null;
-        if (filterDto.getStatus() != null && !filterDto.getStatus().isEmpty()) {
-            try {
-                status = LendingStatus.valueOf(filterDto.getStatus().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Invalid status is ignored
-            }
-        }
         return lendingRecordRepository.filterLendingRecords(
             filterDto.getFromDate(),
             filterDto.getToDate(),
-            status,
+            parseFilterStatus(filterDto),
             filterDto.getBorrowerId(),
             filterDto.getGameId()
         );
@@ -300,24 +450,55 @@ public class LendingRecordService {
      */
     @Transactional
     public Page<LendingRecord> filterLendingRecordsPaginated(LendingHistoryFilterDto filterDto, Pageable pageable) {
-        LendingStatus status = null;
-        if (filterDto.getStatus() != null && !filterDto.getStatus().isEmpty()) {
-            try {
-                status = LendingStatus.valueOf(filterDto.getStatus().toUpperCase());
-            } catch (IllegalArgumentException e) {
-                // Invalid status is ignored
-            }
-        }
         return lendingRecordRepository.filterLendingRecords(
             filterDto.getFromDate(),
             filterDto.getToDate(),
-            status,
+            parseFilterStatus(filterDto),
             filterDto.getBorrowerId(),
             filterDto.getGameId(),
             pageable
         );
     }
 
+    /**
+     * Keyset (seek) version of filterLendingRecords for deep pages over large histories.
+     * Records are ordered by ID and each call continues after the cursor returned by the
+     * previous one, so the cost of a page does not grow with its depth and no COUNT is run.
+     *
+     * @param filterDto The DTO containing filter criteria
+     * @param cursor The ID of the last record of the previous page, or null for the first page
+     * @param descending true to walk records from newest to oldest ID
+     * @param limit The maximum number of records to return
+     * @return The next records after the cursor, in ID order
+     * @throws IllegalArgumentException if limit is less than 1
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecord> filterLendingRecordsKeyset(LendingHistoryFilterDto filterDto, Integer cursor,
+                                                         boolean descending, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        Pageable firstRows = PageRequest.of(0, limit);
+        LendingStatus status = parseFilterStatus(filterDto);
+        if (descending) {
+            return lendingRecordRepository.filterLendingRecordsBefore(filterDto.getFromDate(), filterDto.getToDate(),
+                    status, filterDto.getBorrowerId(), filterDto.getGameId(), cursor, firstRows);
+        }
+        return lendingRecordRepository.filterLendingRecordsAfter(filterDto.getFromDate(), filterDto.getToDate(),
+                status, filterDto.getBorrowerId(), filterDto.getGameId(), cursor, firstRows);
+    }
+
+    private LendingStatus parseFilterStatus(LendingHistoryFilterDto filterDto) {
+        if (filterDto.getStatus() != null && !filterDto.getStatus().isEmpty()) {
+            try {
+                return LendingStatus.valueOf(filterDto.getStatus().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid status is ignored
+            }
+        }
+        return null;
+    }
+
     /**
      * Updates the status of a lending record with comprehensive validation of state transitions.
      * Prevents invalid transitions and automatically handles overdue detection.
@@ -352,7 +533,7 @@ public class LendingRecordService {
             
             // Get current user ID for audit log (if needed, otherwise remove)
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Account currentUser = accountRepository.findByEmail(authentication.getName())
+            Account currentUser = AuthorizationContext.current().account(authentication.getName(), accountRepository::findByEmail)
                     .orElseThrow(() -> new UnauthedException("Authenticated user not found in database."));
             Integer currentUserId = currentUser.getId();
             
@@ -365,7 +546,7 @@ public class LendingRecordService {
             record.setStatus(LendingStatus.OVERDUE);
             record.setLastModifiedDate(new Date());
             record.setLastModifiedBy(currentUserId); // Use ID from authenticated user
-            record.setStatusChangeReason("System automated change: Record is overdue");
+            record.setStatusChangeReason(OVERDUE_REASON);
             lendingRecordRepository.save(record);
             return ResponseEntity.ok("Record is overdue - status automatically set to OVERDUE instead of ACTIVE");
         }
@@ -417,6 +598,74 @@ public class LendingRecordService {
         return updateStatus(id, newStatus, "Status updated via API");
     }
     
+    /**
+     * Updates the status of several lending records at once. The records are loaded with their
+     * owners and borrowers in one query, which also serves as the authorization check: only
+     * records the caller owns or borrowed are updated. Each record goes through the same
+     * transition rules as {@link #updateStatus(int, LendingStatus, String)}, and the changed rows
+     * are flushed together at commit, so Hibernate sends them as a JDBC batch.
+     *
+     * @param ids The IDs of the records to update
+     * @param newStatus The new status to set
+     * @param reason The reason for the status change
+     * @return One result per distinct ID, in request order
+     * @throws IllegalArgumentException if the new status is null
+     * @throws UnauthedException if the caller is not authenticated or not in the database
+     */
+    @Transactional
+    public List<BulkStatusUpdateResultDto> updateStatuses(List<Integer> ids, LendingStatus newStatus, String reason) {
+        if (newStatus == null) {
+            throw new IllegalArgumentException("New status cannot be null");
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new UnauthedException("User must be authenticated to update lending records.");
+        }
+        String currentUsername = authentication.getName();
+        Account currentUser = AuthorizationContext.current().account(currentUsername, accountRepository::findByEmail)
+                .orElseThrow(() -> new UnauthedException("Authenticated user not found in database."));
+
+        Set<Integer> distinctIds = new LinkedHashSet<>(ids);
+        Map<Integer, LendingRecord> records = lendingRecordRepository.findByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(LendingRecord::getId, Function.identity()));
+
+        Date now = new Date();
+        List<BulkStatusUpdateResultDto> results = new ArrayList<>(distinctIds.size());
+        for (Integer id : distinctIds) {
+            LendingRecord record = records.get(id);
+            if (record == null) {
+                results.add(BulkStatusUpdateResultDto.failed(id, HttpStatus.NOT_FOUND.value(), "Lending record not found with id " + id));
+                continue;
+            }
+            boolean isOwner = record.getRecordOwner() != null && currentUsername.equals(record.getRecordOwner().getEmail());
+            boolean isBorrower = record.getRequest() != null && record.getRequest().getRequester() != null
+                    && currentUsername.equals(record.getRequest().getRequester().getEmail());
+            if (!isOwner && !isBorrower) {
+                results.add(BulkStatusUpdateResultDto.failed(id, HttpStatus.FORBIDDEN.value(),
+                        "Access denied: Only the game owner or borrower can update the lending status."));
+                continue;
+            }
+            if (record.getStatus() == newStatus) {
+                results.add(BulkStatusUpdateResultDto.ok(id, "Status already set to " + newStatus.name()));
+                continue;
+            }
+            try {
+                validateStatusTransition(record, newStatus);
+            } catch (IllegalStateException e) {
+                results.add(BulkStatusUpdateResultDto.failed(id, HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+                continue;
+            }
+            // Saved by dirty checking when the transaction commits
+            record.setStatus(newStatus);
+            record.setLastModifiedDate(now);
+            record.setLastModifiedBy(currentUser.getId());
+            record.setStatusChangeReason(reason != null ? reason : "Status updated by user");
+            results.add(BulkStatusUpdateResultDto.ok(id, "Lending record status updated successfully"));
+        }
+        log.info("Bulk status update to {} of {} lending records by {}", newStatus, distinctIds.size(), currentUsername);
+        return results;
+    }
+
     /**
      * Validates if a status transition is allowed based on business rules.
      * 
@@ -470,7 +719,7 @@ public class LendingRecordService {
 
             // Authorization handled by @PreAuthorize
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Account currentUser = accountRepository.findByEmail(authentication.getName())
+            Account currentUser = AuthorizationContext.current().account(authentication.getName(), accountRepository::findByEmail)
                     .orElseThrow(() -> new UnauthedException("Authenticated user not found in database."));
             Integer currentUserId = currentUser.getId();
         
@@ -567,7 +816,7 @@ public class LendingRecordService {
             
             // Authorization handled by @PreAuthorize
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Account currentUser = accountRepository.findByEmail(authentication.getName())
+            Account currentUser = AuthorizationContext.current().account(authentication.getName(), accountRepository::findByEmail)
                     .orElseThrow(() -> new UnauthedException("Authenticated user not found in database."));
             Integer currentUserId = currentUser.getId();
             
@@ -642,17 +891,42 @@ public class LendingRecordService {
     }
     
     /**
-     * Finds overdue lending records.
+     * Finds overdue lending records. Records are moved to OVERDUE by {@link OverdueLendingJob},
+     * so this is a lookup on the status index.
      *
      * @return list of overdue lending records
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<LendingRecord> findOverdueRecords() {
-        return lendingRecordRepository.findByEndDateBeforeAndStatus(new Date(), LendingStatus.ACTIVE);
+        return lendingRecordRepository.findByStatus(LendingStatus.OVERDUE);
+    }
+
+    /**
+     * Moves a chunk of active lending records to OVERDUE with a single UPDATE and queues a
+     * reminder email to each borrower in the same transaction.
+     *
+     * @param ids The IDs of the records to mark overdue
+     * @param now The time of the overdue run, recorded as the last modified date
+     * @return The number of records moved to OVERDUE
+     */
+    @Transactional
+    public int markRecordsOverdue(List<Integer> ids, Date now) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = lendingRecordRepository.updateStatusByIdIn(
+                ids, LendingStatus.ACTIVE, LendingStatus.OVERDUE, now, OVERDUE_REASON);
+        for (LendingRecord record : lendingRecordRepository.findByIdInAndStatus(ids, LendingStatus.OVERDUE)) {
+            emailService.queueOverdueReminderEmail(record);
+        }
+        log.info("Marked {} lending records overdue", updated);
+        return updated;
     }
     
     /**
      * Updates the end date of a lending record.
+     * An overdue record whose end date moves to the future becomes active again, and an active
+     * record whose end date moves to the past becomes overdue, with its reminder email queued.
      *
      * @param id The ID of the record to update
      * @param newEndDate The new end date to set
@@ -685,6 +959,18 @@ public class LendingRecordService {
         }
         
         record.setEndDate(newEndDate);
+        // Keep the status in line with the new end date; the overdue job only moves records forward
+        Date now = new Date();
+        if (record.getStatus() == LendingStatus.OVERDUE && !newEndDate.before(now)) {
+            record.setStatus(LendingStatus.ACTIVE);
+            record.setStatusChangeReason(END_DATE_EXTENDED_REASON);
+            record.setLastModifiedDate(now);
+        } else if (record.getStatus() == LendingStatus.ACTIVE && newEndDate.before(now)) {
+            record.setStatus(LendingStatus.OVERDUE);
+            record.setStatusChangeReason(OVERDUE_REASON);
+            record.setLastModifiedDate(now);
+            emailService.queueOverdueReminderEmail(record);
+        }
         log.debug("Attempting to save record ID: {} with updated end date.", record.getId());
         // REMOVED REDUNDANT SAVE CALL HERE
         try {
@@ -757,14 +1043,8 @@ public class LendingRecordService {
     public boolean isOwnerOfRecord(int recordId, String username) {
         if (username == null) return false;
         try {
-            LendingRecord record = lendingRecordRepository.findLendingRecordById(recordId).orElse(null);
-            Account user = accountRepository.findByEmail(username).orElse(null);
-
-            if (record == null || user == null || record.getRecordOwner() == null) {
-                return false; // Cannot determine ownership
-            }
-
-            return record.getRecordOwner().getId() == user.getId();
+            return AuthorizationContext.current().decide("recordOwner", recordId, username,
+                    () -> lendingRecordRepository.existsByIdAndRecordOwner_Email(recordId, username));
         } catch (Exception e) {
             log.error("Error during isOwnerOfRecord check for record {}: {}", recordId, e.getMessage());
             return false; // Deny on error
@@ -778,23 +1058,10 @@ public class LendingRecordService {
     public boolean isOwnerOrBorrower(int recordId, String username) {
         if (username == null) return false;
         try {
-            LendingRecord record = lendingRecordRepository.findLendingRecordById(recordId).orElse(null);
-            Account user = accountRepository.findByEmail(username).orElse(null);
-
-            if (record == null || user == null) {
-                return false; // Cannot determine relationship
-            }
-
-            // Check if user is the owner
-            boolean isOwner = record.getRecordOwner() != null && record.getRecordOwner().getId() == user.getId();
-            if (isOwner) return true;
-
-            // Check if user is the borrower
-            boolean isBorrower = record.getRequest() != null && 
-                                 record.getRequest().getRequester() != null &&
-                                 record.getRequest().getRequester().getId() == user.getId();
-            
-            return isBorrower;
+            // Check if user is the owner, then if user is the borrower
+            return isOwnerOfRecord(recordId, username)
+                    || AuthorizationContext.current().decide("recordBorrower", recordId, username,
+                            () -> lendingRecordRepository.existsByIdAndRequest_Requester_Email(recordId, username));
         } catch (Exception e) {
             log.error("Error during isOwnerOrBorrower check for record {}: {}", recordId, e.getMessage());
             return false; // Deny on error
@@ -0,0 +1,89 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+
+/**
+ * Moves active lending records whose end date has passed to OVERDUE. Each run walks the
+ * past-due active records in chunks by ID, and every chunk is updated with a single
+ * {@code UPDATE ... WHERE id IN (...)} and gets its reminder emails queued in the same
+ * transaction.
+ * <p>
+ * Every run scans all active records with an end date before now rather than only those
+ * that passed due since the previous run, so records whose end date was moved back into the
+ * past, or that were missed by a failed or skipped run, are still caught. Records leave the
+ * scan once they are OVERDUE, and the (status, end_date) index keeps it to the past-due rows.
+ */
+@Component
+public class OverdueLendingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueLendingJob.class);
+
+    private final LendingRecordRepository lendingRecordRepository;
+    private final LendingRecordService lendingRecordService;
+
+    @Value("${lending.overdue-job.enabled:true}")
+    private boolean enabled;
+
+    @Value("${lending.overdue-job.chunk-size:500}")
+    private int chunkSize;
+
+    public OverdueLendingJob(LendingRecordRepository lendingRecordRepository, LendingRecordService lendingRecordService) {
+        this.lendingRecordRepository = lendingRecordRepository;
+        this.lendingRecordService = lendingRecordService;
+    }
+
+    /**
+     * Runs the job on a fixed delay. Disabled with lending.overdue-job.enabled=false.
+     */
+    @Scheduled(fixedDelayString = "${lending.overdue-job.interval-ms:300000}",
+               initialDelayString = "${lending.overdue-job.initial-delay-ms:10000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            markOverdue();
+        } catch (Exception e) {
+            // Records left ACTIVE are picked up again by the next run
+            log.error("Overdue lending job failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Marks the active records whose end date has passed.
+     *
+     * @return the number of records moved to OVERDUE
+     */
+    public synchronized int markOverdue() {
+        Date now = new Date();
+        int afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Integer> ids = lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+                    LendingStatus.ACTIVE, now, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            total += lendingRecordService.markRecordsOverdue(ids, now);
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Overdue lending job marked {} records overdue", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,38 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the rating aggregate columns on Game once the application has started.
+ * Games created before the aggregate existed have a zero sum and count, so their
+ * aggregates are recomputed from the review table in a single statement.
+ * Enabled with the game.rating-aggregate.backfill-on-startup property.
+ */
+@Component
+@ConditionalOnProperty(name = "game.rating-aggregate.backfill-on-startup", havingValue = "true")
+public class RatingAggregateBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateBackfill.class);
+
+    @Autowired
+    private GameService gameService;
+
+    /**
+     * Recomputes all rating aggregates when the application is ready to serve requests.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRatingAggregates() {
+        try {
+            gameService.recomputeRatingAggregates();
+        } catch (Exception e) {
+            // A failed backfill should not prevent the application from serving requests
+            logger.error("Failed to backfill game rating aggregates: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -4,10 +4,13 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,15 +18,19 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import ca.mcgill.ecse321.gameorganizer.dto.response.RegistrationResponseDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.WaitlistPositionDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Registration;
+import ca.mcgill.ecse321.gameorganizer.models.WaitlistEntry;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.WaitlistEntryRepository;
+import ca.mcgill.ecse321.gameorganizer.security.AuthorizationContext;
 
 /**
  * Service class that handles business logic for event registration operations.
@@ -38,12 +45,17 @@ public class RegistrationService {
     private final RegistrationRepository registrationRepository;
     private final AccountRepository accountRepository;
     private final EventRepository eventRepository; // Add EventRepository field
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    /** Waitlist entries fetched per attempt when promoting into a freed seat */
+    private static final int PROMOTION_CANDIDATES = 5;
 
     @Autowired
-    public RegistrationService(RegistrationRepository registrationRepository, AccountRepository accountRepository, EventRepository eventRepository) { // Inject EventRepository
+    public RegistrationService(RegistrationRepository registrationRepository, AccountRepository accountRepository, EventRepository eventRepository, WaitlistEntryRepository waitlistEntryRepository) { // Inject EventRepository
         this.registrationRepository = registrationRepository;
         this.accountRepository = accountRepository;
         this.eventRepository = eventRepository; // Assign injected repository
+        this.waitlistEntryRepository = waitlistEntryRepository;
     }
 
     /**
@@ -70,17 +82,28 @@ public class RegistrationService {
                 throw new IllegalArgumentException("You cannot register for your own event.");
             }
 
+            // A registered account no longer needs its place in the queue. Deleting the entry first
+            // locks it, so a concurrent promotion either claims it before us, and our insert then
+            // fails as a duplicate, or waits for us and finds it gone
+            waitlistEntryRepository.deleteByEventIdAndAccountId(eventRegisteredFor.getId(), attendee.getId());
+
             Registration registration = new Registration(registrationDate);
-            if (registrationRepository.existsByAttendeeAndEventRegisteredFor(attendee, eventRegisteredFor)) {
+            registration.setAttendee(attendee); // Set attendee from context
+            registration.setEventRegisteredFor(eventRegisteredFor);
+            try {
+                // The unique (attendee, event) constraint rejects duplicates, including concurrent ones
+                registration = registrationRepository.saveAndFlush(registration);
+            } catch (DataIntegrityViolationException e) {
                 throw new IllegalArgumentException("Registration already exists for this account and event.");
             }
-            if (eventRegisteredFor.getCurrentNumberParticipants() >= eventRegisteredFor.getMaxParticipants()) {
+            // Taking the seat last keeps the event row locked only until commit; a full event
+            // rolls the registration back with the exception
+            if (eventRepository.reserveSeat(eventRegisteredFor.getId()) == 0) {
                 throw new IllegalArgumentException("Event is already at full capacity.");
             }
-            registration.setAttendee(attendee); // Set attendee from context
+            // Reflect the seat in the returned copy; the column itself is only written by reserveSeat
             eventRegisteredFor.setCurrentNumberParticipants(eventRegisteredFor.getCurrentNumberParticipants() + 1);
-            registration.setEventRegisteredFor(eventRegisteredFor);
-            return registrationRepository.save(registration);
+            return registration;
             
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -187,22 +210,21 @@ public class RegistrationService {
 
             // Authorization handled by @PreAuthorize
             
-            // Decrement participant count before deleting
+            registrationRepository.deleteById(id);
+
+            // The freed seat goes to the head of the waitlist, leaving the count unchanged;
+            // with nobody waiting it is given back atomically
             Event event = registration.getEventRegisteredFor();
             if (event != null) {
-                int currentCount = event.getCurrentNumberParticipants();
-                if (currentCount > 0) { // Prevent going below zero
-                    event.setCurrentNumberParticipants(currentCount - 1);
-                    eventRepository.save(event); // Save the updated event
-                } else {
+                if (promoteFromWaitlist(event)) {
+                    log.info("Seat freed by registration {} was given to the head of the waitlist for event {}.", id, event.getId());
+                } else if (eventRepository.releaseSeat(event.getId()) == 0) {
                     // Log a warning if count is already zero
                     log.warn("Attempted to decrement participant count for event {} which was already zero.", event.getId());
                 }
             } else {
                 log.warn("Registration with ID {} did not have an associated event.", id);
             }
-
-            registrationRepository.deleteById(id);
             
         } catch (ResourceNotFoundException e) {
             throw e; // Re-throw not found error
@@ -217,6 +239,145 @@ public class RegistrationService {
         }
     }
  
+    /**
+     * Adds the authenticated account to the waitlist of a full event. Joining again returns
+     * the existing place in the queue.
+     *
+     * @param eventId The ID of the full event
+     * @return The account's place in the waitlist
+     * @throws ResourceNotFoundException if the event does not exist
+     * @throws IllegalArgumentException if the account hosts or is registered for the event,
+     *                                  or the event still has free seats
+     */
+    @Transactional
+    @PreAuthorize("isAuthenticated()")
+    public WaitlistPositionDto joinWaitlist(UUID eventId) {
+        Account account = authenticatedAccount();
+        Event event = eventRepository.findEventById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event with id " + eventId + " not found"));
+
+        Optional<WaitlistEntry> existing = waitlistEntryRepository.findByEvent_IdAndAccount_Email(eventId, account.getEmail());
+        if (existing.isPresent()) {
+            return toPosition(existing.get());
+        }
+        if (event.getHost() != null && event.getHost().getEmail().equals(account.getEmail())) {
+            throw new IllegalArgumentException("You cannot join the waitlist for your own event.");
+        }
+        if (registrationRepository.existsByEventRegisteredFor_IdAndAttendee_Email(eventId, account.getEmail())) {
+            throw new IllegalArgumentException("You are already registered for this event.");
+        }
+        if (event.getCurrentNumberParticipants() < event.getMaxParticipants()) {
+            throw new IllegalArgumentException("Event still has free seats. Register instead.");
+        }
+        try {
+            return toPosition(waitlistEntryRepository.saveAndFlush(new WaitlistEntry(event, account)));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request from the same account joined first
+            throw new IllegalArgumentException("You are already on the waitlist for this event.");
+        }
+    }
+
+    /**
+     * Returns the authenticated account's place in an event's waitlist.
+     *
+     * @param eventId The ID of the event
+     * @return The account's place in the waitlist
+     * @throws ResourceNotFoundException if the account is not waiting for the event
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("isAuthenticated()")
+    public WaitlistPositionDto getWaitlistPosition(UUID eventId) {
+        String email = authenticatedAccount().getEmail();
+        return waitlistEntryRepository.findByEvent_IdAndAccount_Email(eventId, email)
+                .map(this::toPosition)
+                .orElseThrow(() -> new ResourceNotFoundException("You are not on the waitlist for event " + eventId));
+    }
+
+    /**
+     * Removes the authenticated account from an event's waitlist.
+     *
+     * @param eventId The ID of the event
+     * @throws ResourceNotFoundException if the account is not waiting for the event
+     */
+    @Transactional
+    @PreAuthorize("isAuthenticated()")
+    public void leaveWaitlist(UUID eventId) {
+        Account account = authenticatedAccount();
+        if (waitlistEntryRepository.deleteByEventIdAndAccountId(eventId, account.getId()) == 0) {
+            throw new ResourceNotFoundException("You are not on the waitlist for event " + eventId);
+        }
+    }
+
+    /**
+     * Gives the free seats of an event to the head of its waitlist, one account per seat,
+     * until the event is full or nobody is waiting. Called when an event gains seats, such
+     * as when its host raises the maximum number of participants.
+     *
+     * @param event The event that may have free seats
+     * @return The number of accounts promoted
+     */
+    @Transactional
+    public int fillFreeSeatsFromWaitlist(Event event) {
+        int promoted = 0;
+        while (eventRepository.reserveSeat(event.getId()) == 1) {
+            if (!promoteFromWaitlist(event)) {
+                // Nobody is waiting; give the seat back
+                eventRepository.releaseSeat(event.getId());
+                break;
+            }
+            promoted++;
+        }
+        if (promoted > 0) {
+            log.info("Promoted {} accounts from the waitlist into free seats of event {}.", promoted, event.getId());
+        }
+        return promoted;
+    }
+
+    /**
+     * Registers the head of an event's waitlist into a seat that was just freed. Candidates
+     * are claimed by deleting their entry, so concurrent cancellations promote different
+     * accounts. A claimed account that is already registered, for instance one that joined
+     * the waitlist while its registration was being created, is dropped from the queue and
+     * the next entry is tried.
+     *
+     * @return true if an account was promoted, false if nobody is waiting
+     */
+    private boolean promoteFromWaitlist(Event event) {
+        while (true) {
+            List<WaitlistEntry> head = waitlistEntryRepository.findHead(event.getId(), PageRequest.of(0, PROMOTION_CANDIDATES));
+            if (head.isEmpty()) {
+                return false;
+            }
+            for (WaitlistEntry entry : head) {
+                if (waitlistEntryRepository.claim(entry.getId()) == 0) {
+                    continue;
+                }
+                if (registrationRepository.existsByEventRegisteredFor_IdAndAttendee_Email(
+                        event.getId(), entry.getAccount().getEmail())) {
+                    log.info("Skipped waitlist entry {} for event {}: the account is already registered.", entry.getId(), event.getId());
+                    continue;
+                }
+                Registration promoted = new Registration(new Date());
+                promoted.setAttendee(entry.getAccount());
+                promoted.setEventRegisteredFor(event);
+                registrationRepository.save(promoted);
+                return true;
+            }
+        }
+    }
+
+    private WaitlistPositionDto toPosition(WaitlistEntry entry) {
+        UUID eventId = entry.getEvent().getId();
+        long ahead = waitlistEntryRepository.countByEvent_IdAndIdLessThan(eventId, entry.getId());
+        return new WaitlistPositionDto(eventId, ahead + 1, entry.getJoinedAt());
+    }
+
+    private Account authenticatedAccount() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return accountRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UnauthedException("Authenticated account not found in database."));
+    }
+
     // --- Helper methods for @PreAuthorize --- 
 
     /**
@@ -225,14 +386,8 @@ public class RegistrationService {
     public boolean isAttendee(int registrationId, String username) {
         if (username == null) return false;
         try {
-            Registration registration = registrationRepository.findRegistrationById(registrationId).orElse(null);
-            Account user = accountRepository.findByEmail(username).orElse(null);
-
-            if (registration == null || user == null || registration.getAttendee() == null) {
-                return false; // Cannot determine attendee
-            }
-
-            return registration.getAttendee().getId() == user.getId();
+            return AuthorizationContext.current().decide("attendee", registrationId, username,
+                    () -> registrationRepository.existsByIdAndAttendee_Email(registrationId, username));
         } catch (Exception e) {
             // Log error
             return false; // Deny on error
@@ -0,0 +1,75 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the trigram indexes behind the "contains" text searches once the application has started.
+ * The searches compile to LOWER(column) LIKE '%text%', which a btree index cannot serve; on
+ * PostgreSQL a pg_trgm GIN index over LOWER(column) can, so these queries stop scanning the
+ * whole table. Other databases (H2 in tests) run the same queries without the indexes.
+ * Enabled with the search.trigram-indexes.create-on-startup property.
+ */
+@Component
+@ConditionalOnProperty(name = "search.trigram-indexes.create-on-startup", havingValue = "true")
+public class TextSearchIndexes {
+
+    private static final Logger logger = LoggerFactory.getLogger(TextSearchIndexes.class);
+
+    /** Statements creating the extension and the indexes; each is a no-op if it already exists */
+    public static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_game_name_trgm ON game USING gin (lower(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_event_title_trgm ON event USING gin (lower(title) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_event_location_trgm ON event USING gin (lower(location) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_account_name_trgm ON account USING gin (lower(name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_account_email_trgm ON account USING gin (lower(email) gin_trgm_ops)");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TextSearchIndexes(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the trigram indexes when the application is ready to serve requests,
+     * if the database is PostgreSQL.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            if (!isPostgreSql()) {
+                logger.info("Skipping trigram indexes: text searches fall back to table scans on this database");
+                return;
+            }
+            for (String statement : STATEMENTS) {
+                jdbcTemplate.execute(statement);
+            }
+            logger.info("Trigram indexes for text search are in place");
+        } catch (Exception e) {
+            // Searches still work without the indexes, only slower
+            logger.error("Failed to create trigram indexes: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isPostgreSql() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
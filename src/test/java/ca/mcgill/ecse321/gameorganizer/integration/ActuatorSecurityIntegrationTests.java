@@ -0,0 +1,48 @@
+package ca.mcgill.ecse321.gameorganizer.integration;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
+
+/**
+ * Checks that the health endpoint is public while the other actuator endpoints need an admin.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = TestJwtConfig.Initializer.class)
+public class ActuatorSecurityIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testHealthIsPublic() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testMetricsRequireAuthentication() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testMetricsRequireAdminRole() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics").with(user("user@example.com").roles("USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics").with(user("admin@example.com").roles("ADMIN")))
+                .andExpect(status().isOk());
+    }
+}
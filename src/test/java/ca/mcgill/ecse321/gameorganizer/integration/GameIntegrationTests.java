@@ -374,8 +374,8 @@ public class GameIntegrationTests {
                 .param("name", "Test")
                 .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER"))) // Add authentication
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$").isArray())
-            .andExpect(jsonPath("$.length()").value(1));
+            .andExpect(jsonPath("$.content").isArray())
+            .andExpect(jsonPath("$.content.length()").value(1));
     }
 
     @Test
@@ -386,8 +386,8 @@ public class GameIntegrationTests {
                 .param("maxPlayers", "4")
                 .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER"))) // Add authentication
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$").isArray())
-            .andExpect(jsonPath("$.length()").value(1));
+            .andExpect(jsonPath("$.content").isArray())
+            .andExpect(jsonPath("$.content.length()").value(1));
     }
 
     @Test
@@ -397,8 +397,8 @@ public class GameIntegrationTests {
                 .param("category", "Board Game")
                 .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER"))) // Add authentication
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$").isArray())
-            .andExpect(jsonPath("$.length()").value(1));
+            .andExpect(jsonPath("$.content").isArray())
+            .andExpect(jsonPath("$.content.length()").value(1));
     }
 
     @Test
@@ -415,10 +415,71 @@ public class GameIntegrationTests {
                 .param("order", "asc")
                 .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER"))) // Add authentication
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$").isArray())
-            .andExpect(jsonPath("$.length()").value(2))
-            .andExpect(jsonPath("$[0].name").value("Another Game")) // Sorted alphabetically
-            .andExpect(jsonPath("$[1].name").value("Test Game"));
+            .andExpect(jsonPath("$.content").isArray())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].name").value("Another Game")) // Sorted alphabetically
+            .andExpect(jsonPath("$.content[1].name").value("Test Game"));
+    }
+
+    @Test
+    @Order(20)
+    public void testSearchGamesWithPagination() throws Exception {
+        Game game2 = new Game("Another Game", 1, 2, "ag.jpg", new java.util.Date());
+        game2.setOwner(testOwner);
+        game2.setCategory("Card Game");
+        gameRepository.save(game2);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/games/search")
+                .param("sort", "name")
+                .param("order", "asc")
+                .param("page", "1")
+                .param("size", "1")
+                .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].name").value("Test Game"))
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.totalPages").value(2));
+    }
+
+    @Test
+    @Order(20)
+    public void testSearchGamesPagesThroughMoreThanOnePageOfMatches() throws Exception {
+        // 25 more matches on top of the shared "Test Game"
+        for (int i = 1; i <= 25; i++) {
+            Game extra = new Game(String.format("Test Expansion %02d", i), 2, 4, "te.jpg", new java.util.Date());
+            extra.setOwner(testOwner);
+            gameRepository.save(extra);
+        }
+
+        // The default page holds 20 games and says more are available
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/games/search")
+                .param("name", "Test")
+                .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(20))
+            .andExpect(jsonPath("$.number").value(0))
+            .andExpect(jsonPath("$.last").value(false))
+            .andExpect(jsonPath("$.totalElements").value(26));
+
+        // The next page, as requested by "Load more games", holds the rest
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/games/search")
+                .param("name", "Test")
+                .param("page", "1")
+                .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(6))
+            .andExpect(jsonPath("$.number").value(1))
+            .andExpect(jsonPath("$.last").value(true));
+    }
+
+    @Test
+    @Order(20)
+    public void testSearchGamesWithInvalidPageSize() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/games/search")
+                .param("size", "0")
+                .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER")))
+            .andExpect(status().isBadRequest());
     }
 
     // ----- Get Games By Owner Tests -----
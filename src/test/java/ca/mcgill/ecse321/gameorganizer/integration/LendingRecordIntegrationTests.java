@@ -485,6 +485,35 @@ public class LendingRecordIntegrationTests {
             .andExpect(status().isNotFound()); // Updated to 404 NOT_FOUND per error message
     }
 
+    @Test
+    @Order(26)
+    public void testOwnerHistoryEndpointsRejectUnknownOwner() throws Exception {
+        int unknownOwnerId = testOwner.getId() + 1000;
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/lending-records/owner/" + unknownOwnerId + "/status/ACTIVE")
+                .with(user(testOwner.getEmail()).password(TEST_PASSWORD).roles("GAME_OWNER")))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/lending-records/owner/" + unknownOwnerId + "/date-range")
+                .param("startDate", "2023-01-01")
+                .param("endDate", "2023-12-31")
+                .with(user(testOwner.getEmail()).password(TEST_PASSWORD).roles("GAME_OWNER")))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/lending-records/owner/" + unknownOwnerId + "/overdue")
+                .with(user(testOwner.getEmail()).password(TEST_PASSWORD).roles("GAME_OWNER")))
+            .andExpect(status().isNotFound());
+        // A borrower account is not a game owner
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/lending-records/owner/" + testBorrower.getId() + "/overdue")
+                .with(user(testOwner.getEmail()).password(TEST_PASSWORD).roles("GAME_OWNER")))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(27)
+    public void testOwnerHistoryEndpointAcceptsKnownOwner() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/lending-records/owner/" + testOwner.getId() + "/status/ACTIVE")
+                .with(user(testOwner.getEmail()).password(TEST_PASSWORD).roles("GAME_OWNER")))
+            .andExpect(status().isOk());
+    }
+
     // ... (Continue adapting remaining tests similarly) ...
 
     @Test
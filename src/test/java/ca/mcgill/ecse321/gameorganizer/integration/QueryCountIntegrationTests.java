@@ -0,0 +1,194 @@
+package ca.mcgill.ecse321.gameorganizer.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Registration;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that list endpoints issue the same number of SQL statements whatever the
+ * number of rows they return. Each row in the larger data set references its own
+ * owner, host or game, so mapping rows to DTOs with per-row lazy loads would show up
+ * as a higher statement count.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = TestJwtConfig.Initializer.class)
+public class QueryCountIntegrationTests {
+
+    private static final String USER_EMAIL = "counter@example.com";
+    private static final int ADDITIONAL_ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameInstanceRepository gameInstanceRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private LendingRecordRepository lendingRecordRepository;
+
+    private SqlStatementCounter counter;
+    private Account user;
+    private int seeded;
+
+    @BeforeEach
+    public void setup() {
+        registrationRepository.deleteAll();
+        lendingRecordRepository.deleteAll();
+        borrowRequestRepository.deleteAll();
+        eventRepository.deleteAll();
+        jdbcTemplate.execute("DELETE FROM game_instance");
+        gameRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        counter = new SqlStatementCounter(entityManagerFactory);
+        user = accountRepository.save(new Account("counter", USER_EMAIL, "password123"));
+        seeded = 0;
+    }
+
+    @Test
+    public void testGetAllGamesStatementCountIsConstant() throws Exception {
+        assertConstantStatementCount(MockMvcRequestBuilders.get("/api/games"), this::seedGame);
+    }
+
+    @Test
+    public void testGetAllEventsStatementCountIsConstant() throws Exception {
+        assertConstantStatementCount(MockMvcRequestBuilders.get("/api/events"), this::seedEvent);
+    }
+
+    @Test
+    public void testGetAllRegistrationsStatementCountIsConstant() throws Exception {
+        assertConstantStatementCount(
+                MockMvcRequestBuilders.get("/api/registrations").with(user(USER_EMAIL).roles("USER")),
+                () -> {
+                    Registration registration = new Registration(new Date());
+                    registration.setAttendee(user);
+                    registration.setEventRegisteredFor(seedEvent());
+                    registrationRepository.save(registration);
+                });
+    }
+
+    @Test
+    public void testGetBorrowRequestsStatementCountIsConstant() throws Exception {
+        assertConstantStatementCount(
+                MockMvcRequestBuilders.get("/api/borrowrequests").with(user(USER_EMAIL).roles("USER")),
+                this::seedBorrowRequest);
+    }
+
+    @Test
+    public void testGetLendingRecordsPageStatementCountIsConstant() throws Exception {
+        assertConstantStatementCount(
+                MockMvcRequestBuilders.get("/api/lending-records").param("size", "50")
+                        .with(user(USER_EMAIL).roles("USER")),
+                () -> {
+                    BorrowRequest request = seedBorrowRequest();
+                    GameOwner owner = request.getRequestedGame().getOwner();
+                    lendingRecordRepository.save(new LendingRecord(request.getStartDate(), request.getEndDate(),
+                            LendingStatus.ACTIVE, request, owner));
+                });
+    }
+
+    /**
+     * Runs the request against one seeded row and again against several more, and fails
+     * if the second run prepared more statements than the first.
+     */
+    private void assertConstantStatementCount(RequestBuilder request, Runnable seedRow) throws Exception {
+        seedRow.run();
+        long singleRowCount = counter.count(() -> mockMvc.perform(request).andExpect(status().isOk()));
+
+        for (int i = 0; i < ADDITIONAL_ROWS; i++) {
+            seedRow.run();
+        }
+        long manyRowCount = counter.count(() -> mockMvc.perform(request).andExpect(status().isOk()));
+
+        assertEquals(singleRowCount, manyRowCount,
+                "Statement count grew from " + singleRowCount + " to " + manyRowCount
+                        + " when the result grew by " + ADDITIONAL_ROWS + " rows");
+    }
+
+    private Game seedGame() {
+        int n = ++seeded;
+        GameOwner owner = accountRepository.save(
+                new GameOwner("owner" + n, "owner" + n + "@example.com", "password123"));
+        Game game = new Game("Game " + n, 2, 4, "game.jpg", new Date());
+        game.setOwner(owner);
+        return gameRepository.save(game);
+    }
+
+    private Event seedEvent() {
+        Game game = seedGame();
+        Account host = accountRepository.save(
+                new Account("host" + seeded, "host" + seeded + "@example.com", "password123"));
+        return eventRepository.save(new Event("Event " + seeded, new Date(), "Montreal", "Game night",
+                10, game, host));
+    }
+
+    private BorrowRequest seedBorrowRequest() {
+        Game game = seedGame();
+        GameInstance instance = gameInstanceRepository.save(
+                new GameInstance(game, game.getOwner(), "Good", "Shelf", "Copy " + seeded));
+        Date start = new Date(System.currentTimeMillis() + 86400000L);
+        Date end = new Date(System.currentTimeMillis() + 3 * 86400000L);
+        BorrowRequest request = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, new Date(),
+                game, instance);
+        request.setRequester(user);
+        request.setResponder(game.getOwner());
+        return borrowRequestRepository.save(request);
+    }
+}
@@ -0,0 +1,233 @@
+package ca.mcgill.ecse321.gameorganizer.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.services.RegistrationService;
+
+/**
+ * Registers many attendees for the same event from parallel threads and checks that the
+ * seat count and the stored registrations never exceed the event's capacity, and that seats
+ * freed by cancellations go to the waitlist in order.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@ContextConfiguration(initializers = TestJwtConfig.Initializer.class)
+public class RegistrationConcurrencyIntegrationTests {
+
+    private static final int CAPACITY = 50;
+    private static final int ATTENDEES = 300;
+    private static final int THREADS = 32;
+    private static final String FULL_MESSAGE = "Event is already at full capacity.";
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Event event;
+    private List<Account> attendees;
+
+    @BeforeEach
+    public void setUp() {
+        cleanUp();
+        GameOwner host = accountRepository.save(new GameOwner("Host", "host@concurrency.com", "password123"));
+        Game game = new Game("Rush Game", 2, 6, "rush.jpg", new Date());
+        game.setOwner(host);
+        game = gameRepository.save(game);
+        event = eventRepository.save(new Event("Signup Rush", new Date(), "Hall", "Popular event", CAPACITY, game, host));
+
+        attendees = new ArrayList<>();
+        for (int i = 0; i < ATTENDEES; i++) {
+            attendees.add(new Account("Attendee " + i, "attendee" + i + "@concurrency.com", "password123"));
+        }
+        attendees = accountRepository.saveAll(attendees);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        gameRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    public void testConcurrentRegistrationsNeverOversell() throws Exception {
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (Account attendee : attendees) {
+            tasks.add(() -> register(attendee.getEmail()));
+        }
+
+        List<String> outcomes = runConcurrently(tasks);
+
+        long registered = outcomes.stream().filter("registered"::equals).count();
+        long full = outcomes.stream().filter(FULL_MESSAGE::equals).count();
+        assertEquals(CAPACITY, registered, "Outcomes: " + outcomes);
+        assertEquals(ATTENDEES - CAPACITY, full, "Outcomes: " + outcomes);
+        assertEquals(CAPACITY, eventRepository.findEventById(event.getId()).orElseThrow().getCurrentNumberParticipants());
+        assertEquals(CAPACITY, registrationRepository.findByEventRegisteredFor(event).size());
+    }
+
+    @Test
+    public void testConcurrentDuplicateRegistrationsTakeOneSeat() throws Exception {
+        String email = attendees.get(0).getEmail();
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> register(email));
+        }
+
+        List<String> outcomes = runConcurrently(tasks);
+
+        // Losing attempts fail on the unique constraint; only the winner holds a seat
+        assertEquals(1, outcomes.stream().filter("registered"::equals).count(), "Outcomes: " + outcomes);
+        assertEquals(1, eventRepository.findEventById(event.getId()).orElseThrow().getCurrentNumberParticipants());
+        assertEquals(1, registrationRepository.findByEventRegisteredFor(event).size());
+    }
+
+    @Test
+    public void testConcurrentCancellationsPromoteWaitlistInOrder() throws Exception {
+        List<Callable<String>> fill = new ArrayList<>();
+        for (Account attendee : attendees.subList(0, CAPACITY)) {
+            fill.add(() -> register(attendee.getEmail()));
+        }
+        runConcurrently(fill);
+        List<Account> waiting = attendees.subList(CAPACITY, CAPACITY + 3);
+        for (Account account : waiting) {
+            authenticate(account.getEmail());
+            try {
+                registrationService.joinWaitlist(event.getId());
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        List<Callable<String>> cancellations = new ArrayList<>();
+        for (Account attendee : attendees.subList(0, 2)) {
+            cancellations.add(() -> cancel(attendee.getEmail()));
+        }
+        List<String> outcomes = runConcurrently(cancellations);
+
+        assertEquals(List.of("cancelled", "cancelled"), outcomes);
+        // Both seats went to the two oldest waiters, so the count never dropped
+        assertEquals(CAPACITY, eventRepository.findEventById(event.getId()).orElseThrow().getCurrentNumberParticipants());
+        List<String> registered = registrationRepository.findByEventRegisteredFor(event).stream()
+                .map(registration -> registration.getAttendee().getEmail()).toList();
+        assertEquals(CAPACITY, registered.size());
+        assertTrue(registered.contains(waiting.get(0).getEmail()));
+        assertTrue(registered.contains(waiting.get(1).getEmail()));
+        authenticate(waiting.get(2).getEmail());
+        try {
+            assertEquals(1, registrationService.getWaitlistPosition(event.getId()).getPosition());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Registers the account for the event the way RegistrationController does, and returns
+     * "registered" or the failure message.
+     */
+    private String register(String email) {
+        authenticate(email);
+        try {
+            Event loaded = eventRepository.findEventById(event.getId()).orElseThrow();
+            registrationService.createRegistration(new Date(), loaded);
+            return "registered";
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * Cancels the account's registration for the event, and returns "cancelled" or the
+     * failure message.
+     */
+    private String cancel(String email) {
+        int registrationId = registrationRepository.findRegistrationByAttendeeEmail(email).get(0).getId();
+        authenticate(email);
+        try {
+            registrationService.deleteRegistration(registrationId);
+            return "cancelled";
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void authenticate(String email) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new User(email, "", authorities), null, authorities));
+    }
+
+    /**
+     * Releases all tasks at once on a fixed pool and collects their results.
+     */
+    private static List<String> runConcurrently(List<Callable<String>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (Callable<String> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<String> outcomes = new ArrayList<>();
+            for (Future<String> future : futures) {
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+}
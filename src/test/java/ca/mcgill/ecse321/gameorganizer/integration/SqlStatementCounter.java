@@ -0,0 +1,42 @@
+package ca.mcgill.ecse321.gameorganizer.integration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Test helper that counts the SQL statements Hibernate prepares while an action runs.
+ * Used to check that list endpoints issue a fixed number of statements regardless of
+ * how many rows they return.
+ */
+public class SqlStatementCounter {
+
+    /**
+     * An action whose statements are counted, such as a MockMvc request.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Runs the action and returns the number of statements prepared while it ran.
+     *
+     * @param action the action to run
+     * @return the number of prepared SQL statements
+     * @throws Exception if the action fails
+     */
+    public long count(Action action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
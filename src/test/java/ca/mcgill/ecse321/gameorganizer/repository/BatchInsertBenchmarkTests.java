@@ -0,0 +1,114 @@
+package ca.mcgill.ecse321.gameorganizer.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+
+/**
+ * Measures the JDBC round trips needed to insert many games. With hibernate.jdbc.batch_size=50
+ * and pooled-lo sequences allocating 100 IDs at a time, N inserts should cost about
+ * N/50 batch executions plus N/100 sequence calls, instead of one INSERT and a share of a
+ * sequence call per row.
+ */
+@DataJpaTest
+public class BatchInsertBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchInsertBenchmarkTests.class);
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+    private static final int ALLOCATION_SIZE = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private GameOwner owner;
+    private RoundTripCounter counter;
+
+    @BeforeEach
+    public void setUp() {
+        owner = entityManager.persistAndFlush(new GameOwner("Batch Owner", "batch@example.com", "password123"));
+        counter = new RoundTripCounter();
+        session().addEventListeners(counter);
+    }
+
+    @Test
+    public void testBatchedInsertsCostAboutOneRoundTripPerBatch() {
+        long batched = insertGames(ROWS);
+
+        long expected = ROWS / BATCH_SIZE + ROWS / ALLOCATION_SIZE;
+        assertTrue(batched <= expected + 2,
+                "Expected about " + expected + " round trips for " + ROWS + " inserts but counted " + batched);
+    }
+
+    @Test
+    public void testUnbatchedInsertsCostOneRoundTripPerRow() {
+        session().setJdbcBatchSize(1);
+
+        long unbatched = insertGames(ROWS);
+
+        // The same rows without batching, for comparison with the batched test
+        assertTrue(unbatched >= ROWS, "Expected at least " + ROWS + " round trips but counted " + unbatched);
+    }
+
+    private long insertGames(int rows) {
+        counter.reset();
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            Game game = new Game("Batch Game " + i, 2, 4, "batch.jpg", new Date());
+            game.setOwner(owner);
+            entityManager.persist(game);
+        }
+        entityManager.flush();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long roundTrips = counter.roundTrips();
+        log.info("Inserted {} games in {} ms with {} JDBC round trips ({} batches, {} single statements)",
+                rows, elapsedMillis, roundTrips, counter.batches, counter.statements);
+        entityManager.clear();
+        return roundTrips;
+    }
+
+    private Session session() {
+        return entityManager.getEntityManager().unwrap(Session.class);
+    }
+
+    /**
+     * Counts executed JDBC batches and single statements, each of which is one round trip.
+     */
+    private static class RoundTripCounter implements SessionEventListener {
+        private long batches;
+        private long statements;
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches++;
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements++;
+        }
+
+        void reset() {
+            batches = 0;
+            statements = 0;
+        }
+
+        long roundTrips() {
+            return batches + statements;
+        }
+    }
+}
@@ -13,11 +13,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
@@ -187,15 +190,10 @@ public class BorrowRequestTests {
         request1 = entityManager.persistAndFlush(request1);
         entityManager.clear();
 
-        // Find overlapping approved requests
-        List<BorrowRequest> overlapping = borrowRequestRepository.findOverlappingApprovedRequests(
-            testGame.getId(),
-            testStartDate,
-            testEndDate
-        );
-
-        assertEquals(1, overlapping.size());
-        assertEquals(request1.getId(), overlapping.get(0).getId());
+        // The request itself is excluded when its own dates are updated
+        assertFalse(borrowRequestRepository
+            .existsByRequestedGame_IdAndStatusAndIdNotAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                testGame.getId(), BorrowRequestStatus.APPROVED, request1.getId(), testEndDate, testStartDate));
     }
 
     @Test
@@ -226,4 +224,118 @@ public class BorrowRequestTests {
         Optional<BorrowRequest> deleted = borrowRequestRepository.findBorrowRequestById(id);
         assertFalse(deleted.isPresent(), "Request should be deleted");
     }
+
+    @Test
+    public void testFindGameIdsBorrowedAtAndDuring() {
+        Game otherGame = new Game("Other Game", 2, 4, "other.jpg", new Date());
+        otherGame.setOwner(testOwner);
+        otherGame = entityManager.persist(otherGame);
+
+        BorrowRequest approved = new BorrowRequest();
+        approved.setRequestedGame(testGame);
+        approved.setRequester(testRequester);
+        approved.setStartDate(testStartDate);
+        approved.setEndDate(testEndDate);
+        approved.setStatus(BorrowRequestStatus.APPROVED);
+        approved.setRequestDate(new Date());
+        entityManager.persist(approved);
+
+        BorrowRequest pending = new BorrowRequest();
+        pending.setRequestedGame(otherGame);
+        pending.setRequester(testRequester);
+        pending.setStartDate(testStartDate);
+        pending.setEndDate(testEndDate);
+        pending.setStatus(BorrowRequestStatus.PENDING);
+        pending.setRequestDate(new Date());
+        entityManager.persistAndFlush(pending);
+        entityManager.clear();
+
+        List<Integer> ids = List.of(testGame.getId(), otherGame.getId());
+        Date during = new Date(testStartDate.getTime() + 60 * 1000);
+
+        assertEquals(List.of(testGame.getId()), borrowRequestRepository.findGameIdsBorrowedAt(ids, during));
+        assertTrue(borrowRequestRepository.findGameIdsBorrowedAt(ids, new Date()).isEmpty());
+        assertEquals(List.of(testGame.getId()),
+                borrowRequestRepository.findGameIdsBorrowedDuring(ids, new Date(), during));
+        assertTrue(borrowRequestRepository.findGameIdsBorrowedDuring(
+                ids, testEndDate, new Date(testEndDate.getTime() + 3600 * 1000)).isEmpty());
+    }
+
+    @Test
+    public void testFindByGameInstanceOwnerPaged() {
+        GameInstance instance = entityManager.persist(new GameInstance(testGame, testOwner, "Good", "Shelf", "Copy"));
+        for (BorrowRequestStatus status : new BorrowRequestStatus[] {
+                BorrowRequestStatus.PENDING, BorrowRequestStatus.PENDING, BorrowRequestStatus.DECLINED }) {
+            BorrowRequest request = new BorrowRequest();
+            request.setRequestedGame(testGame);
+            request.setGameInstance(instance);
+            request.setRequester(testRequester);
+            request.setStartDate(testStartDate);
+            request.setEndDate(testEndDate);
+            request.setStatus(status);
+            request.setRequestDate(new Date());
+            entityManager.persist(request);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, borrowRequestRepository.findByGameInstance_Owner_Id(testOwner.getId()).size());
+
+        Page<BorrowRequest> pending = borrowRequestRepository.findByGameInstance_Owner_IdAndStatus(
+                testOwner.getId(), BorrowRequestStatus.PENDING, PageRequest.of(0, 1));
+        assertEquals(2, pending.getTotalElements());
+        assertEquals(1, pending.getContent().size());
+
+        assertTrue(borrowRequestRepository.findByGameInstance_Owner_Id(testRequester.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    public void testFindVisibleToAccount() {
+        GameInstance instance = entityManager.persist(new GameInstance(testGame, testOwner, "Good", "Shelf", "Copy"));
+        Account stranger = entityManager.persist(new Account("stranger", "stranger@test.com", "password"));
+
+        BorrowRequest request = new BorrowRequest();
+        request.setRequestedGame(testGame);
+        request.setGameInstance(instance);
+        request.setRequester(testRequester);
+        request.setStartDate(testStartDate);
+        request.setEndDate(testEndDate);
+        request.setStatus(BorrowRequestStatus.PENDING);
+        request.setRequestDate(new Date());
+        entityManager.persistAndFlush(request);
+        entityManager.clear();
+
+        assertEquals(1, borrowRequestRepository.findVisibleToAccount(testRequester.getId()).size());
+        assertEquals(1, borrowRequestRepository.findVisibleToAccount(testOwner.getId(), PageRequest.of(0, 10)).getTotalElements());
+        assertTrue(borrowRequestRepository.findVisibleToAccount(stranger.getId()).isEmpty());
+    }
+
+    @Test
+    public void testFindVisibleToAccountByStatusAndRequester() {
+        GameInstance instance = entityManager.persist(new GameInstance(testGame, testOwner, "Good", "Shelf", "Copy"));
+        Account stranger = entityManager.persist(new Account("stranger", "stranger@test.com", "password"));
+
+        for (BorrowRequestStatus status : new BorrowRequestStatus[] {BorrowRequestStatus.PENDING, BorrowRequestStatus.APPROVED}) {
+            BorrowRequest request = new BorrowRequest();
+            request.setRequestedGame(testGame);
+            request.setGameInstance(instance);
+            request.setRequester(testRequester);
+            request.setStartDate(testStartDate);
+            request.setEndDate(testEndDate);
+            request.setStatus(status);
+            request.setRequestDate(new Date());
+            entityManager.persist(request);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, borrowRequestRepository.findVisibleToAccountByStatus(testOwner.getId(), BorrowRequestStatus.PENDING).size());
+        assertEquals(1, borrowRequestRepository.findVisibleToAccountByStatus(testRequester.getId(), BorrowRequestStatus.APPROVED).size());
+        assertTrue(borrowRequestRepository.findVisibleToAccountByStatus(stranger.getId(), BorrowRequestStatus.PENDING).isEmpty());
+        assertEquals(1, borrowRequestRepository.findByStatusOrderById(BorrowRequestStatus.PENDING).size());
+
+        assertEquals(2, borrowRequestRepository.findVisibleToAccountByRequester(testOwner.getId(), testRequester.getId()).size());
+        assertTrue(borrowRequestRepository.findVisibleToAccountByRequester(stranger.getId(), testRequester.getId()).isEmpty());
+        assertEquals(2, borrowRequestRepository.findByRequester_IdOrderById(testRequester.getId()).size());
+    }
 }
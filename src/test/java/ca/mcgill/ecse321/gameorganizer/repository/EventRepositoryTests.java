@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
@@ -333,4 +334,46 @@ public class EventRepositoryTests {
         final String expectedHostName = host2.getName();
         events.forEach(e -> assertEquals(expectedHostName, e.getHost().getName()));
     }
+
+    @Test
+    public void testFindUpcomingPagesByKeyset() {
+        // Create test data: one past event, three at the same time, one later and one outside the window
+        Game game = entityManager.persist(new Game("Test Game", 2, 4, "game.jpg", new Date()));
+        Game bigGame = entityManager.persist(new Game("Big Game", 5, 10, "big.jpg", new Date()));
+        long now = System.currentTimeMillis();
+        Date start = new Date(now);
+        Date sameTime = new Date(now + 3_600_000L);
+        Date later = new Date(now + 7_200_000L);
+        Date end = new Date(now + 86_400_000L);
+
+        entityManager.persist(new Event("Past", new Date(now - 3_600_000L), "Hall", "Over", 10, game));
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(new Event("Tie " + i, sameTime, "Hall", "Same time", 10, game));
+        }
+        entityManager.persist(new Event("Later", later, "Library 100%", "Later", 10, bigGame));
+        entityManager.persist(new Event("Far", new Date(now + 2 * 86_400_000L), "Hall", "Outside", 10, game));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Page through the window two events at a time
+        List<Event> first = eventRepository.findUpcoming(start, end, null, null, null, null, null, PageRequest.of(0, 2));
+        Event cursor = first.get(1);
+        List<Event> second = eventRepository.findUpcoming(cursor.getDateTime(), end, cursor.getId(),
+            null, null, null, null, PageRequest.of(0, 2));
+
+        // Assertions: ties are split by ID without repeats and the past and far events are never returned
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+        assertTrue(first.stream().allMatch(e -> e.getTitle().startsWith("Tie")));
+        assertTrue(second.get(0).getTitle().startsWith("Tie"));
+        assertEquals("Later", second.get(1).getTitle());
+        assertFalse(first.stream().anyMatch(e -> e.getId().equals(second.get(0).getId())));
+        assertNotNull(second.get(1).getFeaturedGame().getName());
+
+        // Filters
+        assertEquals(1, eventRepository.findUpcoming(start, end, null, "%100\\%%", null, null, null, PageRequest.of(0, 10)).size());
+        assertEquals(1, eventRepository.findUpcoming(start, end, null, null, bigGame.getId(), null, null, PageRequest.of(0, 10)).size());
+        assertEquals(3, eventRepository.findUpcoming(start, end, null, null, null, 3, null, PageRequest.of(0, 10)).size());
+        assertEquals(0, eventRepository.findUpcoming(start, end, null, null, null, null, 11, PageRequest.of(0, 10)).size());
+    }
 }
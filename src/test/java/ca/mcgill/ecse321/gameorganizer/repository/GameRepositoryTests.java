@@ -6,15 +6,19 @@ import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.Review;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 
 @DataJpaTest
@@ -91,6 +95,23 @@ public class GameRepositoryTests {
         assertTrue(gamesWithMono.stream().allMatch(g -> g.getName().contains(searchTerm)));
     }
 
+    @Test
+    public void testFindByNameContainingIgnoresCaseAndRanksMatches() {
+        entityManager.persist(new Game("Deluxe Catan Seafarers", 3, 4, "c1.jpg", new Date()));
+        entityManager.persist(new Game("My First Catan", 2, 4, "c2.jpg", new Date()));
+        entityManager.persist(new Game("Catan: Cities", 3, 4, "c3.jpg", new Date()));
+        entityManager.persist(new Game("CATAN", 3, 4, "c4.jpg", new Date()));
+        entityManager.persist(new Game("Chess", 2, 2, "c.jpg", new Date()));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Game> games = gameRepository.findByNameContaining("catan");
+
+        // Earlier matches first, then shorter names
+        assertEquals(List.of("CATAN", "Catan: Cities", "Deluxe Catan Seafarers", "My First Catan"),
+            games.stream().map(Game::getName).collect(Collectors.toList()));
+    }
+
     @Test
     public void testFindByMinPlayers() {
         Game game1 = new Game("Game1", 2, 4, "g1.jpg", new Date());
@@ -242,6 +263,68 @@ public class GameRepositoryTests {
         assertTrue(gameIds.contains(game2.getId()));
     }
 
+    @Test
+    public void testGameResponseProjections() {
+        GameOwner owner = new GameOwner("Owner1", "owner1@test.com", "password1");
+        entityManager.persist(owner);
+
+        Game owned = new Game("Catan", 3, 4, "catan.jpg", new Date());
+        owned.setCategory("Strategy");
+        owned.setOwner(owner);
+        Game unowned = new Game("Chess", 2, 2, "chess.jpg", new Date());
+        unowned.setCategory("Classic");
+        entityManager.persist(owned);
+        entityManager.persist(unowned);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GameResponseDto> all = gameRepository.findAllGameResponses();
+        assertEquals(2, all.size());
+        GameResponseDto catan = all.stream().filter(g -> g.getName().equals("Catan")).findFirst().orElseThrow();
+        assertEquals(owned.getId(), catan.getId());
+        assertEquals("Strategy", catan.getCategory());
+        assertEquals(owner.getId(), catan.getOwner().getId());
+        assertEquals("owner1@test.com", catan.getOwner().getEmail());
+        GameResponseDto chess = all.stream().filter(g -> g.getName().equals("Chess")).findFirst().orElseThrow();
+        assertNull(chess.getOwner());
+
+        assertEquals(1, gameRepository.findGameResponsesByCategory("Classic").size());
+        assertEquals(1, gameRepository.findGameResponsesByNameContaining("ata").size());
+        assertEquals(1, gameRepository.findGameResponsesByOwnerId(owner.getId()).size());
+        assertEquals(List.of("Catan"), gameRepository.findNamesByOwnerId(owner.getId()));
+    }
+
+    @Test
+    public void testFindGameResponsesByNameContainingIgnoresCaseAndRanksMatches() {
+        entityManager.persist(new Game("Deluxe Catan Seafarers", 3, 4, "c1.jpg", new Date()));
+        entityManager.persist(new Game("My First Catan", 2, 4, "c2.jpg", new Date()));
+        entityManager.persist(new Game("Catan: Cities", 3, 4, "c3.jpg", new Date()));
+        entityManager.persist(new Game("CATAN", 3, 4, "c4.jpg", new Date()));
+        entityManager.persist(new Game("Chess", 2, 2, "c.jpg", new Date()));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GameResponseDto> games = gameRepository.findGameResponsesByNameContaining("cAtAn");
+
+        // Earlier matches first, then shorter names
+        assertEquals(List.of("CATAN", "Catan: Cities", "Deluxe Catan Seafarers", "My First Catan"),
+            games.stream().map(GameResponseDto::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testExistsByIdAndOwnerEmail() {
+        GameOwner owner = new GameOwner("Owner1", "owner1@test.com", "password1");
+        entityManager.persist(owner);
+        Game game = new Game("Catan", 3, 4, "catan.jpg", new Date());
+        game.setOwner(owner);
+        entityManager.persist(game);
+        entityManager.flush();
+
+        assertTrue(gameRepository.existsByIdAndOwner_Email(game.getId(), "owner1@test.com"));
+        assertFalse(gameRepository.existsByIdAndOwner_Email(game.getId(), "other@test.com"));
+        assertFalse(gameRepository.existsByIdAndOwner_Email(game.getId() + 1, "owner1@test.com"));
+    }
+
     @Test
     public void testFindByOwnerAndNameContaining() {
         // Create owner with required fields
@@ -269,4 +352,74 @@ public class GameRepositoryTests {
         assertTrue(ownerMonopolyGames.stream()
                 .allMatch(g -> g.getName().contains(searchTerm) && g.getOwner().getId() == owner.getId()));
     }
+
+    @Test
+    public void testAdjustRatingAggregate() {
+        Game game = entityManager.persistAndFlush(new Game("Azul", 2, 4, "azul.jpg", new Date()));
+        int id = game.getId();
+
+        gameRepository.adjustRatingAggregate(id, 4, 1);
+        gameRepository.adjustRatingAggregate(id, 2, 1);
+        entityManager.clear();
+
+        Game rated = gameRepository.findGameById(id);
+        assertEquals(6, rated.getRatingSum());
+        assertEquals(2, rated.getReviewCount());
+        assertEquals(3.0, rated.getAverageRating(), 0.0001);
+
+        gameRepository.adjustRatingAggregate(id, -4, -1);
+        gameRepository.adjustRatingAggregate(id, -2, -1);
+        entityManager.clear();
+
+        Game unrated = gameRepository.findGameById(id);
+        assertEquals(0, unrated.getReviewCount());
+        assertEquals(0.0, unrated.getAverageRating(), 0.0001);
+    }
+
+    @Test
+    public void testSavingStaleGameKeepsRatingAggregate() {
+        Game game = entityManager.persistAndFlush(new Game("Azul", 2, 4, "azul.jpg", new Date()));
+        int id = game.getId();
+        entityManager.clear();
+        Game stale = gameRepository.findGameById(id);
+        entityManager.clear();
+
+        // A review lands after the copy was loaded, then the stale copy is saved
+        gameRepository.adjustRatingAggregate(id, 5, 1);
+        stale.setName("Azul Deluxe");
+        gameRepository.saveAndFlush(stale);
+        entityManager.clear();
+
+        Game fromDb = gameRepository.findGameById(id);
+        assertEquals("Azul Deluxe", fromDb.getName());
+        assertEquals(5, fromDb.getRatingSum());
+        assertEquals(1, fromDb.getReviewCount());
+        assertEquals(5.0, fromDb.getAverageRating(), 0.0001);
+    }
+
+    @Test
+    public void testRecomputeRatingAggregatesAndFindByRating() {
+        Game rated = entityManager.persist(new Game("Azul", 2, 4, "azul.jpg", new Date()));
+        Game unrated = entityManager.persist(new Game("Chess", 2, 2, "c.jpg", new Date()));
+        Review first = new Review(5, "Great", new Date());
+        first.setGameReviewed(rated);
+        Review second = new Review(4, "Good", new Date());
+        second.setGameReviewed(rated);
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.flush();
+
+        gameRepository.recomputeRatingAggregates();
+        entityManager.clear();
+
+        Game fromDb = gameRepository.findGameById(rated.getId());
+        assertEquals(9, fromDb.getRatingSum());
+        assertEquals(2, fromDb.getReviewCount());
+        assertEquals(4.5, fromDb.getAverageRating(), 0.0001);
+        assertEquals(0, gameRepository.findGameById(unrated.getId()).getReviewCount());
+
+        List<Game> highlyRated = gameRepository.findByAverageRatingGreaterThanEqual(4.0);
+        assertEquals(1, highlyRated.size());
+        assertEquals(rated.getId(), highlyRated.get(0).getId());
+    }
 }
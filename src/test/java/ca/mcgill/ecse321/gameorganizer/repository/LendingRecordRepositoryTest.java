@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
@@ -134,6 +136,17 @@ public class LendingRecordRepositoryTest {
             .anyMatch(r -> r.getEndDate().before(new Date()) && r.getStatus() == LendingRecord.LendingStatus.ACTIVE));
     }
 
+    @Test
+    public void testFindRequestIdsIn() {
+        BorrowRequest unlent = new BorrowRequest(startDate, endDate, BorrowRequestStatus.APPROVED, new Date(), game, null);
+        unlent.setRequester(borrower);
+        unlent = entityManager.persistAndFlush(unlent);
+        entityManager.clear();
+
+        assertEquals(List.of(request.getId()),
+            lendingRecordRepository.findRequestIdsIn(List.of(request.getId(), unlent.getId())));
+    }
+
     @Test
     public void testFindByBorrower() {
         List<LendingRecord> borrowerRecords = lendingRecordRepository.findByRequest_Requester(borrower);
@@ -141,6 +154,21 @@ public class LendingRecordRepositoryTest {
         assertEquals(borrower.getId(), borrowerRecords.get(0).getRequest().getRequester().getId());
     }
 
+    @Test
+    public void testFindDistinctGameNamesByRequesterId() {
+        // A second record for the same game should not repeat its name
+        BorrowRequest secondRequest = new BorrowRequest(startDate, endDate, BorrowRequestStatus.APPROVED, new Date(), game, null);
+        secondRequest.setRequester(borrower);
+        secondRequest.setResponder(owner);
+        secondRequest = entityManager.persist(secondRequest);
+        entityManager.persistAndFlush(new LendingRecord(startDate, endDate, LendingRecord.LendingStatus.CLOSED, secondRequest, owner));
+        entityManager.clear();
+
+        List<String> names = lendingRecordRepository.findDistinctGameNamesByRequesterId(borrower.getId());
+        assertEquals(List.of("Test Game"), names);
+        assertTrue(lendingRecordRepository.findDistinctGameNamesByRequesterId(owner.getId()).isEmpty());
+    }
+
     @Test
     public void testCascadeDelete() {
         // Store IDs for verification
@@ -201,4 +229,110 @@ public class LendingRecordRepositoryTest {
         assertEquals(newEndDate, updated.getEndDate());
         assertEquals(LendingRecord.LendingStatus.CLOSED, updated.getStatus());
     }
+
+    @Test
+    public void testFilterLendingRecordsKeyset() {
+        // Two more records, each with its own request
+        LendingRecord second = null;
+        LendingRecord third = null;
+        for (int i = 0; i < 2; i++) {
+            BorrowRequest extraRequest = new BorrowRequest(startDate, endDate, BorrowRequestStatus.APPROVED, new Date(), game, null);
+            extraRequest.setRequester(borrower);
+            extraRequest.setResponder(owner);
+            extraRequest = entityManager.persist(extraRequest);
+            LendingRecord extra = entityManager.persist(
+                new LendingRecord(startDate, endDate, LendingRecord.LendingStatus.ACTIVE, extraRequest, owner));
+            if (i == 0) {
+                second = extra;
+            } else {
+                third = extra;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<LendingRecord> firstPage = lendingRecordRepository.filterLendingRecordsAfter(
+            null, null, LendingRecord.LendingStatus.ACTIVE, null, null, null, PageRequest.of(0, 2));
+        assertEquals(2, firstPage.size());
+        assertEquals(record.getId(), firstPage.get(0).getId());
+        assertEquals(second.getId(), firstPage.get(1).getId());
+
+        List<LendingRecord> nextPage = lendingRecordRepository.filterLendingRecordsAfter(
+            null, null, LendingRecord.LendingStatus.ACTIVE, null, null, second.getId(), PageRequest.of(0, 2));
+        assertEquals(1, nextPage.size());
+        assertEquals(third.getId(), nextPage.get(0).getId());
+
+        List<LendingRecord> newestFirst = lendingRecordRepository.filterLendingRecordsBefore(
+            null, null, null, borrower.getId(), game.getId(), third.getId(), PageRequest.of(0, 5));
+        assertEquals(2, newestFirst.size());
+        assertEquals(second.getId(), newestFirst.get(0).getId());
+        assertEquals(record.getId(), newestFirst.get(1).getId());
+    }
+
+    @Test
+    public void testOwnerScopedPagedQueries() {
+        // An overdue active record for the same owner
+        Date pastStart = new Date(System.currentTimeMillis() - 14L * 24 * 60 * 60 * 1000);
+        Date pastEnd = new Date(System.currentTimeMillis() - 7L * 24 * 60 * 60 * 1000);
+        BorrowRequest overdueRequest = new BorrowRequest(pastStart, pastEnd, BorrowRequestStatus.APPROVED, new Date(), game, null);
+        overdueRequest.setRequester(borrower);
+        overdueRequest.setResponder(owner);
+        overdueRequest = entityManager.persist(overdueRequest);
+        LendingRecord overdueRecord = entityManager.persistAndFlush(
+            new LendingRecord(pastStart, pastEnd, LendingRecord.LendingStatus.ACTIVE, overdueRequest, owner));
+        entityManager.clear();
+
+        Page<LendingRecord> active = lendingRecordRepository.findByRecordOwner_IdAndStatus(
+            owner.getId(), LendingRecord.LendingStatus.ACTIVE, PageRequest.of(0, 1));
+        assertEquals(2, active.getTotalElements());
+        assertEquals(1, active.getContent().size());
+
+        Page<LendingRecord> overdue = lendingRecordRepository.findByRecordOwner_IdAndStatusAndEndDateBefore(
+            owner.getId(), LendingRecord.LendingStatus.ACTIVE, new Date(), PageRequest.of(0, 10));
+        assertEquals(1, overdue.getTotalElements());
+        assertEquals(overdueRecord.getId(), overdue.getContent().get(0).getId());
+
+        Page<LendingRecord> inRange = lendingRecordRepository.findByRecordOwner_IdAndStartDateBetween(
+            owner.getId(), new Date(startDate.getTime() - 1000), new Date(startDate.getTime() + 1000), PageRequest.of(0, 10));
+        assertEquals(1, inRange.getTotalElements());
+        assertEquals(record.getId(), inRange.getContent().get(0).getId());
+
+        assertTrue(lendingRecordRepository.findByRecordOwner_IdAndStatus(
+            owner.getId() + 1000, LendingRecord.LendingStatus.ACTIVE, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    public void testBulkOverdueTransitionOfPastDueRecords() {
+        Date pastStart = new Date(System.currentTimeMillis() - 14L * 24 * 60 * 60 * 1000);
+        Date pastEnd = new Date(System.currentTimeMillis() - 7L * 24 * 60 * 60 * 1000);
+        BorrowRequest overdueRequest = new BorrowRequest(pastStart, pastEnd, BorrowRequestStatus.APPROVED, new Date(), game, null);
+        overdueRequest.setRequester(borrower);
+        overdueRequest.setResponder(owner);
+        overdueRequest = entityManager.persist(overdueRequest);
+        LendingRecord overdueRecord = entityManager.persistAndFlush(
+            new LendingRecord(pastStart, pastEnd, LendingRecord.LendingStatus.ACTIVE, overdueRequest, owner));
+        entityManager.clear();
+        Date now = new Date();
+
+        // Only the past-due record is found, and not once the scan has moved past its ID
+        List<Integer> ids = lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+            LendingRecord.LendingStatus.ACTIVE, now, 0, PageRequest.of(0, 10));
+        assertEquals(List.of(overdueRecord.getId()), ids);
+        assertTrue(lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+            LendingRecord.LendingStatus.ACTIVE, now, overdueRecord.getId(), PageRequest.of(0, 10)).isEmpty());
+
+        assertEquals(1, lendingRecordRepository.updateStatusByIdIn(List.of(overdueRecord.getId(), record.getId()),
+            LendingRecord.LendingStatus.ACTIVE, LendingRecord.LendingStatus.OVERDUE, now, "overdue"));
+        // Records no longer ACTIVE are skipped
+        assertEquals(0, lendingRecordRepository.updateStatusByIdIn(List.of(overdueRecord.getId()),
+            LendingRecord.LendingStatus.ACTIVE, LendingRecord.LendingStatus.OVERDUE, now, "overdue"));
+
+        List<LendingRecord> overdue = lendingRecordRepository.findByIdInAndStatus(
+            List.of(overdueRecord.getId(), record.getId()), LendingRecord.LendingStatus.OVERDUE);
+        assertEquals(1, overdue.size());
+        assertEquals(overdueRecord.getId(), overdue.get(0).getId());
+        assertEquals("overdue", overdue.get(0).getStatusChangeReason());
+        assertEquals(LendingRecord.LendingStatus.ACTIVE,
+            lendingRecordRepository.findLendingRecordById(record.getId()).orElseThrow().getStatus());
+    }
 }
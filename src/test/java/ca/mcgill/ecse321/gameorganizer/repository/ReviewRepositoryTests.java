@@ -1,6 +1,8 @@
 package ca.mcgill.ecse321.gameorganizer.repository;
 
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -207,6 +209,27 @@ public class ReviewRepositoryTests {
         assertEquals("reviewer", found.getReviewer().getName());
     }
 
+    @Test
+    public void testFindByGameNameIgnoresCaseAndRanksMatches() {
+        GameOwner owner = entityManager.persist(new GameOwner("owner", "owner@test.com", "password"));
+        for (String name : List.of("My First Catan", "Catan: Cities", "CATAN", "Chess")) {
+            Game game = new Game(name, 2, 4, "game.jpg", new Date());
+            game.setOwner(owner);
+            entityManager.persist(game);
+            Review review = new Review(4, "Review of " + name, new Date());
+            review.setGameReviewed(game);
+            entityManager.persist(review);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Review> reviews = reviewRepository.findByGameName("catan");
+
+        // Earlier matches first, then shorter names
+        assertEquals(List.of("CATAN", "Catan: Cities", "My First Catan"),
+            reviews.stream().map(review -> review.getGameReviewed().getName()).collect(Collectors.toList()));
+    }
+
     @Test
     public void testCascadingDelete() {
         // Create review with game and reviewer
@@ -0,0 +1,56 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+
+public class AuthorizationContextTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testRequestMemoizesAccountAndDecisions() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicInteger accountLoads = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        Account alice = new Account("alice", EMAIL, "password");
+
+        AuthorizationContext context = AuthorizationContext.current();
+        assertSame(context, AuthorizationContext.current());
+        for (int i = 0; i < 3; i++) {
+            AuthorizationContext.current().account(EMAIL, email -> {
+                accountLoads.incrementAndGet();
+                return Optional.of(alice);
+            });
+            assertTrue(AuthorizationContext.current().decide("gameOwner", 1, EMAIL, () -> {
+                checks.incrementAndGet();
+                return true;
+            }));
+        }
+
+        assertEquals(1, accountLoads.get());
+        assertEquals(1, checks.get());
+    }
+
+    @Test
+    public void testNoRequestDoesNotShareContext() {
+        assertNotSame(AuthorizationContext.current(), AuthorizationContext.current());
+    }
+}
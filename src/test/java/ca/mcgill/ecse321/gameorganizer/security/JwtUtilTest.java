@@ -0,0 +1,81 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import io.jsonwebtoken.Claims;
+
+public class JwtUtilTest {
+
+    private TestJwtUtil jwtUtil;
+    private UserDetails alice;
+    private UserDetails bob;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new TestJwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 1);
+        jwtUtil.init();
+        alice = User.withUsername("alice@example.com").password("x").roles("USER").build();
+        bob = User.withUsername("bob@example.com").password("x").roles("USER").build();
+    }
+
+    @Test
+    public void testParseClaimsCachesVerifiedToken() {
+        String token = jwtUtil.generateToken(alice, null);
+
+        Claims first = jwtUtil.parseClaims(token);
+        Claims second = jwtUtil.parseClaims("Bearer " + token);
+
+        assertEquals("alice@example.com", first.getSubject());
+        assertSame(first, second);
+        assertFalse(jwtUtil.isTokenExpired(first));
+    }
+
+    @Test
+    public void testParseClaimsEvictsLeastRecentlyUsedToken() {
+        String aliceToken = jwtUtil.generateToken(alice, null);
+        String bobToken = jwtUtil.generateToken(bob, null);
+
+        Claims aliceClaims = jwtUtil.parseClaims(aliceToken);
+        jwtUtil.parseClaims(bobToken);
+
+        // The cache holds one entry, so Alice's token is verified again
+        assertNotSame(aliceClaims, jwtUtil.parseClaims(aliceToken));
+    }
+
+    @Test
+    public void testParseClaimsRejectsTamperedToken() {
+        String token = jwtUtil.generateToken(alice, null);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(jwtUtil.parseClaims(tampered));
+    }
+
+    @Test
+    public void testRefreshTokenKeepsRolesAndUserId() {
+        Account account = new Account("alice", "alice@example.com", "x");
+        account.setId(42);
+        String token = jwtUtil.generateToken(alice, account);
+
+        Claims refreshed = jwtUtil.parseClaims(jwtUtil.refreshToken(jwtUtil.parseClaims(token)));
+
+        assertEquals("alice@example.com", refreshed.getSubject());
+        assertEquals(42, refreshed.get("userId", Integer.class));
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), jwtUtil.extractAuthorities(refreshed));
+    }
+}
@@ -60,12 +60,17 @@ public class TestJwtUtil extends JwtUtil {
         
         Integer userId = (account != null) ? account.getId() : null;
 
+        return buildToken(userDetails.getUsername(), roles, userId);
+    }
+
+    @Override
+    protected String buildToken(String subject, List<String> roles, Integer userId) {
         try {
             Date now = new Date();
             Date expiryDate = new Date(System.currentTimeMillis() + expiration);
             
             String token = Jwts.builder()
-                    .setSubject(userDetails.getUsername())
+                    .setSubject(subject)
                     .claim("roles", roles)
                     .claim("userId", userId)
                     .setIssuedAt(now)
@@ -76,7 +81,7 @@ public class TestJwtUtil extends JwtUtil {
             logger.debug("Generated test token: {}...", token.substring(0, Math.min(token.length(), 20)));
             return token;
         } catch (Exception e) {
-            logger.error("Error generating test token for user {}: {}", userDetails.getUsername(), e.getMessage(), e);
+            logger.error("Error generating test token for user {}: {}", subject, e.getMessage(), e);
             throw new RuntimeException("Error generating JWT test token", e);
         }
     }
@@ -132,6 +137,11 @@ public class TestJwtUtil extends JwtUtil {
         return null;
     }
 
+    @Override
+    protected Claims verifyClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
         if (token == null) {
             logger.warn("Test token is null in extractAllClaims");
@@ -0,0 +1,40 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TokenRevocationRegistryTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new TokenRevocationRegistry();
+        ReflectionTestUtils.setField(registry, "expiration", 3600000L);
+    }
+
+    @Test
+    public void testTokensAreNotRevokedByDefault() {
+        assertFalse(registry.isRevoked(EMAIL, new Date()));
+    }
+
+    @Test
+    public void testRevocationCoversEarlierTokensOnly() {
+        Date issuedEarlier = new Date(System.currentTimeMillis() - 60000L);
+
+        registry.revokeTokensIssuedUntilNow(EMAIL);
+
+        assertTrue(registry.isRevoked(EMAIL, issuedEarlier));
+        assertTrue(registry.isRevoked(EMAIL, null));
+        assertFalse(registry.isRevoked(EMAIL, new Date(System.currentTimeMillis() + 2000L)));
+        assertFalse(registry.isRevoked("bob@example.com", issuedEarlier));
+    }
+}
@@ -0,0 +1,71 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserDetailsCacheTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    private MeterRegistry meterRegistry;
+    private UserDetailsCache cache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        cache = new UserDetailsCache(100, Duration.ofMinutes(5), beanFactory.getBeanProvider(MeterRegistry.class));
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            return User.withUsername(email).password("encoded").roles("USER").build();
+        };
+    }
+
+    @Test
+    public void testRepeatedLookupsLoadOnce() {
+        cache.get(EMAIL, loader);
+        cache.get(EMAIL, loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void testInvalidateForcesReload() {
+        cache.get(EMAIL, loader);
+        cache.invalidate(EMAIL);
+        cache.get(EMAIL, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testErasingReturnedCredentialsKeepsCachedCopy() {
+        UserDetails first = cache.get(EMAIL, loader);
+        ((CredentialsContainer) first).eraseCredentials();
+
+        UserDetails second = cache.get(EMAIL, loader);
+
+        assertNotSame(first, second);
+        assertEquals("encoded", second.getPassword());
+    }
+}
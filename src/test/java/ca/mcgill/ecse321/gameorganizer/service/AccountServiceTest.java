@@ -44,6 +44,8 @@ import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.security.TokenRevocationRegistry;
+import ca.mcgill.ecse321.gameorganizer.security.UserDetailsCache;
 import ca.mcgill.ecse321.gameorganizer.services.AccountService;
 
 @ExtendWith(MockitoExtension.class)
@@ -64,6 +66,12 @@ public class AccountServiceTest {
     @Mock
     private BorrowRequestRepository borrowRequestRepository;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -219,6 +227,7 @@ public class AccountServiceTest {
             verify(accountRepository).save(any(Account.class));
             assertEquals(NEW_USERNAME, testAccount.getName()); // Verify name change
             assertEquals("encodedNewPassword", testAccount.getPassword()); // Verify password was updated (with encoded value)
+            verify(userDetailsCache).invalidate(VALID_EMAIL); // Cached credentials must not go stale
             // Password verification would require mocking PasswordEncoder
         } finally {
             SecurityContextHolder.clearContext();
@@ -374,6 +383,8 @@ public class AccountServiceTest {
 
         assertEquals("Account with email " + VALID_EMAIL + " has been deleted", response.getBody());
         verify(accountRepository).delete(testAccount);
+        verify(tokenRevocationRegistry).revokeTokensIssuedUntilNow(VALID_EMAIL);
+        verify(userDetailsCache).invalidate(VALID_EMAIL);
     }
 
     @Test
@@ -421,6 +432,8 @@ public class AccountServiceTest {
         assertEquals("Account updated to GameOwner successfully", response.getBody());
         verify(accountRepository).delete(testAccount);
         verify(accountRepository).save(any(GameOwner.class));
+        verify(tokenRevocationRegistry).revokeTokensIssuedUntilNow(VALID_EMAIL);
+        verify(userDetailsCache).invalidate(VALID_EMAIL);
     }
 
     @Test
@@ -481,6 +494,7 @@ public class AccountServiceTest {
         assertEquals("Bad request: account already a game owner.", response.getBody());
         verify(accountRepository, never()).delete(any(Account.class));
         verify(accountRepository, never()).save(any(GameOwner.class));
+        verify(tokenRevocationRegistry, never()).revokeTokensIssuedUntilNow(any());
     }
 
     // -- getAccountInfoByEmail -- //
@@ -31,12 +31,11 @@ import ca.mcgill.ecse321.gameorganizer.exceptions.InvalidCredentialsException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.InvalidPasswordException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.security.UserDetailsCache;
 import ca.mcgill.ecse321.gameorganizer.services.AuthenticationService;
 import jakarta.servlet.http.HttpSession;
 import ca.mcgill.ecse321.gameorganizer.services.EmailService;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.eq;
-import jakarta.mail.MessagingException;
 
 @ExtendWith(MockitoExtension.class)
 @ContextConfiguration(initializers = TestJwtConfig.Initializer.class)
@@ -54,6 +53,9 @@ public class AuthenticationServiceTest {
     @Mock // Added mock
     private EmailService emailService;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -150,7 +152,7 @@ public class AuthenticationServiceTest {
     // --- Tests for requestPasswordReset ---
 
     @Test
-    public void testRequestPasswordResetSuccess() throws MessagingException {
+    public void testRequestPasswordResetSuccess() {
         // Setup
         PasswordResetRequestDto requestDto = new PasswordResetRequestDto();
         requestDto.setEmail(VALID_EMAIL);
@@ -159,8 +161,6 @@ public class AuthenticationServiceTest {
         account.setName("Test User"); // Set a name to avoid null name
         when(accountRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(account));
         ArgumentCaptor<Account> accountCaptor = ArgumentCaptor.forClass(Account.class);
-        // Use any() for all parameters to avoid strict mock matching issues
-        doNothing().when(emailService).sendPasswordResetEmail(anyString(), anyString(), anyString());
 
         // Test
         authenticationService.requestPasswordReset(requestDto);
@@ -171,8 +171,8 @@ public class AuthenticationServiceTest {
         Account savedAccount = accountCaptor.getValue();
         assertNotNull(savedAccount.getResetPasswordToken());
         assertNotNull(savedAccount.getResetPasswordTokenExpiry());
-        // Verify email was sent with correct arguments
-        verify(emailService).sendPasswordResetEmail(eq(VALID_EMAIL), eq(savedAccount.getResetPasswordToken()), eq(savedAccount.getName()));
+        // Verify email was queued with correct arguments
+        verify(emailService).queuePasswordResetEmail(eq(VALID_EMAIL), eq(savedAccount.getResetPasswordToken()), eq(savedAccount.getName()));
         // Check expiry is roughly 30 minutes in the future (allow some leeway for test execution time)
         LocalDateTime expectedExpiry = LocalDateTime.now().plusMinutes(30);
         LocalDateTime actualExpiry = savedAccount.getResetPasswordTokenExpiry();
@@ -264,6 +264,7 @@ public class AuthenticationServiceTest {
         assertEquals(ENCODED_NEW_PASSWORD, savedAccount.getPassword());
         assertNull(savedAccount.getResetPasswordToken()); // Token should be cleared
         assertNull(savedAccount.getResetPasswordTokenExpiry()); // Expiry should be cleared
+        verify(userDetailsCache).invalidate(VALID_EMAIL); // Cached old password must be dropped
     }
 
     @Test
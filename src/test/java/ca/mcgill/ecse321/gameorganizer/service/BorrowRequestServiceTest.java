@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -11,7 +12,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -20,6 +23,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity; // Import ResponseEntity
 // Imports for Security Context Mocking
 import org.springframework.security.core.Authentication;
@@ -38,6 +44,7 @@ import static org.mockito.Mockito.spy;
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.BorrowRequestDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateBorrowRequestDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.BulkStatusUpdateResultDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
@@ -49,6 +56,7 @@ import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService; // Import LendingRecordService
 import ca.mcgill.ecse321.gameorganizer.services.BorrowRequestService;
+import ca.mcgill.ecse321.gameorganizer.services.EmailService;
 import org.springframework.test.context.ContextConfiguration;
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -73,6 +81,9 @@ public class BorrowRequestServiceTest {
     @Mock
     private GameInstanceRepository gameInstanceRepository;
 
+    @Mock
+    private EmailService emailService;
+
     @Spy
     @InjectMocks
     private BorrowRequestService borrowRequestService;
@@ -133,8 +144,9 @@ public class BorrowRequestServiceTest {
             when(accountRepository.findByEmail(requester.getEmail())).thenReturn(Optional.of(requester));
             when(gameRepository.findById(VALID_GAME_ID)).thenReturn(Optional.of(game));
             when(gameInstanceRepository.findById(VALID_GAME_INSTANCE_ID)).thenReturn(Optional.of(gameInstance));
-            when(borrowRequestRepository.findOverlappingApprovedRequestsForGameInstance(VALID_GAME_INSTANCE_ID, startDate, endDate))
-                    .thenReturn(new ArrayList<>());
+            when(borrowRequestRepository.existsByGameInstance_IdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                    VALID_GAME_INSTANCE_ID, BorrowRequestStatus.APPROVED, endDate, startDate))
+                    .thenReturn(false);
             when(borrowRequestRepository.save(any(BorrowRequest.class))).thenReturn(savedRequest);
 
             // Test
@@ -352,11 +364,12 @@ public class BorrowRequestServiceTest {
         adminAccount.setId(100);
         
         try {
-            when(borrowRequestRepository.findAll()).thenReturn(requests);
+            when(borrowRequestRepository.streamAllByOrderById()).thenReturn(requests.stream());
             when(accountRepository.findByEmail("admin@test.com")).thenReturn(Optional.of(adminAccount));
             
             // Test
-            List<BorrowRequestDto> resultDtos = borrowRequestService.getAllBorrowRequests();
+            List<BorrowRequestDto> resultDtos = new ArrayList<>();
+            borrowRequestService.forEachVisibleBorrowRequest(resultDtos::add);
             
             // Verify
             assertNotNull(resultDtos);
@@ -364,12 +377,126 @@ public class BorrowRequestServiceTest {
             assertEquals(VALID_REQUEST_ID, resultDtos.get(0).getId());
             assertEquals(VALID_GAME_ID, resultDtos.get(0).getRequestedGameId());
             assertEquals(VALID_REQUESTER_ID, resultDtos.get(0).getRequesterId());
-            verify(borrowRequestRepository).findAll();
+            verify(borrowRequestRepository).streamAllByOrderById();
+            verify(borrowRequestRepository, never()).findAll();
         } finally {
             SecurityContextHolder.clearContext(); // Clean up security context
         }
     }
 
+    @Test
+    public void testGetVisibleBorrowRequestsByStatusUsesScopedQuery() {
+        // Setup
+        Account user = new Account("User", "user@test.com", "password");
+        user.setId(VALID_REQUESTER_ID);
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setId(VALID_GAME_ID);
+        BorrowRequest request = new BorrowRequest();
+        request.setId(VALID_REQUEST_ID);
+        request.setRequestedGame(game);
+        request.setRequester(user);
+        request.setStatus(BorrowRequestStatus.PENDING);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "user@test.com", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            when(accountRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+            when(borrowRequestRepository.findVisibleToAccountByStatus(VALID_REQUESTER_ID, BorrowRequestStatus.PENDING))
+                .thenReturn(List.of(request));
+
+            // Test
+            List<BorrowRequestDto> resultDtos = borrowRequestService.getVisibleBorrowRequestsByStatus(BorrowRequestStatus.PENDING);
+
+            // Verify
+            assertEquals(1, resultDtos.size());
+            assertEquals(VALID_REQUEST_ID, resultDtos.get(0).getId());
+            verify(borrowRequestRepository, never()).findByStatusOrderById(any());
+            verify(borrowRequestRepository, never()).streamAllByOrderById();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testGetVisibleBorrowRequestsByRequesterAdminUsesRequesterQuery() {
+        // Setup
+        Account requester = new Account("Requester", "requester@test.com", "password");
+        requester.setId(VALID_REQUESTER_ID);
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setId(VALID_GAME_ID);
+        BorrowRequest request = new BorrowRequest();
+        request.setId(VALID_REQUEST_ID);
+        request.setRequestedGame(game);
+        request.setRequester(requester);
+        request.setStatus(BorrowRequestStatus.PENDING);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "admin@test.com", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        Account adminAccount = new Account("Admin", "admin@test.com", "password");
+        adminAccount.setId(100);
+
+        try {
+            when(accountRepository.findByEmail("admin@test.com")).thenReturn(Optional.of(adminAccount));
+            when(borrowRequestRepository.findByRequester_IdOrderById(VALID_REQUESTER_ID)).thenReturn(List.of(request));
+
+            // Test
+            List<BorrowRequestDto> resultDtos = borrowRequestService.getVisibleBorrowRequestsByRequester(VALID_REQUESTER_ID);
+
+            // Verify
+            assertEquals(1, resultDtos.size());
+            assertEquals(VALID_REQUESTER_ID, resultDtos.get(0).getRequesterId());
+            verify(borrowRequestRepository, never()).findVisibleToAccountByRequester(anyInt(), anyInt());
+            verify(borrowRequestRepository, never()).streamAllByOrderById();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testGetAllBorrowRequestsNonAdminUsesScopedQuery() {
+        // Setup
+        Account user = new Account("User", "user@test.com", "password");
+        user.setId(VALID_REQUESTER_ID);
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setId(VALID_GAME_ID);
+        BorrowRequest request = new BorrowRequest();
+        request.setId(VALID_REQUEST_ID);
+        request.setRequestedGame(game);
+        request.setRequester(user);
+        request.setStatus(BorrowRequestStatus.PENDING);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "user@test.com", "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            when(accountRepository.findByEmail("user@test.com")).thenReturn(Optional.of(user));
+            when(borrowRequestRepository.findVisibleToAccount(VALID_REQUESTER_ID)).thenReturn(List.of(request));
+
+            // Test
+            List<BorrowRequestDto> resultDtos = new ArrayList<>();
+            borrowRequestService.forEachVisibleBorrowRequest(resultDtos::add);
+
+            // Verify
+            assertEquals(1, resultDtos.size());
+            assertEquals(VALID_REQUEST_ID, resultDtos.get(0).getId());
+            verify(borrowRequestRepository, never()).findAll();
+            verify(borrowRequestRepository, never()).streamAllByOrderById();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     public void testUpdateBorrowRequestStatusSuccess() {
         // Setup Owner and Security Context (Owner approves/rejects)
@@ -421,8 +548,8 @@ public class BorrowRequestServiceTest {
             when(gameInstanceRepository.findByGame(game)).thenReturn(gameInstances);
             
             // Use lenient() for stubs that might not be used in all execution paths
-            lenient().when(borrowRequestRepository.findOverlappingApprovedRequestsForGameInstance(
-                VALID_GAME_INSTANCE_ID, request.getStartDate(), request.getEndDate())).thenReturn(new ArrayList<>());
+            lenient().when(borrowRequestRepository.existsByGameInstance_IdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                VALID_GAME_INSTANCE_ID, BorrowRequestStatus.APPROVED, request.getEndDate(), request.getStartDate())).thenReturn(false);
             when(borrowRequestRepository.save(any(BorrowRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Use lenient() for the lending record creation stub
@@ -438,11 +565,107 @@ public class BorrowRequestServiceTest {
             verify(borrowRequestRepository).findBorrowRequestById(VALID_REQUEST_ID);
             verify(borrowRequestRepository).save(any(BorrowRequest.class));
             verify(lendingRecordService).createLendingRecord(any(Date.class), any(Date.class), any(BorrowRequest.class), any(GameOwner.class));
+            verify(emailService).queueBorrowRequestDecisionEmail(request);
         } finally {
             SecurityContextHolder.clearContext(); // Clean up security context
         }
     }
 
+    @Test
+    public void testBulkDeclineReportsPerRequestResults() {
+        GameOwner owner = new GameOwner("Owner", "owner@test.com", "password");
+        GameOwner otherOwner = new GameOwner("Other", "other@test.com", "password");
+        SecurityContext securityContext = new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+            owner.getEmail(), "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_GAME_OWNER"))));
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            BorrowRequest own = createPendingRequest(1, owner);
+            BorrowRequest alsoOwn = createPendingRequest(2, owner);
+            BorrowRequest foreign = createPendingRequest(3, otherOwner);
+            when(borrowRequestRepository.findByIdIn(any())).thenReturn(List.of(own, alsoOwn, foreign));
+
+            List<BulkStatusUpdateResultDto> results = borrowRequestService.updateBorrowRequestStatuses(
+                List.of(1, 2, 3, 4), BorrowRequestStatus.DECLINED);
+
+            assertEquals(4, results.size());
+            assertEquals(BorrowRequestStatus.DECLINED, own.getStatus());
+            assertEquals(BorrowRequestStatus.DECLINED, alsoOwn.getStatus());
+            assertEquals(BorrowRequestStatus.PENDING, foreign.getStatus());
+            assertEquals(200, results.get(1).getStatus());
+            assertEquals(403, results.get(2).getStatus());
+            assertEquals(404, results.get(3).getStatus());
+            verify(emailService).queueBorrowRequestDecisionEmail(own);
+            verify(emailService).queueBorrowRequestDecisionEmail(alsoOwn);
+            verify(emailService, never()).queueBorrowRequestDecisionEmail(foreign);
+            // Loaded in one query, saved by dirty checking
+            verify(borrowRequestRepository, never()).findBorrowRequestById(anyInt());
+            verify(borrowRequestRepository, never()).save(any(BorrowRequest.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testBulkApproveLooksUpAvailabilityAndRecordsOncePerBatch() {
+        GameOwner owner = new GameOwner("Owner", "owner@test.com", "password");
+        SecurityContext securityContext = new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+            owner.getEmail(), "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_GAME_OWNER"))));
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            BorrowRequest lendable = createPendingRequest(1, owner);
+            lendable.getRequestedGame().setId(10);
+            BorrowRequest alreadyLent = createPendingRequest(2, owner);
+            alreadyLent.getRequestedGame().setId(10);
+            BorrowRequest unavailable = createPendingRequest(3, owner);
+            unavailable.getRequestedGame().setId(20);
+            when(borrowRequestRepository.findByIdIn(any())).thenReturn(List.of(lendable, alreadyLent, unavailable));
+            when(gameInstanceRepository.findGameIdsWithAvailableInstance(Set.of(10, 20))).thenReturn(List.of(10));
+            when(lendingRecordService.findRequestIdsWithLendingRecord(Set.of(1, 2, 3))).thenReturn(Set.of(2));
+            when(lendingRecordService.createLendingRecord(any(), any(), eq(lendable), eq(owner), eq(false)))
+                .thenReturn(ResponseEntity.ok("Lending record created successfully"));
+            when(lendingRecordService.createLendingRecord(any(), any(), eq(alreadyLent), eq(owner), eq(true)))
+                .thenReturn(ResponseEntity.badRequest().body("The borrow request already has a lending record associated with it"));
+
+            List<BulkStatusUpdateResultDto> results = borrowRequestService.updateBorrowRequestStatuses(
+                List.of(1, 2, 3), BorrowRequestStatus.APPROVED);
+
+            assertEquals(200, results.get(0).getStatus());
+            assertEquals(400, results.get(1).getStatus());
+            assertEquals(400, results.get(2).getStatus());
+            assertEquals(BorrowRequestStatus.APPROVED, lendable.getStatus());
+            assertEquals(BorrowRequestStatus.PENDING, alreadyLent.getStatus());
+            assertEquals(BorrowRequestStatus.PENDING, unavailable.getStatus());
+            // No per-request lookups
+            verify(gameInstanceRepository, never()).findByGame(any());
+            verify(lendingRecordService, never()).createLendingRecord(any(), any(), any(), any());
+            verify(lendingRecordService, never()).createLendingRecord(any(), any(), eq(unavailable), any(), anyBoolean());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testBulkUpdateRejectsPendingStatus() {
+        assertThrows(IllegalArgumentException.class, () ->
+            borrowRequestService.updateBorrowRequestStatuses(List.of(1), BorrowRequestStatus.PENDING));
+    }
+
+    private static BorrowRequest createPendingRequest(int id, GameOwner owner) {
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setOwner(owner);
+        GameInstance instance = new GameInstance();
+        instance.setGame(game);
+        instance.setOwner(owner);
+        BorrowRequest request = new BorrowRequest();
+        request.setId(id);
+        request.setRequestedGame(game);
+        request.setGameInstance(instance);
+        request.setStatus(BorrowRequestStatus.PENDING);
+        return request;
+    }
+
     @Test
     public void testUpdateBorrowRequestStatusInvalidStatus() {
         // Setup Owner and Security Context (Owner approves/rejects)
@@ -580,4 +803,53 @@ public class BorrowRequestServiceTest {
             SecurityContextHolder.clearContext(); // Clean up security context
         }
     }
+
+    @Test
+    public void testGetBorrowRequestsByOwnerIdUsesJoinQuery() {
+        // Setup
+        GameOwner owner = new GameOwner("Owner", "owner@test.com", "password");
+        owner.setId(7);
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setId(VALID_GAME_ID);
+        GameInstance gameInstance = new GameInstance();
+        gameInstance.setId(VALID_GAME_INSTANCE_ID);
+        gameInstance.setGame(game);
+        gameInstance.setOwner(owner);
+        Account requester = new Account("Requester", "requester@test.com", "password");
+        requester.setId(VALID_REQUESTER_ID);
+
+        BorrowRequest request = new BorrowRequest();
+        request.setId(VALID_REQUEST_ID);
+        request.setRequestedGame(game);
+        request.setGameInstance(gameInstance);
+        request.setRequester(requester);
+        request.setStatus(BorrowRequestStatus.PENDING);
+        request.setRequestDate(new Date());
+        when(borrowRequestRepository.findByGameInstance_Owner_Id(7)).thenReturn(List.of(request));
+
+        // Test
+        List<BorrowRequestDto> result = borrowRequestService.getBorrowRequestsByOwnerId(7);
+
+        // Verify
+        assertEquals(1, result.size());
+        assertEquals(VALID_REQUEST_ID, result.get(0).getId());
+        assertEquals(VALID_GAME_INSTANCE_ID, result.get(0).getGameInstanceId());
+        verify(borrowRequestRepository, never()).findAll();
+        verify(gameInstanceRepository, never()).findByOwnerId(anyInt());
+    }
+
+    @Test
+    public void testGetOwnerInboxFiltersByStatus() {
+        // Setup
+        Pageable pageable = PageRequest.of(0, 20);
+        when(borrowRequestRepository.findByGameInstance_Owner_IdAndStatus(7, BorrowRequestStatus.PENDING, pageable))
+            .thenReturn(Page.empty(pageable));
+
+        // Test
+        Page<BorrowRequestDto> result = borrowRequestService.getOwnerInbox(7, BorrowRequestStatus.PENDING, pageable);
+
+        // Verify
+        assertEquals(0, result.getTotalElements());
+        verify(borrowRequestRepository, never()).findByGameInstance_Owner_Id(anyInt(), any(Pageable.class));
+    }
 }
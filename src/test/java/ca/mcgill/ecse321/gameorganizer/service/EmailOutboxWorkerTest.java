@@ -0,0 +1,141 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailJob;
+import ca.mcgill.ecse321.gameorganizer.models.EmailJobStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.EmailJobRepository;
+import ca.mcgill.ecse321.gameorganizer.services.EmailOutboxWorker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Runs the outbox worker against a local GreenMail SMTP server. Jobs are committed
+ * outside a test transaction so the worker threads can see them.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmailOutboxWorkerTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailJobRepository emailJobRepository;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        emailJobRepository.deleteAll();
+    }
+
+    @Test
+    public void testDrainSendsQueuedEmails() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            emailJobRepository.save(new EmailJob("user" + i + "@example.com", "Subject " + i, "<p>Body " + i + "</p>"));
+        }
+        EmailOutboxWorker worker = createWorker(ServerSetupTest.SMTP.getPort());
+
+        assertEquals(3, worker.drain());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        List<EmailJob> jobs = emailJobRepository.findAll();
+        assertTrue(jobs.stream().allMatch(job -> job.getStatus() == EmailJobStatus.SENT && job.getSentAt() != null));
+        assertEquals(3.0, meterRegistry.get("email.outbox.sent").counter().count());
+        // Nothing is due any more
+        assertEquals(0, worker.drain());
+    }
+
+    @Test
+    public void testFailedSendIsRetriedWithBackoffThenMarkedDead() throws Exception {
+        EmailJob job = emailJobRepository.save(new EmailJob("user@example.com", "Subject", "<p>Body</p>"));
+        EmailOutboxWorker worker = createWorker(unusedPort());
+
+        long beforeFirstAttempt = System.currentTimeMillis();
+        assertEquals(1, worker.drain());
+
+        EmailJob retried = emailJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(EmailJobStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNotNull(retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().getTime() >= beforeFirstAttempt + 1000);
+        assertEquals(1.0, meterRegistry.get("email.outbox.retried").counter().count());
+        // Not due again until the backoff has passed
+        assertEquals(0, worker.drain());
+
+        retried.setNextAttemptAt(new Date(System.currentTimeMillis() - 1));
+        emailJobRepository.save(retried);
+        assertEquals(1, worker.drain());
+
+        EmailJob dead = emailJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(EmailJobStatus.DEAD, dead.getStatus());
+        assertEquals(2, dead.getAttempts());
+        assertEquals(1.0, meterRegistry.get("email.outbox.dead").counter().count());
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    public void testBackoffDoublesUpToMaximum() {
+        EmailOutboxWorker worker = createWorker(ServerSetupTest.SMTP.getPort());
+
+        assertEquals(1000L, (long) ReflectionTestUtils.invokeMethod(worker, "backoffMillis", 1));
+        assertEquals(2000L, (long) ReflectionTestUtils.invokeMethod(worker, "backoffMillis", 2));
+        assertEquals(4000L, (long) ReflectionTestUtils.invokeMethod(worker, "backoffMillis", 3));
+        assertEquals(5000L, (long) ReflectionTestUtils.invokeMethod(worker, "backoffMillis", 10));
+    }
+
+    private EmailOutboxWorker createWorker(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        EmailOutboxWorker worker = new EmailOutboxWorker(emailJobRepository, mailSender, new MockEnvironment(),
+                beanFactory.getBeanProvider(MeterRegistry.class), 2);
+        ReflectionTestUtils.setField(worker, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(worker, "batchSize", 10);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 2);
+        ReflectionTestUtils.setField(worker, "initialBackoffMillis", 1000L);
+        ReflectionTestUtils.setField(worker, "maxBackoffMillis", 5000L);
+        ReflectionTestUtils.setField(worker, "leaseMillis", 60000L);
+        return worker;
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import ca.mcgill.ecse321.gameorganizer.services.EmailTemplate;
+import ca.mcgill.ecse321.gameorganizer.services.EmailTemplates;
+
+public class EmailTemplateTest {
+
+    @Test
+    public void testRenderSubstitutesAndEscapesValues() {
+        EmailTemplate template = EmailTemplate.compile("greeting", "<p>Hello {{ name }}, see <a href='{{url}}'>{{url}}</a></p>");
+
+        String html = template.render(Map.of("name", "<Bob & \"Alice\">", "url", "http://x/?a=1&b='2'"));
+
+        assertEquals("<p>Hello &lt;Bob &amp; &quot;Alice&quot;&gt;, see "
+                + "<a href='http://x/?a=1&amp;b=&#39;2&#39;'>http://x/?a=1&amp;b=&#39;2&#39;</a></p>", html);
+    }
+
+    @Test
+    public void testTemplateWithoutPlaceholdersRendersAsIs() {
+        assertEquals("<p>Static</p>", EmailTemplate.compile("static", "<p>Static</p>").render(Map.of()));
+    }
+
+    @Test
+    public void testMissingValueIsRejected() {
+        EmailTemplate template = EmailTemplate.compile("greeting", "Hello {{name}}");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    public void testMalformedPlaceholdersAreRejectedAtCompileTime() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("open", "Hello {{name"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("empty", "Hello {{ }}"));
+    }
+
+    @Test
+    public void testBundledPasswordResetTemplateRenders() {
+        EmailTemplates templates = new EmailTemplates(new DefaultResourceLoader());
+
+        String html = templates.render(EmailTemplates.PASSWORD_RESET,
+                Map.of("username", "Alice", "resetUrl", "http://localhost:5173/reset-password?token=abc"));
+
+        assertTrue(html.contains("Hello Alice,"));
+        assertTrue(html.contains("<a href='http://localhost:5173/reset-password?token=abc'>"));
+        assertFalse(html.contains("{{"));
+    }
+}
@@ -13,12 +13,14 @@ import java.lang.reflect.Field;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -32,6 +34,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ContextConfiguration;
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateEventRequest;
+import ca.mcgill.ecse321.gameorganizer.dto.request.UpcomingEventSearchCriteria;
+import ca.mcgill.ecse321.gameorganizer.dto.response.EventPageResponse;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
@@ -39,6 +43,7 @@ import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.services.EventService;
+import ca.mcgill.ecse321.gameorganizer.services.RegistrationService;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import org.springframework.http.HttpStatus;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
@@ -57,6 +62,9 @@ public class EventServiceTest {
     @Mock // Add mock for AccountRepository
     private AccountRepository accountRepository;
 
+    @Mock
+    private RegistrationService registrationService;
+
     @Spy
     @InjectMocks
     private EventService eventService;
@@ -328,6 +336,8 @@ public class EventServiceTest {
             assertEquals(newDescription, result.getDescription());
             assertEquals(newMaxParticipants, result.getMaxParticipants());
             verify(eventRepository).save(event);
+            // The added seats are offered to the waitlist
+            verify(registrationService).fillFreeSeatsFromWaitlist(event);
         } finally {
             SecurityContextHolder.clearContext();
         }
@@ -527,6 +537,7 @@ public class EventServiceTest {
         );
         
         when(eventRepository.findEventById(VALID_EVENT_ID)).thenReturn(Optional.of(existingEvent));
+        when(eventRepository.existsById(VALID_EVENT_ID)).thenReturn(true);
         when(accountRepository.findByEmail(NON_HOST_EMAIL)).thenReturn(Optional.of(nonHost));
         when(eventService.isHost(VALID_EVENT_ID, NON_HOST_EMAIL)).thenReturn(false);
         
@@ -642,6 +653,75 @@ public class EventServiceTest {
         verify(eventRepository, never()).findByFeaturedGameMinPlayersGreaterThanEqual(0);
     }
 
+    @Test
+    public void testFindUpcomingEventsNeverStartsInThePast() {
+        // Setup
+        Game game = new Game("Test Game", 2, 4, "img.jpg", new Date());
+        Date later = new Date(System.currentTimeMillis() + 3_600_000L);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event(VALID_TITLE, later, VALID_LOCATION, VALID_DESCRIPTION, VALID_MAX_PARTICIPANTS, game);
+            event.setId(UUID.randomUUID());
+            events.add(event);
+        }
+        when(eventRepository.findUpcoming(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(events);
+        UpcomingEventSearchCriteria criteria = new UpcomingEventSearchCriteria();
+        criteria.setFrom(new Date(0));
+        criteria.setLocation("50%_Off");
+        criteria.setSize(2);
+
+        // Test
+        Date before = new Date();
+        EventPageResponse page = eventService.findUpcomingEvents(criteria);
+
+        // Verify: the window is clamped to now and one extra row is fetched to detect the next page
+        ArgumentCaptor<Date> start = ArgumentCaptor.forClass(Date.class);
+        verify(eventRepository).findUpcoming(start.capture(), isNull(), isNull(), eq("%50\\%\\_off%"),
+            isNull(), isNull(), isNull(), eq(PageRequest.of(0, 3)));
+        assertFalse(start.getValue().before(before));
+        assertEquals(2, page.getEvents().size());
+        assertEquals(events.get(1).getId(), page.getNextAfterId());
+        assertEquals(later, page.getNextAfterTime());
+    }
+
+    @Test
+    public void testFindUpcomingEventsResumesAfterCursor() {
+        // Setup
+        Date cursorTime = new Date(System.currentTimeMillis() + 3_600_000L);
+        UUID cursorId = UUID.randomUUID();
+        when(eventRepository.findUpcoming(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(new ArrayList<>());
+        UpcomingEventSearchCriteria criteria = new UpcomingEventSearchCriteria();
+        criteria.setAfterTime(cursorTime);
+        criteria.setAfterId(cursorId);
+        criteria.setMinSeats(2);
+
+        // Test
+        EventPageResponse page = eventService.findUpcomingEvents(criteria);
+
+        // Verify
+        verify(eventRepository).findUpcoming(eq(cursorTime), isNull(), eq(cursorId), isNull(), isNull(), isNull(), eq(2),
+            eq(PageRequest.of(0, 21)));
+        assertTrue(page.getEvents().isEmpty());
+        assertNull(page.getNextAfterId());
+        assertNull(page.getNextAfterTime());
+    }
+
+    @Test
+    public void testFindUpcomingEventsInvalidWindow() {
+        // Setup
+        UpcomingEventSearchCriteria criteria = new UpcomingEventSearchCriteria();
+        Date from = new Date(System.currentTimeMillis() + 7_200_000L);
+        criteria.setFrom(from);
+        criteria.setTo(new Date(from.getTime() - 1));
+
+        // Test & Verify
+        assertThrows(IllegalArgumentException.class, () -> eventService.findUpcomingEvents(criteria));
+        UpcomingEventSearchCriteria halfCursor = new UpcomingEventSearchCriteria();
+        halfCursor.setAfterId(UUID.randomUUID());
+        assertThrows(IllegalArgumentException.class, () -> eventService.findUpcomingEvents(halfCursor));
+        verify(eventRepository, never()).findUpcoming(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
     @AfterEach
     public void tearDown() {
         // Clear the security context after each test to avoid side effects
@@ -0,0 +1,174 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameImportResultDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.services.GameImportService;
+import ca.mcgill.ecse321.gameorganizer.services.GameImportService.Format;
+import ca.mcgill.ecse321.gameorganizer.services.GameService;
+
+@ExtendWith(MockitoExtension.class)
+public class GameImportServiceTest {
+
+    private static final String OWNER_EMAIL = "owner@test.com";
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private GameImportService gameImportService;
+    private GameOwner owner;
+
+    @BeforeEach
+    public void setUp() {
+        gameImportService = new GameImportService(gameService, accountRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(gameImportService, "batchSize", 2);
+        owner = new GameOwner("Owner", OWNER_EMAIL, "password");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            OWNER_EMAIL, "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_GAME_OWNER"))));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testCsvImportWritesInBatches() throws Exception {
+        when(accountRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
+        when(gameService.saveImportedGames(eq(owner), anyList())).thenAnswer(invocation -> invocation.getArgument(1, List.class).size());
+
+        GameImportResultDto result = gameImportService.importGames(body(
+            "name,minPlayers,maxPlayers,category,description\n"
+            + "Catan,3,4,Strategy,\"Trade, build, settle\"\n"
+            + "Azul,2,4,Abstract,\"Tiles with \"\"patterns\"\"\"\n"
+            + "\n"
+            + "Codenames,2,8,Party,\n"), Format.CSV);
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getBatches());
+        assertEquals(0, result.getFailed());
+        ArgumentCaptor<List<GameCreationDto>> batches = ArgumentCaptor.forClass(List.class);
+        verify(gameService, times(2)).saveImportedGames(eq(owner), batches.capture());
+        GameCreationDto catan = batches.getAllValues().get(0).get(0);
+        assertEquals("Catan", catan.getName());
+        assertEquals(3, catan.getMinPlayers());
+        assertEquals("Trade, build, settle", catan.getDescription());
+        assertEquals("Tiles with \"patterns\"", batches.getAllValues().get(0).get(1).getDescription());
+        assertEquals(1, batches.getAllValues().get(1).size());
+    }
+
+    @Test
+    public void testNdjsonImportReportsInvalidRowsAndDuplicates() throws Exception {
+        when(accountRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
+        // The owner already has Catan, so the service skips it
+        when(gameService.saveImportedGames(eq(owner), anyList())).thenReturn(1);
+
+        GameImportResultDto result = gameImportService.importGames(body(
+            "{\"name\":\"Catan\",\"minPlayers\":3,\"maxPlayers\":4}\n"
+            + "{\"name\":\"catan \",\"minPlayers\":3,\"maxPlayers\":4}\n"
+            + "{\"name\":\"Azul\",\"minPlayers\":2,\"maxPlayers\":4,\"unknown\":true}\n"
+            + "{\"name\":\"\",\"minPlayers\":2,\"maxPlayers\":4}\n"
+            + "{\"name\":\"Broken\"\n"
+            + "{\"name\":\"Solo\",\"minPlayers\":2,\"maxPlayers\":1}\n"), Format.NDJSON);
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(1, result.getImported());
+        // One repeated within the batch, one already owned
+        assertEquals(2, result.getDuplicates());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(4L, 5L, 6L), result.getErrors().stream().map(GameImportResultDto.RowError::getLine).toList());
+        assertFalse(result.isErrorsTruncated());
+    }
+
+    @Test
+    public void testFailedBatchIsReportedAndImportContinues() throws Exception {
+        when(accountRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
+        when(gameService.saveImportedGames(eq(owner), anyList()))
+            .thenThrow(new IllegalStateException("connection lost"))
+            .thenReturn(1);
+
+        GameImportResultDto result = gameImportService.importGames(body(
+            "name,minPlayers,maxPlayers\nA,1,2\nB,1,2\nC,1,2\n"), Format.CSV);
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getBatches());
+        assertEquals(2L, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().contains("connection lost"));
+    }
+
+    @Test
+    public void testCsvWithoutNameColumnIsRejected() {
+        when(accountRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> gameImportService.importGames(body("title,minPlayers\nCatan,3\n"), Format.CSV));
+        verify(gameService, never()).saveImportedGames(any(), anyList());
+    }
+
+    @Test
+    public void testPlayerCountsAreRequired() throws Exception {
+        when(accountRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(owner));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> gameImportService.importGames(body("name,category\nCatan,Strategy\n"), Format.CSV));
+
+        GameImportResultDto result = gameImportService.importGames(body(
+            "name,minPlayers,maxPlayers\nCatan,,\n"), Format.CSV);
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Minimum players is required"));
+        verify(gameService, never()).saveImportedGames(any(), anyList());
+    }
+
+    @Test
+    public void testNonOwnerCannotImport() {
+        when(accountRepository.findByEmail(OWNER_EMAIL)).thenReturn(Optional.of(new Account("Player", OWNER_EMAIL, "password")));
+
+        assertThrows(ForbiddenException.class,
+            () -> gameImportService.importGames(body("{\"name\":\"Catan\"}\n"), Format.NDJSON));
+    }
+
+    private static InputStream body(String contents) {
+        return new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
+    }
+}
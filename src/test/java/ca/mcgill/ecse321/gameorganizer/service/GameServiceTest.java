@@ -10,6 +10,7 @@ import java.util.HashMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -18,12 +19,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 // Imports for Security Context Mocking
 import org.springframework.security.core.Authentication;
@@ -37,6 +45,7 @@ import org.springframework.test.context.ContextConfiguration;
 
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
+import ca.mcgill.ecse321.gameorganizer.dto.request.GameSearchCriteria;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameInstanceResponseDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.ReviewSubmissionDto;
@@ -395,6 +404,7 @@ public class GameServiceTest {
             verify(accountRepository).findByEmail(VALID_OWNER_EMAIL);
             verify(gameRepository).findGameById(VALID_GAME_ID);
             verify(reviewRepository).save(any(Review.class));
+            verify(gameRepository).adjustRatingAggregate(VALID_GAME_ID, 5, 1);
         } finally {
             SecurityContextHolder.clearContext();
         }
@@ -438,6 +448,23 @@ public class GameServiceTest {
         verify(gameRepository, never()).findByCategory(anyString());
     }
 
+    @Test
+    public void testGetGameResponsesByCategory() {
+        // Setup
+        GameResponseDto dto = new GameResponseDto(VALID_GAME_ID, VALID_GAME_NAME, VALID_MIN_PLAYERS, VALID_MAX_PLAYERS,
+                VALID_IMAGE, new Date(), VALID_CATEGORY, null, 0.0, 0, null, null, null);
+        when(gameRepository.findGameResponsesByCategory(VALID_CATEGORY)).thenReturn(List.of(dto));
+
+        // Test
+        List<GameResponseDto> result = gameService.getGameResponsesByCategory(VALID_CATEGORY);
+
+        // Verify
+        assertEquals(1, result.size());
+        assertNull(result.get(0).getOwner());
+        verify(gameRepository, never()).findByCategory(anyString());
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGameResponsesByCategory(" "));
+    }
+
     @Test
     public void testGetGamesByAvailabilityTrue() {
         // Setup
@@ -470,6 +497,61 @@ public class GameServiceTest {
         verify(gameRepository).findUnavailableGames(any(Date.class));
     }
 
+    @Test
+    public void testGetGameAvailabilityUsesSingleQuery() {
+        // Setup
+        List<Integer> ids = List.of(1, 2, 3);
+        Date now = new Date();
+        when(borrowRequestRepository.findGameIdsBorrowedAt(ids, now)).thenReturn(List.of(2));
+
+        // Test
+        Map<Integer, Boolean> result = gameService.getGameAvailability(ids, now);
+
+        // Verify
+        assertEquals(3, result.size());
+        assertTrue(result.get(1));
+        assertFalse(result.get(2));
+        assertTrue(result.get(3));
+        verify(borrowRequestRepository).findGameIdsBorrowedAt(ids, now);
+    }
+
+    @Test
+    public void testGetGameAvailabilityEmptyIdsSkipsQuery() {
+        // Test
+        Map<Integer, Boolean> result = gameService.getGameAvailability(Collections.emptyList(), new Date());
+
+        // Verify
+        assertTrue(result.isEmpty());
+        verify(borrowRequestRepository, never()).findGameIdsBorrowedAt(any(), any(Date.class));
+    }
+
+    @Test
+    public void testIsGameAvailableForPeriodBorrowed() {
+        // Setup
+        Game game = new Game(VALID_GAME_NAME, VALID_MIN_PLAYERS, VALID_MAX_PLAYERS, VALID_IMAGE, new Date());
+        Date start = new Date();
+        Date end = new Date(start.getTime() + 86400000L);
+        when(gameRepository.findGameById(VALID_GAME_ID)).thenReturn(game);
+        when(borrowRequestRepository.findGameIdsBorrowedDuring(any(), eq(start), eq(end)))
+                .thenReturn(List.of(VALID_GAME_ID));
+
+        // Test & Verify
+        assertFalse(gameService.isGameAvailableForPeriod(VALID_GAME_ID, start, end));
+    }
+
+    @Test
+    public void testIsGameAvailableForPeriodInvalidRange() {
+        // Setup
+        Game game = new Game(VALID_GAME_NAME, VALID_MIN_PLAYERS, VALID_MAX_PLAYERS, VALID_IMAGE, new Date());
+        Date start = new Date();
+        Date end = new Date(start.getTime() - 86400000L);
+        when(gameRepository.findGameById(VALID_GAME_ID)).thenReturn(game);
+
+        // Test & Verify
+        assertThrows(IllegalArgumentException.class,
+                () -> gameService.isGameAvailableForPeriod(VALID_GAME_ID, start, end));
+    }
+
     @Test
     public void testGetGamesByRatingSuccess() {
         // Setup
@@ -694,4 +776,80 @@ public class GameServiceTest {
             SecurityContextHolder.clearContext();
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSearchGamesReturnsRequestedPage() {
+        // Setup
+        Game game = new Game(VALID_GAME_NAME, VALID_MIN_PLAYERS, VALID_MAX_PLAYERS, VALID_IMAGE, new Date());
+        game.setCategory(VALID_CATEGORY);
+        GameSearchCriteria criteria = new GameSearchCriteria();
+        criteria.setName("test");
+        criteria.setCategory(VALID_CATEGORY);
+        criteria.setSort("name");
+        criteria.setOrder("asc");
+        criteria.setPage(1);
+        criteria.setSize(5);
+        when(gameRepository.findAll(any(Specification.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(game), PageRequest.of(1, 5), 6));
+
+        // Test
+        Page<GameResponseDto> result = gameService.searchGames(criteria);
+
+        // Verify
+        assertEquals(1, result.getContent().size());
+        assertEquals(VALID_GAME_NAME, result.getContent().get(0).getName());
+        assertEquals(6, result.getTotalElements());
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(gameRepository).findAll(any(Specification.class), pageableCaptor.capture());
+        assertEquals(1, pageableCaptor.getValue().getPageNumber());
+        assertEquals(5, pageableCaptor.getValue().getPageSize());
+        assertEquals(Sort.Direction.ASC, pageableCaptor.getValue().getSort().getOrderFor("name").getDirection());
+        verify(gameRepository, never()).findAll();
+    }
+
+    @Test
+    public void testSearchGamesUnknownOwner() {
+        // Setup
+        GameSearchCriteria criteria = new GameSearchCriteria();
+        criteria.setOwnerId("missing@test.com");
+        when(accountRepository.findByEmail("missing@test.com")).thenReturn(Optional.empty());
+
+        // Test & Verify
+        assertThrows(IllegalArgumentException.class, () -> gameService.searchGames(criteria));
+    }
+
+    @Test
+    public void testSearchGamesInvalidPageSize() {
+        // Setup
+        GameSearchCriteria criteria = new GameSearchCriteria();
+        criteria.setSize(0);
+
+        // Test & Verify
+        assertThrows(IllegalArgumentException.class, () -> gameService.searchGames(criteria));
+    }
+
+    @Test
+    public void testSaveImportedGamesSkipsExistingNames() {
+        // Setup
+        GameOwner owner = new GameOwner("Test Owner", VALID_OWNER_EMAIL, "password");
+        GameCreationDto existing = new GameCreationDto("Catan", 3, 4, null, null, null, "Good", "Shelf");
+        GameCreationDto fresh = new GameCreationDto("Azul", 2, 4, null, null, null, "New", "Shelf");
+        when(gameRepository.findLowerCaseNamesByOwnerIdAndNameIn(anyInt(), any())).thenReturn(List.of("catan"));
+
+        // Test
+        int imported = gameService.saveImportedGames(owner, List.of(existing, fresh));
+
+        // Verify
+        assertEquals(1, imported);
+        ArgumentCaptor<List<Game>> gamesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(gameRepository).saveAll(gamesCaptor.capture());
+        assertEquals(1, gamesCaptor.getValue().size());
+        assertEquals("Azul", gamesCaptor.getValue().get(0).getName());
+        assertEquals(owner, gamesCaptor.getValue().get(0).getOwner());
+        ArgumentCaptor<List<GameInstance>> instancesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(gameInstanceRepository).saveAll(instancesCaptor.capture());
+        assertEquals(1, instancesCaptor.getValue().size());
+        assertEquals("New", instancesCaptor.getValue().get(0).getCondition());
+    }
 }
@@ -0,0 +1,167 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameSummaryDto;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.services.GameSuggestionIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class GameSuggestionIndexTest {
+
+    private MeterRegistry meterRegistry;
+    private GameRepository gameRepository;
+    private GameSuggestionIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        gameRepository = mock(GameRepository.class);
+        index = new GameSuggestionIndex(gameRepository, 10_000, beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    public void testRebuildLoadsGamesFromRepository() {
+        when(gameRepository.findGameResponsesAfterId(eq(0), any())).thenReturn(List.of(
+            response(1, "Catan", "Strategy", "Trade and build"),
+            response(2, "Chess", "Abstract", "Checkmate the king")));
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("Catan"), names(index.suggest("ca", null)));
+        assertEquals(2.0, meterRegistry.get("games.suggest.index.games").gauge().value());
+        assertTrue(meterRegistry.get("games.suggest.index.estimated-bytes").gauge().value() > 0);
+    }
+
+    @Test
+    public void testSuggestRanksNameMatchesFirst() {
+        index.put(1, "Pandemic", null, "Cooperative", "Players work as a team to treat diseases");
+        index.put(2, "Ticket to Ride", null, "Family", "Build train routes across the map");
+        index.put(3, "Trains", null, "Deck Building", "A deck builder about railway networks");
+        index.put(4, "Train Heist", null, "Family", null);
+
+        // Name prefixes beat a description match; shorter names first among equals
+        assertEquals(List.of("Trains", "Train Heist", "Ticket to Ride"), names(index.suggest("trai", null)));
+        // Every query word must match
+        assertEquals(List.of("Trains"), names(index.suggest("train deck", null)));
+        assertEquals(List.of("Pandemic"), names(index.suggest("co", null)));
+        assertEquals(List.of("Trains"), names(index.suggest("train", 1)));
+        assertTrue(index.suggest("xyz", null).isEmpty());
+        assertTrue(index.suggest("  ", null).isEmpty());
+    }
+
+    @Test
+    public void testUpdatesAndRemovalsAreVisible() {
+        index.put(1, "Azul", null, "Abstract", null);
+        index.put(1, "Azul: Summer Pavilion", null, "Abstract", null);
+        index.put(2, "Agricola", null, "Farming", null);
+
+        assertEquals(List.of("Azul: Summer Pavilion"), names(index.suggest("summer", null)));
+
+        index.remove(1);
+
+        assertTrue(index.suggest("azul", null).isEmpty());
+        assertEquals(List.of("Agricola"), names(index.suggest("a", null)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testIndexStopsGrowingAtMaxPostings() {
+        MeterRegistry smallRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", smallRegistry);
+        GameSuggestionIndex small = new GameSuggestionIndex(gameRepository, 10, beanFactory.getBeanProvider(MeterRegistry.class));
+
+        small.put(1, "Go", null, null, null);
+        small.put(2, "Carcassonne", null, null, null);
+
+        assertEquals(1, small.size());
+        assertTrue(small.postingCount() <= 10);
+        assertEquals(1.0, smallRegistry.get("games.suggest.index.skipped").gauge().value());
+        assertTrue(small.suggest("carc", null).isEmpty());
+    }
+
+    @Test
+    public void testUpdateExceedingMaxPostingsKeepsPreviousVersion() {
+        MeterRegistry smallRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", smallRegistry);
+        GameSuggestionIndex small = new GameSuggestionIndex(gameRepository, 5, beanFactory.getBeanProvider(MeterRegistry.class));
+
+        small.put(1, "Go", null, null, null);
+        small.put(1, "Carcassonne", null, null, null);
+
+        assertEquals(List.of("Go"), names(small.suggest("go", null)));
+        assertEquals(1, small.skipped());
+
+        // Replacing with as many postings as the bound allows counts only the net change
+        small.put(1, "Gone", null, null, null);
+        assertEquals(List.of("Gone"), names(small.suggest("gon", null)));
+        assertEquals(4, small.postingCount());
+    }
+
+    @Test
+    public void testUpdatesDuringRebuildAreKept() {
+        index.put(1, "Catan", null, "Strategy", null);
+        when(gameRepository.findGameResponsesAfterId(eq(0), any())).thenAnswer(invocation -> {
+            // Changes committed while the rebuild reads the games
+            index.put(3, "Azul", null, "Abstract", null);
+            index.remove(1);
+            return List.of(response(1, "Catan", "Strategy", "Trade and build"),
+                response(2, "Chess", "Abstract", "Checkmate the king"));
+        });
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("Azul"), names(index.suggest("azul", null)));
+        assertTrue(index.suggest("catan", null).isEmpty());
+    }
+
+    @Test
+    public void testEstimatedBytesFollowsAddsAndRemovals() {
+        index.put(1, "Azul", null, "Abstract", null);
+        long bytes = index.estimatedBytes();
+
+        index.put(2, "Ticket to Ride", "ticket.jpg", "Family", "Build train routes across the map");
+        assertTrue(index.estimatedBytes() > bytes);
+
+        index.remove(2);
+        assertEquals(bytes, index.estimatedBytes());
+        index.remove(1);
+        assertEquals(0, index.estimatedBytes());
+    }
+
+    @Test
+    public void testInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("catan", 0));
+    }
+
+    private static GameResponseDto response(int id, String name, String category, String description) {
+        return new GameResponseDto(id, name, 2, 4, name.toLowerCase() + ".jpg", new Date(), category, description,
+            0.0, 0, null, null, null);
+    }
+
+    private static List<String> names(List<GameSummaryDto> suggestions) {
+        return suggestions.stream().map(GameSummaryDto::getName).collect(Collectors.toList());
+    }
+}
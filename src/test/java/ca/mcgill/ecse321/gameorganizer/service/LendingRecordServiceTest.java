@@ -37,6 +37,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 // Imports for Security Context Mocking
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -48,6 +49,7 @@ import java.util.Collections;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository; // Import AccountRepository
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.LendingHistoryFilterDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.BulkStatusUpdateResultDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -61,6 +63,7 @@ import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
+import ca.mcgill.ecse321.gameorganizer.services.EmailService;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
 import org.springframework.test.context.ContextConfiguration;
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
@@ -353,6 +356,77 @@ public class LendingRecordServiceTest {
             startDate, endDate, LendingStatus.ACTIVE, borrower.getId(), game.getId(), pageable);
     }
 
+    @Test
+    public void testGetAllLendingRecordsPaged() {
+        // Setup
+        Pageable pageable = PageRequest.of(1, 5);
+        Page<LendingRecord> page = new PageImpl<>(List.of(record), pageable, 6);
+        when(lendingRecordRepository.findAll(pageable)).thenReturn(page);
+
+        // Test
+        Page<LendingRecord> result = lendingRecordService.getAllLendingRecords(pageable);
+
+        // Verify
+        assertEquals(6, result.getTotalElements());
+        assertEquals(1, result.getNumber());
+        verify(lendingRecordRepository, never()).findAll();
+    }
+
+    @Test
+    public void testFilterLendingRecordsKeysetDescending() {
+        // Setup
+        LendingHistoryFilterDto filterDto = new LendingHistoryFilterDto(null, null, "active", null, null);
+        when(lendingRecordRepository.filterLendingRecordsBefore(
+            null, null, LendingStatus.ACTIVE, null, null, 42, PageRequest.of(0, 11)))
+            .thenReturn(List.of(record));
+
+        // Test
+        List<LendingRecord> result = lendingRecordService.filterLendingRecordsKeyset(filterDto, 42, true, 11);
+
+        // Verify
+        assertEquals(1, result.size());
+        verify(lendingRecordRepository, never()).filterLendingRecordsAfter(
+            any(), any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    public void testGetOverdueRecordsByOwnerUsesScopedQuery() {
+        // Setup
+        Pageable pageable = PageRequest.of(0, 10);
+        when(accountRepository.existsGameOwnerById(owner.getId())).thenReturn(true);
+        when(lendingRecordRepository.findByRecordOwner_IdAndStatus(owner.getId(), LendingStatus.OVERDUE, pageable))
+            .thenReturn(new PageImpl<>(List.of(record)));
+
+        // Test
+        Page<LendingRecord> result = lendingRecordService.getOverdueRecordsByOwner(owner.getId(), pageable);
+
+        // Verify
+        assertEquals(1, result.getTotalElements());
+        verify(lendingRecordRepository, never()).findByRecordOwner(any(GameOwner.class));
+    }
+
+    @Test
+    public void testGetOverdueRecordsByOwnerUnknownOwner() {
+        when(accountRepository.existsGameOwnerById(999)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> lendingRecordService.getOverdueRecordsByOwner(999, PageRequest.of(0, 10)));
+        verify(lendingRecordRepository, never()).findByRecordOwner_IdAndStatus(anyInt(), any(), any(Pageable.class));
+    }
+
+    @Test
+    public void testGetLendingRecordsByOwnerAndDateRangeInverted() {
+        assertThrows(IllegalArgumentException.class,
+            () -> lendingRecordService.getLendingRecordsByOwnerAndDateRange(
+                owner.getId(), endDate, startDate, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void testFilterLendingRecordsKeysetInvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+            () -> lendingRecordService.filterLendingRecordsKeyset(new LendingHistoryFilterDto(), null, false, 0));
+    }
+
     @Test
     public void testUpdateStatusSuccess() {
         // Setup Security Context (Simulating owner making the change)
@@ -382,6 +456,48 @@ public class LendingRecordServiceTest {
         }
     }
 
+    @Test
+    public void testUpdateStatusesReportsPerRecordResults() {
+        // Setup Security Context (Simulating owner making the change)
+        Authentication auth = new UsernamePasswordAuthenticationToken(owner.getEmail(), "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_GAME_OWNER")));
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(auth);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            // A record owned by someone else and a closed record of the caller
+            GameOwner otherOwner = new GameOwner("Other", "other@test.com", "password");
+            LendingRecord foreignRecord = new LendingRecord(startDate, endDate, LendingStatus.ACTIVE, new BorrowRequest(), otherOwner);
+            foreignRecord.setId(20);
+            LendingRecord closedRecord = new LendingRecord(startDate, endDate, LendingStatus.CLOSED, borrowRequest, owner);
+            closedRecord.setId(21);
+
+            when(accountRepository.findByEmail(owner.getEmail())).thenReturn(Optional.of(owner));
+            when(lendingRecordRepository.findByIdIn(any())).thenReturn(List.of(record, foreignRecord, closedRecord));
+
+            // Test: 99 does not exist and VALID_RECORD_ID is listed twice
+            List<BulkStatusUpdateResultDto> results = lendingRecordService.updateStatuses(
+                List.of(VALID_RECORD_ID, 20, 21, 99, VALID_RECORD_ID), LendingStatus.OVERDUE, "Bulk reason");
+
+            // Verify
+            assertEquals(4, results.size());
+            assertTrue(results.get(0).isSuccess());
+            assertEquals(LendingStatus.OVERDUE, record.getStatus());
+            assertEquals("Bulk reason", record.getStatusChangeReason());
+            assertEquals(Integer.valueOf(owner.getId()), record.getLastModifiedBy());
+            assertEquals(HttpStatus.FORBIDDEN.value(), results.get(1).getStatus());
+            assertEquals(LendingStatus.ACTIVE, foreignRecord.getStatus());
+            assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(2).getStatus());
+            assertEquals(HttpStatus.NOT_FOUND.value(), results.get(3).getStatus());
+            // Records are loaded in one query and saved by dirty checking, not one by one
+            verify(lendingRecordRepository, times(1)).findByIdIn(any());
+            verify(lendingRecordRepository, never()).findLendingRecordById(anyInt());
+            verify(lendingRecordRepository, never()).save(any(LendingRecord.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     public void testUpdateStatusInvalidTransition() {
         // Setup without extensive mocking
@@ -486,8 +602,7 @@ public class LendingRecordServiceTest {
         // Setup
         List<LendingRecord> records = new ArrayList<>();
         records.add(record);
-        when(lendingRecordRepository.findByEndDateBeforeAndStatus(any(Date.class), any(LendingStatus.class)))
-            .thenReturn(records);
+        when(lendingRecordRepository.findByStatus(LendingStatus.OVERDUE)).thenReturn(records);
 
         // Test
         List<LendingRecord> result = lendingRecordService.findOverdueRecords();
@@ -496,7 +611,7 @@ public class LendingRecordServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(VALID_RECORD_ID, result.get(0).getId());
-        verify(lendingRecordRepository).findByEndDateBeforeAndStatus(any(Date.class), any(LendingStatus.class));
+        verify(lendingRecordRepository).findByStatus(LendingStatus.OVERDUE);
     }
 
     @Test
@@ -534,6 +649,38 @@ public class LendingRecordServiceTest {
         assertEquals("New end date cannot be before start date", exception.getMessage());
     }
 
+    @Test
+    public void testUpdateEndDateToFutureReactivatesOverdueRecord() {
+        record.setEndDate(new Date(startDate.getTime() - 1000));
+        record.setStartDate(new Date(startDate.getTime() - 86400000));
+        record.setStatus(LendingStatus.OVERDUE);
+        when(lendingRecordRepository.findLendingRecordById(VALID_RECORD_ID)).thenReturn(Optional.of(record));
+
+        Date newEndDate = new Date(System.currentTimeMillis() + 86400000);
+        ResponseEntity<String> response = lendingRecordService.updateEndDate(VALID_RECORD_ID, newEndDate);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(LendingStatus.ACTIVE, record.getStatus());
+        assertEquals(newEndDate, record.getEndDate());
+        verify(lendingRecordRepository).save(record);
+    }
+
+    @Test
+    public void testUpdateEndDateToPastMarksActiveRecordOverdue() {
+        EmailService emailService = mock(EmailService.class);
+        ReflectionTestUtils.setField(lendingRecordService, "emailService", emailService);
+        record.setStartDate(new Date(System.currentTimeMillis() - 7L * 86400000));
+        when(lendingRecordRepository.findLendingRecordById(VALID_RECORD_ID)).thenReturn(Optional.of(record));
+
+        Date newEndDate = new Date(System.currentTimeMillis() - 86400000);
+        ResponseEntity<String> response = lendingRecordService.updateEndDate(VALID_RECORD_ID, newEndDate);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(LendingStatus.OVERDUE, record.getStatus());
+        verify(emailService).queueOverdueReminderEmail(record);
+        verify(lendingRecordRepository).save(record);
+    }
+
     @Test
     public void testDeleteLendingRecordSuccess() {
         // Create simplified test that doesn't use unnecessary mocks
@@ -0,0 +1,94 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
+import ca.mcgill.ecse321.gameorganizer.services.OverdueLendingJob;
+
+@ExtendWith(MockitoExtension.class)
+public class OverdueLendingJobTest {
+
+    @Mock
+    private LendingRecordRepository lendingRecordRepository;
+
+    @Mock
+    private LendingRecordService lendingRecordService;
+
+    @InjectMocks
+    private OverdueLendingJob overdueLendingJob;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(overdueLendingJob, "enabled", true);
+        ReflectionTestUtils.setField(overdueLendingJob, "chunkSize", 2);
+    }
+
+    @Test
+    public void testMarksOverdueRecordsInChunks() {
+        Pageable chunk = PageRequest.of(0, 2);
+        when(lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+            eq(LendingStatus.ACTIVE), any(Date.class), eq(0), eq(chunk))).thenReturn(List.of(1, 2));
+        when(lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+            eq(LendingStatus.ACTIVE), any(Date.class), eq(2), eq(chunk))).thenReturn(List.of(5));
+        when(lendingRecordService.markRecordsOverdue(eq(List.of(1, 2)), any(Date.class))).thenReturn(2);
+        when(lendingRecordService.markRecordsOverdue(eq(List.of(5)), any(Date.class))).thenReturn(1);
+
+        assertEquals(3, overdueLendingJob.markOverdue());
+
+        // The last chunk was short, so no further query is made
+        verify(lendingRecordRepository, never()).findIdsByStatusAndEndDateBefore(
+            any(), any(), eq(5), any());
+    }
+
+    @Test
+    public void testEveryRunScansAllPastDueRecords() {
+        when(lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+            eq(LendingStatus.ACTIVE), any(Date.class), eq(0), any())).thenReturn(List.of());
+
+        overdueLendingJob.markOverdue();
+        // A record whose end date was moved into the past after the first run
+        when(lendingRecordRepository.findIdsByStatusAndEndDateBefore(
+            eq(LendingStatus.ACTIVE), any(Date.class), eq(0), any())).thenReturn(List.of(7));
+        when(lendingRecordService.markRecordsOverdue(eq(List.of(7)), any(Date.class))).thenReturn(1);
+
+        assertEquals(1, overdueLendingJob.markOverdue());
+
+        ArgumentCaptor<Date> before = ArgumentCaptor.forClass(Date.class);
+        verify(lendingRecordRepository, times(2)).findIdsByStatusAndEndDateBefore(
+            eq(LendingStatus.ACTIVE), before.capture(), eq(0), any());
+        assertFalse(before.getAllValues().get(1).before(before.getAllValues().get(0)));
+    }
+
+    @Test
+    public void testDisabledJobDoesNothing() {
+        ReflectionTestUtils.setField(overdueLendingJob, "enabled", false);
+
+        overdueLendingJob.run();
+
+        verify(lendingRecordRepository, never()).findIdsByStatusAndEndDateBefore(any(), any(), anyInt(), any());
+    }
+}
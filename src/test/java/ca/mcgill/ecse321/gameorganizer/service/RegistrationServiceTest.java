@@ -31,6 +31,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
 
 // Imports for Security Context Mocking
 import org.springframework.security.core.Authentication;
@@ -44,10 +45,13 @@ import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.Registration;
+import ca.mcgill.ecse321.gameorganizer.models.WaitlistEntry;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository; // Keep one import
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository; // Add EventRepository mock
+import ca.mcgill.ecse321.gameorganizer.repositories.WaitlistEntryRepository;
 import ca.mcgill.ecse321.gameorganizer.services.RegistrationService;
+import ca.mcgill.ecse321.gameorganizer.dto.response.WaitlistPositionDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 
 // Add ContextConfiguration and import TestJwtConfig
@@ -69,6 +73,9 @@ public class RegistrationServiceTest {
     @Mock
     private EventRepository eventRepository; // Add EventRepository mock
 
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -110,11 +117,10 @@ public class RegistrationServiceTest {
 
         try {
             // Setup mocks
-            when(registrationRepository.save(any(Registration.class))).thenReturn(registration);
+            when(registrationRepository.saveAndFlush(any(Registration.class))).thenReturn(registration);
             when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
             when(eventRepository.findEventById(any(UUID.class))).thenReturn(Optional.of(event));
-            // Add mock for exists check
-            when(registrationRepository.existsByAttendeeAndEventRegisteredFor(attendee, event)).thenReturn(false);
+            when(eventRepository.reserveSeat(eventId)).thenReturn(1);
 
             // Test
             Registration result = registrationService.createRegistration(registrationDate, event);
@@ -124,12 +130,62 @@ public class RegistrationServiceTest {
             assertEquals(VALID_REGISTRATION_ID, result.getId());
             assertEquals(attendee, result.getAttendee());
             assertEquals(event, result.getEventRegisteredFor());
-            verify(registrationRepository).save(any(Registration.class));
+            assertEquals(6, event.getCurrentNumberParticipants());
+            verify(registrationRepository).saveAndFlush(any(Registration.class));
+            verify(eventRepository).reserveSeat(eventId);
         } finally {
             SecurityContextHolder.clearContext(); // Clear context after test
         }
     }
 
+    @Test
+    public void testCreateRegistrationEventFull() {
+        // Setup
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 1,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(attendee.getEmail(), null));
+
+        try {
+            when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
+            when(registrationRepository.saveAndFlush(any(Registration.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            // No free seat left, so the conditional update matches no row
+            when(eventRepository.reserveSeat(event.getId())).thenReturn(0);
+
+            // Test & Verify
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> registrationService.createRegistration(new Date(), event));
+            assertEquals("Event is already at full capacity.", e.getMessage());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testCreateRegistrationDuplicate() {
+        // Setup
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 10,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(attendee.getEmail(), null));
+
+        try {
+            when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
+            when(registrationRepository.saveAndFlush(any(Registration.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_registration_attendee_event"));
+
+            // Test & Verify
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> registrationService.createRegistration(new Date(), event));
+            assertEquals("Registration already exists for this account and event.", e.getMessage());
+            verify(eventRepository, never()).reserveSeat(any(UUID.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     public void testGetRegistrationByIdSuccess() {
         // Setup
@@ -266,16 +322,152 @@ public class RegistrationServiceTest {
             when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee)); // Mock finding authenticated user
             when(registrationRepository.findRegistrationById(VALID_REGISTRATION_ID))
                 .thenReturn(Optional.of(registration));
-            // Add event repository mock
-            when(eventRepository.save(any(Event.class))).thenReturn(event);
+            when(eventRepository.releaseSeat(event.getId())).thenReturn(1);
 
             // Test
             registrationService.deleteRegistration(VALID_REGISTRATION_ID);
 
             // Verify
             verify(registrationRepository).deleteById(VALID_REGISTRATION_ID);
-            verify(eventRepository).save(event); // Verify event was saved
-            assertEquals(4, event.getCurrentNumberParticipants()); // Verify participant count decreased
+            verify(eventRepository).releaseSeat(event.getId()); // Verify the seat was given back atomically
+            verify(eventRepository, never()).save(any(Event.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testDeleteRegistrationPromotesHeadOfWaitlist() {
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Account waiting = new Account("Waiting", "waiting@test.com", "password");
+        Account next = new Account("Next", "next@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 1,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        event.setCurrentNumberParticipants(1);
+        Registration registration = new Registration(new Date());
+        registration.setId(VALID_REGISTRATION_ID);
+        registration.setAttendee(attendee);
+        registration.setEventRegisteredFor(event);
+        WaitlistEntry first = new WaitlistEntry(event, waiting);
+        first.setId(10);
+        WaitlistEntry second = new WaitlistEntry(event, next);
+        second.setId(11);
+
+        when(registrationRepository.findRegistrationById(VALID_REGISTRATION_ID)).thenReturn(Optional.of(registration));
+        when(waitlistEntryRepository.findHead(any(UUID.class), any())).thenReturn(List.of(first, second));
+        // A concurrent cancellation already promoted the first entry
+        when(waitlistEntryRepository.claim(10)).thenReturn(0);
+        when(waitlistEntryRepository.claim(11)).thenReturn(1);
+
+        registrationService.deleteRegistration(VALID_REGISTRATION_ID);
+
+        ArgumentCaptor<Registration> promoted = ArgumentCaptor.forClass(Registration.class);
+        verify(registrationRepository).save(promoted.capture());
+        assertEquals(next, promoted.getValue().getAttendee());
+        assertEquals(event, promoted.getValue().getEventRegisteredFor());
+        // The seat changes hands, so the participant count is left alone
+        verify(eventRepository, never()).releaseSeat(any(UUID.class));
+    }
+
+    @Test
+    public void testPromotionSkipsAccountAlreadyRegistered() {
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Account registered = new Account("Registered", "registered@test.com", "password");
+        Account next = new Account("Next", "next@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 1,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        event.setCurrentNumberParticipants(1);
+        Registration registration = new Registration(new Date());
+        registration.setId(VALID_REGISTRATION_ID);
+        registration.setAttendee(attendee);
+        registration.setEventRegisteredFor(event);
+        WaitlistEntry first = new WaitlistEntry(event, registered);
+        first.setId(10);
+        WaitlistEntry second = new WaitlistEntry(event, next);
+        second.setId(11);
+
+        when(registrationRepository.findRegistrationById(VALID_REGISTRATION_ID)).thenReturn(Optional.of(registration));
+        when(waitlistEntryRepository.findHead(any(UUID.class), any())).thenReturn(List.of(first, second));
+        when(waitlistEntryRepository.claim(anyInt())).thenReturn(1);
+        // The first account registered directly after joining the waitlist
+        when(registrationRepository.existsByEventRegisteredFor_IdAndAttendee_Email(event.getId(), "registered@test.com"))
+            .thenReturn(true);
+
+        registrationService.deleteRegistration(VALID_REGISTRATION_ID);
+
+        ArgumentCaptor<Registration> promoted = ArgumentCaptor.forClass(Registration.class);
+        verify(registrationRepository).save(promoted.capture());
+        assertEquals(next, promoted.getValue().getAttendee());
+        verify(waitlistEntryRepository).claim(10);
+    }
+
+    @Test
+    public void testFillFreeSeatsPromotesUntilNobodyIsWaiting() {
+        Account waiting = new Account("Waiting", "waiting@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 5,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        WaitlistEntry entry = new WaitlistEntry(event, waiting);
+        entry.setId(10);
+
+        when(eventRepository.reserveSeat(event.getId())).thenReturn(1);
+        when(waitlistEntryRepository.findHead(any(UUID.class), any())).thenReturn(List.of(entry), List.of());
+        when(waitlistEntryRepository.claim(10)).thenReturn(1);
+
+        assertEquals(1, registrationService.fillFreeSeatsFromWaitlist(event));
+
+        verify(registrationRepository).save(any(Registration.class));
+        // The second seat found nobody waiting and was given back
+        verify(eventRepository, times(2)).reserveSeat(event.getId());
+        verify(eventRepository).releaseSeat(event.getId());
+    }
+
+    @Test
+    public void testJoinWaitlistOfFullEvent() {
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 1,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        event.setCurrentNumberParticipants(1);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(attendee.getEmail(), null));
+
+        try {
+            when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
+            when(eventRepository.findEventById(event.getId())).thenReturn(Optional.of(event));
+            when(waitlistEntryRepository.findByEvent_IdAndAccount_Email(event.getId(), attendee.getEmail())).thenReturn(Optional.empty());
+            when(waitlistEntryRepository.saveAndFlush(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+                WaitlistEntry entry = invocation.getArgument(0);
+                entry.setId(42);
+                return entry;
+            });
+            when(waitlistEntryRepository.countByEvent_IdAndIdLessThan(event.getId(), 42)).thenReturn(3L);
+
+            WaitlistPositionDto position = registrationService.joinWaitlist(event.getId());
+
+            assertEquals(event.getId(), position.getEventId());
+            assertEquals(4, position.getPosition());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testJoinWaitlistWithFreeSeats() {
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 10,
+            new Game("Test Game", 2, 4, "test.jpg", new Date()), new Account("Host", "host@test.com", "password"));
+        event.setId(UUID.randomUUID());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(attendee.getEmail(), null));
+
+        try {
+            when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
+            when(eventRepository.findEventById(event.getId())).thenReturn(Optional.of(event));
+            when(waitlistEntryRepository.findByEvent_IdAndAccount_Email(event.getId(), attendee.getEmail())).thenReturn(Optional.empty());
+
+            assertThrows(IllegalArgumentException.class, () -> registrationService.joinWaitlist(event.getId()));
+            verify(waitlistEntryRepository, never()).saveAndFlush(any(WaitlistEntry.class));
         } finally {
             SecurityContextHolder.clearContext();
         }